@@ -0,0 +1,85 @@
+package logic;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import logic.board.Board;
+import logic.board.NetworkGenerator;
+
+/**
+ * Shared fixtures of all benchmarks. The network is read once from the file of the tests, so the
+ * benchmarks measure parsing without disk access. Another network can be set by the system
+ * property "network".
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class BenchmarkFixtures {
+
+    public static final String NETWORK_FILE =
+            System.getProperty("network", "test/data/network.json");
+
+    private static String network = null;
+
+    /**
+     * Utility class.
+     */
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Gets the content of the network file.
+     *
+     * @return The network as Json
+     */
+    public static synchronized String getNetwork() {
+        if (BenchmarkFixtures.network == null) {
+            try {
+                BenchmarkFixtures.network = new String(
+                        Files.readAllBytes(Paths.get(NETWORK_FILE)), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return BenchmarkFixtures.network;
+    }
+
+    /**
+     * Gets a reader of the network.
+     *
+     * @return The reader
+     */
+    public static Reader getNetworkReader() {
+        return new StringReader(BenchmarkFixtures.getNetwork());
+    }
+
+    /**
+     * Builds a new board out of the network.
+     *
+     * @return The board
+     */
+    public static Board createBoard() {
+        return new Board(BenchmarkFixtures.getNetworkReader());
+    }
+
+    /**
+     * Builds a synthetic board of any size (@see NetworkGenerator). The seed is fixed, so every
+     * run measures the same board.
+     *
+     * @param size The number of stations
+     * @return The board
+     */
+    public static Board createGeneratedBoard(int size) {
+        StringWriter writer = new StringWriter();
+        try {
+            new NetworkGenerator(size, 1).write(writer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new Board(new StringReader(writer.toString()));
+    }
+}
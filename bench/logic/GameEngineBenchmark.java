@@ -0,0 +1,68 @@
+package logic;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import logic.sim.HeadlessGUI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of saving and loading a game. The headless @see GameEngine is measured, because
+ * @see GameLogic only delegates to it and needs a running JavaFX toolkit.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameEngineBenchmark {
+
+    private GameEngine engine;
+    private File saveFile;
+    private String saveState;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.engine = new GameEngine(new StringReader(BenchmarkFixtures.getNetwork()),
+                new HeadlessGUI(), true, 5, true);
+        this.saveFile = File.createTempFile("benchmark", ".sy");
+        this.engine.save(new FileWriter(this.saveFile));
+        this.saveState =
+                new String(Files.readAllBytes(this.saveFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.saveFile.delete();
+    }
+
+    @Benchmark
+    public File save() throws IOException {
+        this.engine.save(new FileWriter(this.saveFile));
+        return this.saveFile;
+    }
+
+    @Benchmark
+    public GameEngine load() {
+        return new GameEngine(new StringReader(this.saveState),
+                BenchmarkFixtures.getNetworkReader(), new HeadlessGUI());
+    }
+}
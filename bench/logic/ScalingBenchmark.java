@@ -0,0 +1,99 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import logic.board.Board;
+import logic.board.Station;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import logic.player.TacticResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the AI on synthetic boards of growing size (@see logic.board.NetworkGenerator):
+ * pathfinding across the board, the possible positions of MisterX and the tactics of both sides.
+ * The players stand on startpositions, which exist on every generated board.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScalingBenchmark {
+
+    private static final List<Ticket> LOGBOOK =
+            Arrays.asList(Ticket.CAB, Ticket.BUS, Ticket.CAB, Ticket.BLACK, Ticket.CAB);
+
+    @Param({ "1000", "10000", "100000" })
+    private int stations;
+
+    private Board board;
+    private Detective wayFinder;
+    private Station wayDestination;
+    private Station lastSeen;
+    private StationSet targets;
+    private Station averageStation;
+    private Detective detective;
+    private List<Detective> detectives;
+    private MisterX misterX;
+
+    @Setup
+    public void setup() {
+        this.board = BenchmarkFixtures.createGeneratedBoard(this.stations);
+        this.wayFinder = new Detective(0, this.board.getStation(1), false, 10, 10, 10);
+        this.wayDestination = this.board.getStation(this.stations);
+
+        this.misterX = new MisterX(this.board.getStation(GameEngine.Config.START_POSITIONS[0]),
+                true);
+        this.detectives = new LinkedList<>();
+        StationSet occupied = new StationSet(this.board);
+        this.misterX.setOccupancy(occupied);
+        for (int i = 1; i <= 5; i++) {
+            Detective player = new Detective(i,
+                    this.board.getStation(GameEngine.Config.START_POSITIONS[i]), true);
+            player.setOccupancy(occupied);
+            this.detectives.add(player);
+        }
+        this.detective = this.detectives.get(0);
+        this.lastSeen = this.misterX.getCurrentStation();
+        this.targets = Detective.getPossibleTargetPositions(LOGBOOK, this.lastSeen);
+        this.averageStation = this.board.getAverageStation(this.targets);
+    }
+
+    @Benchmark
+    public List<Station> getShortestWay() {
+        return this.wayFinder.getShortestWay(this.wayDestination);
+    }
+
+    @Benchmark
+    public StationSet getPossibleTargetPositions() {
+        return Detective.getPossibleTargetPositions(LOGBOOK, this.lastSeen);
+    }
+
+    @Benchmark
+    public TacticResult detectivePlay() {
+        return this.detective.play(this.lastSeen, this.targets, this.averageStation,
+                this.detectives);
+    }
+
+    @Benchmark
+    public TacticResult misterXPlay() {
+        return this.misterX.play(null, null, null, this.detectives);
+    }
+}
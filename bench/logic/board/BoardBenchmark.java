@@ -0,0 +1,76 @@
+package logic.board;
+
+import java.util.concurrent.TimeUnit;
+import logic.BenchmarkFixtures;
+import logic.GameEngine.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the board: parsing the network and the lookup of stations by position.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoardBenchmark {
+
+    private Board board;
+    private Position onStation;
+    private Position besideStation;
+    private Position nowhere;
+    private StationSet targets;
+
+    @Setup
+    public void setup() {
+        this.board = BenchmarkFixtures.createBoard();
+        Position position = this.board.getStation(118).getPosition();
+        this.onStation = position;
+        this.besideStation = new Position(position.getX() + Config.MAX_DISTANCE / 2,
+                position.getY());
+        this.nowhere = new Position(-1, -1);
+        // The possible targets of DetectiveTacticTest.getMoveToPossibleTargetPosition_ExampleBlue
+        this.targets = new StationSet(this.board);
+        this.targets.add(104);
+        this.targets.add(117);
+        this.targets.add(118);
+        this.targets.add(127);
+    }
+
+    @Benchmark
+    public Board construct() {
+        return new Board(BenchmarkFixtures.getNetworkReader());
+    }
+
+    @Benchmark
+    public Station getNearestStation_OnStation() {
+        return this.board.getNearestStation(this.onStation, Config.MAX_DISTANCE);
+    }
+
+    @Benchmark
+    public Station getNearestStation_BesideStation() {
+        return this.board.getNearestStation(this.besideStation, Config.MAX_DISTANCE);
+    }
+
+    @Benchmark
+    public Station getNearestStation_Nowhere() {
+        return this.board.getNearestStation(this.nowhere, Config.MAX_DISTANCE);
+    }
+
+    @Benchmark
+    public Station getAverageStation() {
+        return this.board.getAverageStation(this.targets);
+    }
+}
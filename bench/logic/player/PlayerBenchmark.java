@@ -0,0 +1,119 @@
+package logic.player;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import logic.BenchmarkFixtures;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.Station;
+import logic.board.StationSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the AI: pathfinding, the possible positions of MisterX and the tactics of both
+ * sides. The positions are taken from DetectiveTest, DetectiveTacticTest and MisterXTest.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerBenchmark {
+
+    private static final List<Ticket> LOGBOOK =
+            Arrays.asList(Ticket.CAB, Ticket.BUS, Ticket.CAB, Ticket.BLACK, Ticket.CAB);
+
+    @Param({ "1", "2", "3", "4", "5" })
+    private int loggedTickets;
+
+    private Board board;
+    private Station lastSeen;
+    private List<Ticket> logbook;
+
+    // DetectiveTacticTest.getMoveInDrirectionOfLastseenPosition_Start_71_Destination_116
+    private Detective wayFinder;
+    private Station wayDestination;
+
+    // DetectiveTest.play_1
+    private Detective detectiveRed;
+    private List<Detective> detectives;
+    private Station tacticLastSeen;
+    private StationSet targets;
+    private Station averageStation;
+
+    // MisterXTest.getRankingByReachableTargetpositions_ReachableByOne
+    private MisterX misterX;
+    private List<Detective> misterXDetectives;
+
+    @Setup
+    public void setup() {
+        this.board = BenchmarkFixtures.createBoard();
+        this.lastSeen = this.board.getStation(116);
+        this.logbook = new LinkedList<>(LOGBOOK.subList(0, this.loggedTickets));
+
+        this.wayFinder = new Detective(0, this.board.getStation(71), false, 10, 10, 10);
+        this.wayDestination = this.board.getStation(116);
+
+        // Every fixture is a game of its own with its own occupied stations
+        Detective detectiveBlue = new Detective(0, this.board.getStation(134), true, 10, 10, 10);
+        this.detectiveRed = new Detective(0, this.board.getStation(71), true, 10, 10, 0);
+        Detective detectiveYellow =
+                new Detective(0, this.board.getStation(186), true, 10, 10, 10);
+        this.detectives = new LinkedList<>(
+                Arrays.asList(detectiveBlue, this.detectiveRed, detectiveYellow));
+        StationSet tacticOccupied = new StationSet(this.board);
+        for (Detective detective : this.detectives) {
+            detective.setOccupancy(tacticOccupied);
+        }
+        List<Ticket> tacticLogbook = new LinkedList<>(Arrays.asList(Ticket.CAB));
+        this.tacticLastSeen = this.board.getStation(116);
+        this.targets = Detective.getPossibleTargetPositions(tacticLogbook, this.tacticLastSeen);
+        this.averageStation = this.board.getAverageStation(this.targets);
+
+        this.misterX = new MisterX(this.board.getStation(43), true);
+        this.misterXDetectives = new LinkedList<>(
+                Arrays.asList(new Detective(1, this.board.getStation(31), true),
+                        new Detective(2, this.board.getStation(44), true)));
+        StationSet misterXOccupied = new StationSet(this.board);
+        this.misterX.setOccupancy(misterXOccupied);
+        for (Detective detective : this.misterXDetectives) {
+            detective.setOccupancy(misterXOccupied);
+        }
+    }
+
+    @Benchmark
+    public List<Station> getShortestWay() {
+        return this.wayFinder.getShortestWay(this.wayDestination);
+    }
+
+    @Benchmark
+    public StationSet getPossibleTargetPositions() {
+        return Detective.getPossibleTargetPositions(this.logbook, this.lastSeen);
+    }
+
+    @Benchmark
+    public TacticResult detectivePlay() {
+        return this.detectiveRed.play(this.tacticLastSeen, this.targets, this.averageStation,
+                this.detectives);
+    }
+
+    @Benchmark
+    public TacticResult misterXPlay() {
+        return this.misterX.play(null, null, null, this.misterXDetectives);
+    }
+}
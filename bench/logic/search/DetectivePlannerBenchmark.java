@@ -0,0 +1,73 @@
+package logic.search;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import logic.BenchmarkFixtures;
+import logic.GameEngine.Config;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the detective planner: the first detective of GameEngineTest searches the samples
+ * of every free station, up to the next move of MisterX and one round further. The table of the
+ * planner is cleared before every search, so no search finds the positions of the one before.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DetectivePlannerBenchmark {
+
+    private SearchState state;
+    private StationSet candidates;
+    private DetectivePlanner shallow;
+    private DetectivePlanner deep;
+
+    @Setup
+    public void setup() {
+        Board board = BenchmarkFixtures.createBoard();
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        detectives.add(new Detective(2, board.getStation(29), true));
+        detectives.add(new Detective(3, board.getStation(34), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+        this.state = new SearchState(misterX, detectives, 1, 1);
+        this.candidates = new StationSet(board);
+        this.shallow = new DetectivePlanner(board, 60000, Config.PLANNER_SAMPLES, 0, 1);
+        this.deep = new DetectivePlanner(board, 60000, Config.PLANNER_SAMPLES, 1, 1);
+    }
+
+    @Benchmark
+    public int search_NextMove() {
+        this.shallow.getTable().clear();
+        return this.shallow.search(this.state, this.candidates);
+    }
+
+    @Benchmark
+    public int search_OneRoundMore() {
+        this.deep.getTable().clear();
+        return this.deep.search(this.state, this.candidates);
+    }
+}
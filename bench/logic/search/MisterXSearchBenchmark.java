@@ -0,0 +1,84 @@
+package logic.search;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import logic.BenchmarkFixtures;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the search of MisterX: searches of one and two rounds without time limit from the
+ * startpositions of GameEngineTest. The number of positions per search is returned, so the
+ * positions per second follow from the throughput. A table too small for any entry searches
+ * without the transposition table, the table of the search with it is cleared before every search,
+ * so no search finds the positions of the one before.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MisterXSearchBenchmark {
+
+    private static final long TABLE = 1L << 20;
+    private static final long NO_TABLE = 32;
+
+    private SearchState state;
+    private MisterXSearch search;
+    private MisterXSearch withTable;
+    private MisterXSearch withoutTable;
+
+    @Setup
+    public void setup() {
+        Board board = BenchmarkFixtures.createBoard();
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        detectives.add(new Detective(2, board.getStation(29), true));
+        detectives.add(new Detective(3, board.getStation(34), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+        this.state = new SearchState(misterX, detectives, 0, 1);
+        this.search = new MisterXSearch(board, 60000, 1, new TranspositionTable(NO_TABLE));
+        this.withTable = new MisterXSearch(board, 60000, 2, new TranspositionTable(TABLE));
+        this.withoutTable = new MisterXSearch(board, 60000, 2, new TranspositionTable(NO_TABLE));
+    }
+
+    @Benchmark
+    public long search_OneRound() {
+        this.search.search(this.state);
+        return this.search.getNodes();
+    }
+
+    @Benchmark
+    public long search_TwoRounds() {
+        this.withTable.getTable().clear();
+        this.withTable.search(this.state);
+        return this.withTable.getNodes();
+    }
+
+    @Benchmark
+    public long search_TwoRounds_NoTable() {
+        this.withoutTable.search(this.state);
+        return this.withoutTable.getNodes();
+    }
+}
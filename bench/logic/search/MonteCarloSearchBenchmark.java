@@ -0,0 +1,71 @@
+package logic.search;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import logic.BenchmarkFixtures;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the Monte Carlo search: 1000 iterations for MisterX on one tree and on one tree
+ * per core from the startpositions of GameEngineTest. The iterations per second follow from the
+ * throughput.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonteCarloSearchBenchmark {
+
+    private static final int ITERATIONS = 1000;
+
+    private SearchState state;
+    private MonteCarloSearch single;
+    private MonteCarloSearch parallel;
+
+    @Setup
+    public void setup() {
+        Board board = BenchmarkFixtures.createBoard();
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        detectives.add(new Detective(2, board.getStation(29), true));
+        detectives.add(new Detective(3, board.getStation(34), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+        this.state = new SearchState(misterX, detectives, 0, 1);
+        this.single = new MonteCarloSearch(board, 60000, ITERATIONS, 1, 1);
+        this.parallel = new MonteCarloSearch(board, 60000, ITERATIONS,
+                Runtime.getRuntime().availableProcessors(), 1);
+    }
+
+    @Benchmark
+    public int search_OneTree() {
+        return this.single.search(this.state, null);
+    }
+
+    @Benchmark
+    public int search_TreePerCore() {
+        return this.parallel.search(this.state, null);
+    }
+}
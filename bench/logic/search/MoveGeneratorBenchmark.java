@@ -0,0 +1,78 @@
+package logic.search;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import logic.BenchmarkFixtures;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the move generation of the search: all moves of MisterX and the replies of the
+ * first detective, applied and undone on one state. The positions are the startpositions of
+ * GameEngineTest.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoveGeneratorBenchmark {
+
+    private SearchState state;
+    private int[][] buffers;
+
+    @Setup
+    public void setup() {
+        Board board = BenchmarkFixtures.createBoard();
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        detectives.add(new Detective(2, board.getStation(29), true));
+        detectives.add(new Detective(3, board.getStation(34), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+        this.state = new SearchState(misterX, detectives, 0, 1);
+        this.buffers = new int[2][MoveGenerator.getMaxMoves(board)];
+    }
+
+    @Benchmark
+    public int generate() {
+        return MoveGenerator.generate(this.state, this.buffers[0]);
+    }
+
+    @Benchmark
+    public int generateApplyUndo_TwoPlies() {
+        int nodes = 0;
+        int count = MoveGenerator.generate(this.state, this.buffers[0]);
+        for (int i = 0; i < count; i++) {
+            this.state.apply(this.buffers[0][i]);
+            int replies = MoveGenerator.generate(this.state, this.buffers[1]);
+            for (int j = 0; j < replies; j++) {
+                this.state.apply(this.buffers[1][j]);
+                nodes++;
+                this.state.undo(this.buffers[1][j]);
+            }
+            this.state.undo(this.buffers[0][i]);
+        }
+        return nodes;
+    }
+}
@@ -1,14 +1,15 @@
 package gui;
 
 import com.google.gson.JsonSyntaxException;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.ResourceBundle;
@@ -42,7 +43,10 @@ import javafx.scene.layout.Region;
 
 import javafx.stage.FileChooser;
 
+import logic.GameEngine.Config;
 import logic.GameLogic;
+import logic.board.Board;
+import logic.board.BoardRegistry;
 import logic.board.Position;
 
 /**
@@ -52,6 +56,9 @@ import logic.board.Position;
  */
 public class FXMLDocumentController implements Initializable {
 
+    private static final BoardRegistry BOARDS = new BoardRegistry(Config.BOARD_MEMORY_BUDGET,
+            Paths.get(Config.BOARD_DIRECTORY));
+
     @FXML
     private BorderPane root;
     @FXML
@@ -302,20 +309,20 @@ public class FXMLDocumentController implements Initializable {
 
         if (dialog.showAndWait().get()) {
             int numDetectives = Integer.parseInt(choice.getValue().toString());
-            InputStream networkStream = getClass().getResourceAsStream("/logic/board/network.json");
-            if (networkStream == null) {
+            byte[] network = this.readNetwork();
+            if (network == null) {
                 showError("Error while Starting Game", "Network could not be found");
             } else {
                 if (this.logic != null) {
                     this.reset();
                 }
-                Reader reader = new InputStreamReader(networkStream);
                 JavaFXGui gui = new JavaFXGui(this.anchor_board, this.grid_logbook,
                         this.menu_god_mode, this.players, this.label_playername, this.label_cab,
                         this.label_bus, this.label_tube, this.label_boat);
                 try {
 
-                    this.logic = new GameLogic(reader, gui, misterXAi.isSelected(), numDetectives,
+                    Board board = BOARDS.get(network);
+                    this.logic = new GameLogic(board, gui, misterXAi.isSelected(), numDetectives,
                             detectivesAi.isSelected());
                     this.logic.start();
                 } catch (JsonSyntaxException | IllegalArgumentException ex) {
@@ -339,8 +346,8 @@ public class FXMLDocumentController implements Initializable {
         File fileToLoad = fileChooser.showOpenDialog(root.getScene().getWindow());
 
         if (fileToLoad != null) {
-            InputStream networkStream = getClass().getResourceAsStream("/logic/board/network.json");
-            if (networkStream == null) {
+            byte[] network = this.readNetwork();
+            if (network == null) {
                 showError("Error while starting game", "Network could not be found");
             } else {
                 // If game ist already launched -> Reset
@@ -349,13 +356,13 @@ public class FXMLDocumentController implements Initializable {
                 }
                 try {
                     Reader saveReader = new FileReader(fileToLoad);
-                    Reader networkReader = new InputStreamReader(networkStream);
+                    Board board = BOARDS.get(network);
                     // Create GUI
                     JavaFXGui gui = new JavaFXGui(this.anchor_board, this.grid_logbook,
                             this.menu_god_mode, this.players, this.label_playername, this.label_cab,
                             this.label_bus, this.label_tube, this.label_boat);
                     // Create logic
-                    this.logic = new GameLogic(saveReader, networkReader, gui);
+                    this.logic = new GameLogic(saveReader, board, gui);
                     // Start the game
                     this.logic.start();
                 } catch (JsonSyntaxException | IOException | IllegalArgumentException ex) {
@@ -366,6 +373,29 @@ public class FXMLDocumentController implements Initializable {
         }
     }
 
+    /**
+     * Reads the board network out of the resources.
+     *
+     * @return The bytes of the network in JSON notation or null if it could not be read
+     */
+    private byte[] readNetwork() {
+        try (InputStream networkStream =
+                getClass().getResourceAsStream("/logic/board/network.json")) {
+            if (networkStream == null) {
+                return null;
+            }
+            ByteArrayOutputStream network = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = networkStream.read(buffer); read != -1; read =
+                    networkStream.read(buffer)) {
+                network.write(buffer, 0, read);
+            }
+            return network.toByteArray();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
     /**
      * Resets the whole game. The graphical interface will be ready for a new game afterwards.
      */
@@ -26,8 +26,8 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
-import logic.GameLogic;
-import logic.GameLogic.Config;
+import logic.GameEngine;
+import logic.GameEngine.Config;
 
 /**
  * API between Logic and GUI
@@ -212,7 +212,7 @@ public class JavaFXGui implements GUIConnector {
     }
 
     @Override
-    public void showWinner(GameLogic.WinState state) {
+    public void showWinner(GameEngine.WinState state) {
         Alert alert = new Alert(AlertType.INFORMATION);
         alert.getDialogPane().setMinHeight(Region.USE_PREF_SIZE);
         alert.setTitle("Station not reachable");
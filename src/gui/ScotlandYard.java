@@ -6,7 +6,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
-import logic.GameLogic;
+import logic.GameEngine;
 
 /**
  * Main ScotlandYard
@@ -28,9 +28,9 @@ public class ScotlandYard extends Application {
 
         FXMLLoader loader = new FXMLLoader(getClass().getResource("FXMLDocument.fxml"));
         BorderPane root = loader.load();
-        Scene scene = new Scene(root, GameLogic.Config.WIDTH, GameLogic.Config.HEIGHT);
-        stage.setMinWidth(GameLogic.Config.WIDTH);
-        stage.setMinHeight(GameLogic.Config.HEIGHT);
+        Scene scene = new Scene(root, GameEngine.Config.WIDTH, GameEngine.Config.HEIGHT);
+        stage.setMinWidth(GameEngine.Config.WIDTH);
+        stage.setMinHeight(GameEngine.Config.HEIGHT);
         stage.setScene(scene);
         stage.setTitle("Scotland Yard");
         stage.show();
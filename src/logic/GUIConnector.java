@@ -56,7 +56,7 @@ public interface GUIConnector {
      *
      * @param state The Reason why the Game has been won
      */
-    public void showWinner(GameLogic.WinState state);
+    public void showWinner(GameEngine.WinState state);
 
     /**
      * Sets a Ticket into the Logbook.
@@ -23,4 +23,14 @@ public enum Ticket {
         }
         return Ticket.values()[ordinal];
     }
+
+    /**
+     * Returns the bit of this Ticket in a mask of tickets, e.g. @see
+     * logic.board.Adjacency#getTicketMask.
+     *
+     * @return The bit of this Ticket
+     */
+    public int getMask() {
+        return 1 << this.ordinal();
+    }
 }
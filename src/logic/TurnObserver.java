@@ -0,0 +1,23 @@
+package logic;
+
+import logic.player.Player;
+import logic.player.TacticResult;
+
+/**
+ * An observer that is told about every move an AI player has played. Is used to collect statistics
+ * of simulated games.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public interface TurnObserver {
+
+    /**
+     * Is called after an AI player has chosen his move.
+     *
+     * @param player The player that has played
+     * @param result The chosen tactic and move or null if no move was possible
+     * @param nanos The time the AI needed to choose in nanoseconds
+     */
+    public void aiMovePlayed(Player player, TacticResult result, long nanos);
+
+}
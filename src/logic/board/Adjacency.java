@@ -0,0 +1,388 @@
+package logic.board;
+
+import java.util.Arrays;
+import logic.Ticket;
+
+/**
+ * Holds all connections between the stations of a board in compressed sparse row format. There is
+ * one layer (offsets and targets) for each kind of transport and one combined layer for all
+ * transports. Station ids are used as indices. Every edge of the combined layer carries the mask of
+ * the tickets that can be used on it (@see Ticket#getMask). Instances are immutable.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class Adjacency {
+
+    public static final int CAB = 0;
+    public static final int BUS = 1;
+    public static final int TUBE = 2;
+    public static final int BOAT = 3;
+    public static final int ANY = 4;
+    static final int LAYERS = 5;
+    private static final String[] LAYER_NAMES = new String[] { "cab", "bus", "tube", "boat" };
+
+    private final int size;
+    private final int[][] offsets;
+    private final int[][] targets;
+    // The ticket mask of every edge of the combined layer
+    private final byte[] ticketMasks;
+    private final int maxDegree;
+
+    /**
+     * Returns the layer that holds all stations reachable by a ticket. The black ticket can use
+     * every transport.
+     *
+     * @param ticket The ticket
+     * @return The layer
+     */
+    public static int getLayer(Ticket ticket) {
+        switch (ticket) {
+            case CAB:
+                return CAB;
+            case BUS:
+                return BUS;
+            case TUBE:
+                return TUBE;
+            case BLACK:
+                return ANY;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Constructor. Use @see Builder or @see BoardFile. The ticket masks are derived from the
+     * transport layers.
+     *
+     * @param size The number of stations
+     * @param offsets The offsets of each layer
+     * @param targets The targets of each layer
+     * @throws IllegalArgumentException if the combined layer does not match the transport layers
+     */
+    Adjacency(int size, int[][] offsets, int[][] targets) throws IllegalArgumentException {
+        this.size = size;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.ticketMasks = new byte[targets[ANY].length];
+        int[] layerMasks = new int[] { Ticket.CAB.getMask(), Ticket.BUS.getMask(),
+                Ticket.TUBE.getMask(), 0 };
+        for (int layer = CAB; layer <= BOAT; layer++) {
+            // The black ticket can be used on every transport
+            int mask = layerMasks[layer] | Ticket.BLACK.getMask();
+            for (int from = 1; from <= size; from++) {
+                for (int edge = offsets[layer][from]; edge < offsets[layer][from + 1]; edge++) {
+                    int combined = this.findEdge(from, targets[layer][edge]);
+                    if (combined < 0) {
+                        throw new IllegalArgumentException("Combined layer misses an edge");
+                    }
+                    this.ticketMasks[combined] |= mask;
+                }
+            }
+        }
+        int max = 0;
+        for (int id = 1; id <= size; id++) {
+            max = Math.max(max, offsets[ANY][id + 1] - offsets[ANY][id]);
+        }
+        this.maxDegree = max;
+    }
+
+    /**
+     * Gets the index of the first edge of a station in a layer.
+     *
+     * @param layer The layer
+     * @param id The id of the station
+     * @return The index of the first edge
+     */
+    public int getStart(int layer, int id) {
+        return this.offsets[layer][id];
+    }
+
+    /**
+     * Gets the index behind the last edge of a station in a layer.
+     *
+     * @param layer The layer
+     * @param id The id of the station
+     * @return The index behind the last edge
+     */
+    public int getEnd(int layer, int id) {
+        return this.offsets[layer][id + 1];
+    }
+
+    /**
+     * Gets the id of the station an edge points to.
+     *
+     * @param layer The layer
+     * @param edge The index of the edge
+     * @return The id of the target station
+     */
+    public int getTarget(int layer, int edge) {
+        return this.targets[layer][edge];
+    }
+
+    /**
+     * Gets the number of stations connected to a station in a layer.
+     *
+     * @param layer The layer
+     * @param id The id of the station
+     * @return The number of connected stations
+     */
+    public int getDegree(int layer, int id) {
+        return this.offsets[layer][id + 1] - this.offsets[layer][id];
+    }
+
+    /**
+     * Gets the highest number of stations connected to one station in the combined layer.
+     *
+     * @return The highest degree
+     */
+    public int getMaxDegree() {
+        return this.maxDegree;
+    }
+
+    /**
+     * Checks if two stations are connected in a layer.
+     *
+     * @param layer The layer
+     * @param from The id of the start station
+     * @param to The id of the target station
+     * @return True if connected
+     */
+    public boolean isConnected(int layer, int from, int to) {
+        int[] layerTargets = this.targets[layer];
+        for (int edge = this.offsets[layer][from]; edge < this.offsets[layer][from + 1]; edge++) {
+            if (layerTargets[edge] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets all tickets that can be used to go from one station directly to another.
+     *
+     * @param from The id of the start station
+     * @param to The id of the target station
+     * @return The mask of the tickets (@see Ticket#getMask), 0 if the stations are not connected
+     */
+    public int getTicketMask(int from, int to) {
+        int edge = this.findEdge(from, to);
+        return edge < 0 ? 0 : this.ticketMasks[edge];
+    }
+
+    /**
+     * Gets all tickets that can be used on an edge of the combined layer.
+     *
+     * @param edge The index of the edge in @see ANY
+     * @return The mask of the tickets (@see Ticket#getMask)
+     */
+    public int getEdgeTicketMask(int edge) {
+        return this.ticketMasks[edge];
+    }
+
+    /**
+     * Helper for @see getTicketMask. Searches an edge in the combined layer, whose edges are sorted
+     * by id.
+     *
+     * @param from The id of the start station
+     * @param to The id of the target station
+     * @return The index of the edge or a negative value if the stations are not connected
+     */
+    private int findEdge(int from, int to) {
+        return Arrays.binarySearch(this.targets[ANY], this.offsets[ANY][from],
+                this.offsets[ANY][from + 1], to);
+    }
+
+    /**
+     * Gets the number of edges in a layer.
+     *
+     * @param layer The layer
+     * @return The number of edges
+     */
+    public int getEdgeCount(int layer) {
+        return this.targets[layer].length;
+    }
+
+    /**
+     * Gets the number of stations.
+     *
+     * @return The number of stations
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Estimates the memory used by all layers.
+     *
+     * @return The estimated number of bytes
+     */
+    long getMemoryUsage() {
+        long bytes = 0;
+        for (int layer = 0; layer < LAYERS; layer++) {
+            bytes += 4L * (this.offsets[layer].length + this.targets[layer].length);
+        }
+        return bytes + this.ticketMasks.length;
+    }
+
+    /**
+     * Gets the offsets of a layer. The array must not be modified.
+     *
+     * @param layer The layer
+     * @return The offsets indexed by station id
+     */
+    int[] getOffsets(int layer) {
+        return this.offsets[layer];
+    }
+
+    /**
+     * Gets the targets of a layer. The array must not be modified.
+     *
+     * @param layer The layer
+     * @return The targets of all edges
+     */
+    int[] getTargets(int layer) {
+        return this.targets[layer];
+    }
+
+    /**
+     * Collects edges and builds an Adjacency out of them. The number of stations has to be known
+     * only when the Adjacency is built, so edges can be added while the stations are read.
+     */
+    static final class Builder {
+
+        private int[] from = new int[256];
+        private int[] to = new int[256];
+        private int[] layers = new int[256];
+        private int count = 0;
+
+        /**
+         * Adds an edge. The target does not have to exist yet.
+         *
+         * @param layer The layer (not @see ANY)
+         * @param fromId The id of the start station
+         * @param toId The id of the target station
+         */
+        void addEdge(int layer, int fromId, int toId) {
+            if (this.count == this.from.length) {
+                this.from = Arrays.copyOf(this.from, this.count * 2);
+                this.to = Arrays.copyOf(this.to, this.count * 2);
+                this.layers = Arrays.copyOf(this.layers, this.count * 2);
+            }
+            this.from[this.count] = fromId;
+            this.to[this.count] = toId;
+            this.layers[this.count] = layer;
+            this.count++;
+        }
+
+        /**
+         * Builds the Adjacency. Duplicate edges are removed. The edges of the transport layers keep
+         * their order, the combined layer is sorted by id.
+         *
+         * @param size The number of stations
+         * @return The Adjacency
+         * @throws IllegalArgumentException if an edge points to a station that does not exist
+         */
+        Adjacency build(int size) throws IllegalArgumentException {
+            for (int i = 0; i < this.count; i++) {
+                if (this.from[i] <= 0 || this.from[i] > size) {
+                    throw new IllegalArgumentException(
+                            String.format("Station \"%d\" does not exists", this.from[i]));
+                }
+                if (this.to[i] <= 0 || this.to[i] > size) {
+                    throw new IllegalArgumentException(String.format(
+                            "Station \"%d\" does not exists (%s link of station \"%d\")",
+                            this.to[i], LAYER_NAMES[this.layers[i]], this.from[i]));
+                }
+            }
+            int[][] offsets = new int[LAYERS][];
+            int[][] targets = new int[LAYERS][];
+            for (int layer = CAB; layer <= BOAT; layer++) {
+                this.buildLayer(layer, size, offsets, targets);
+            }
+            this.buildCombinedLayer(size, offsets, targets);
+            return new Adjacency(size, offsets, targets);
+        }
+
+        /**
+         * Helper for @see build. Builds one transport layer by a counting sort over the start
+         * stations.
+         *
+         * @param layer The layer to build
+         * @param size The number of stations
+         * @param offsets The offsets of all layers
+         * @param targets The targets of all layers
+         */
+        private void buildLayer(int layer, int size, int[][] offsets, int[][] targets) {
+            int[] layerOffsets = new int[size + 2];
+            for (int i = 0; i < this.count; i++) {
+                if (this.layers[i] == layer) {
+                    layerOffsets[this.from[i] + 1]++;
+                }
+            }
+            for (int id = 1; id <= size + 1; id++) {
+                layerOffsets[id] += layerOffsets[id - 1];
+            }
+            int[] layerTargets = new int[layerOffsets[size + 1]];
+            int[] fill = Arrays.copyOf(layerOffsets, layerOffsets.length);
+            for (int i = 0; i < this.count; i++) {
+                if (this.layers[i] == layer) {
+                    layerTargets[fill[this.from[i]]++] = this.to[i];
+                }
+            }
+            // Remove duplicates but keep the order
+            int[] compactOffsets = new int[size + 2];
+            int write = 0;
+            for (int id = 1; id <= size; id++) {
+                compactOffsets[id] = write;
+                for (int edge = layerOffsets[id]; edge < layerOffsets[id + 1]; edge++) {
+                    int target = layerTargets[edge];
+                    boolean duplicate = false;
+                    for (int other = compactOffsets[id]; other < write && !duplicate; other++) {
+                        duplicate = layerTargets[other] == target;
+                    }
+                    if (!duplicate) {
+                        layerTargets[write++] = target;
+                    }
+                }
+            }
+            compactOffsets[size + 1] = write;
+            offsets[layer] = compactOffsets;
+            targets[layer] = Arrays.copyOf(layerTargets, write);
+        }
+
+        /**
+         * Helper for @see build. Builds the combined layer out of all transport layers.
+         *
+         * @param size The number of stations
+         * @param offsets The offsets of all layers
+         * @param targets The targets of all layers
+         */
+        private void buildCombinedLayer(int size, int[][] offsets, int[][] targets) {
+            int[] combinedOffsets = new int[size + 2];
+            int[] combinedTargets = new int[targets[CAB].length + targets[BUS].length
+                    + targets[TUBE].length + targets[BOAT].length];
+            int write = 0;
+            for (int id = 1; id <= size; id++) {
+                combinedOffsets[id] = write;
+                for (int layer = CAB; layer <= BOAT; layer++) {
+                    for (int edge = offsets[layer][id]; edge < offsets[layer][id + 1]; edge++) {
+                        combinedTargets[write++] = targets[layer][edge];
+                    }
+                }
+                Arrays.sort(combinedTargets, combinedOffsets[id], write);
+                // Remove duplicates of the sorted range
+                int unique = combinedOffsets[id];
+                for (int edge = combinedOffsets[id]; edge < write; edge++) {
+                    if (edge == combinedOffsets[id]
+                            || combinedTargets[edge] != combinedTargets[unique - 1]) {
+                        combinedTargets[unique++] = combinedTargets[edge];
+                    }
+                }
+                write = unique;
+            }
+            combinedOffsets[size + 1] = write;
+            offsets[ANY] = combinedOffsets;
+            targets[ANY] = Arrays.copyOf(combinedTargets, write);
+        }
+    }
+}
@@ -1,127 +1,215 @@
 package logic.board;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import logic.util.JsonValidator;
 
 /**
- * Represents the logical gameboard that holds all Stations.
+ * Represents the logical gameboard that holds all Stations. A board is immutable, so one board can
+ * be shared by any number of games running at the same time. The occupied stations belong to the
+ * game (@see Player.getOccupancy).
  *
  * @author Guillaume Fournier-Mayer (tinf101922)
  */
 public final class Board {
 
+    // A station with its position and the reference in the list
+    private static final long STATION_BYTES = 64;
+
     private final List<Station> stations;
+    private final Adjacency adjacency;
+    private final SpatialIndex spatialIndex;
+    private final DistanceTable[] distanceTables =
+            new DistanceTable[DistanceProfile.values().length];
+    private final PathFinder pathFinder;
 
     /**
-     * Constructor.
+     * Constructor. The board is read in a single pass without building a tree of the document.
      *
      * @param jsonNetwork The board in JSON notation
      * @throws IllegalArgumentException if some invalid values has been detected
      * @throws JsonSyntaxException if the JSON is corrupted
+     * @throws JsonIOException if the JSON can not be read
      */
-    public Board(Reader jsonNetwork) throws IllegalArgumentException, JsonSyntaxException {
+    public Board(Reader jsonNetwork)
+            throws IllegalArgumentException, JsonSyntaxException, JsonIOException {
+        this(new NetworkReader(jsonNetwork).read());
+    }
 
-        this.stations = new ArrayList<>();
+    /**
+     * Constructor helper for a read network.
+     *
+     * @param network The read network
+     */
+    private Board(NetworkReader network) {
+        this(network.getIdentifiers(), network.getXs(), network.getYs(),
+                network.getBuilder().build(network.getSize()));
+    }
 
-        Gson gson = new Gson();
-        JsonParser parser = new JsonParser();
-        // Parse the Network
-        JsonElement root = parser.parse(jsonNetwork);
-        // Validate Network
-        if (!JsonValidator.validateBoard(root)) {
-            throw new IllegalArgumentException("Board is corrupted. Please try antoher one.");
-        }
-        // Get the "stations" field and iterate over it
-        JsonArray jsonStations = root.getAsJsonObject().getAsJsonArray("stations");
-        for (JsonElement jsonArrayElement : jsonStations) {
-            JsonObject jsonStation = jsonArrayElement.getAsJsonObject();
-            int id = jsonStation.get("identifier").getAsInt();
-            Position position = gson.fromJson(jsonStation.get("position"), Position.class);
-            // Create a Station and add it to the List
-            this.stations.add(new Station(id, position));
+    /**
+     * Constructor. Creates the Stations out of their values, all arrays are indexed by the
+     * position of the station in the network. The station with the position i gets the id i + 1
+     * (@see getStation).
+     *
+     * @param identifiers The identifiers of the stations
+     * @param xs The x coordinates of the stations
+     * @param ys The y coordinates of the stations
+     * @param adjacency The connections between the stations
+     */
+    Board(int[] identifiers, double[] xs, double[] ys, Adjacency adjacency) {
+        this.stations = new ArrayList<>(identifiers.length);
+        for (int i = 0; i < identifiers.length; i++) {
+            this.stations.add(new Station(identifiers[i], new Position(xs[i], ys[i]), this));
         }
+        this.adjacency = adjacency;
+        this.spatialIndex = Board.buildSpatialIndex(xs, ys);
+        this.pathFinder = new PathFinder(this);
+    }
 
-        // Link the created Stations
-        int idx = 0;
-        for (JsonElement jArrayElement : jsonStations) {
-            JsonObject jStation = jArrayElement.getAsJsonObject();
-            Station station = this.getStation(idx + 1);
-
-            // Get Links between Stations
-            JsonArray jCabs = jStation.get("cab").getAsJsonArray();
-            JsonArray jBuss = jStation.get("bus").getAsJsonArray();
-            JsonArray jTubes = jStation.get("tube").getAsJsonArray();
-            JsonArray jBoats = jStation.get("boat").getAsJsonArray();
-
-            // Set CAB Link
-            for (JsonElement jCab : jCabs) {
-                int stationId = jCab.getAsInt();
-                Station cabStation = this.getStation(stationId);
-                station.addCab(cabStation);
-            }
-            // Set BUS Link
-            for (JsonElement jBus : jBuss) {
-                int stationId = jBus.getAsInt();
-                Station busStation = this.getStation(stationId);
-                station.addBus(busStation);
-            }
-            // Set TUBE Link
-            for (JsonElement jTube : jTubes) {
-                int stationId = jTube.getAsInt();
-                Station tubeStation = this.getStation(stationId);
-                station.addTube(tubeStation);
-            }
-            // Set BAOT Link
-            for (JsonElement jBoat : jBoats) {
-                int stationId = jBoat.getAsInt();
-                Station boatStation = this.getStation(stationId);
-                station.addBoat(boatStation);
-            }
-            idx++;
-        }
+    /**
+     * Helper for the constructor. Builds the spatial index over the positions of all stations.
+     *
+     * @param xs The x coordinates of the stations
+     * @param ys The y coordinates of the stations
+     * @return The spatial index
+     */
+    private static SpatialIndex buildSpatialIndex(double[] xs, double[] ys) {
+        // Index by the position in the network, which is the id used by @see getStation
+        double[] indexXs = new double[xs.length + 1];
+        double[] indexYs = new double[ys.length + 1];
+        System.arraycopy(xs, 0, indexXs, 1, xs.length);
+        System.arraycopy(ys, 0, indexYs, 1, ys.length);
+        return new SpatialIndex(indexXs, indexYs);
     }
 
     /**
-     * Gets the nearest Station to a point.
+     * Gets the nearest Station to a point. If two stations are equally near, the one with the
+     * lower id is returned.
      *
      * @param point The Point on the graphical board
      * @param threshold The threshold to the nearest station
-     * @return The nearest Station
+     * @return The nearest Station or null if no station is within the threshold
      */
     public Station getNearestStation(Position point, double threshold) {
-        double distance = Double.MAX_VALUE;
-        Station nearestStation = null;
-        for (Station currentStation : this.stations) {
-            double currentDistance = this.getDistance(point, currentStation.getPosition());
-            if (currentDistance <= threshold && distance > currentDistance) {
-                distance = currentDistance;
-                nearestStation = currentStation;
+        int id = this.spatialIndex.nearest(point.getX(), point.getY(), threshold);
+        return id == -1 ? null : this.getStation(id);
+    }
+
+    /**
+     * Gets the k nearest Stations to a point.
+     *
+     * @param point The Point on the graphical board
+     * @param k The maximum number of stations
+     * @param threshold The threshold to the stations
+     * @return The stations within the threshold ordered by their distance and id
+     */
+    public List<Station> getNearestStations(Position point, int k, double threshold) {
+        int[] ids = this.spatialIndex.nearest(point.getX(), point.getY(), k, threshold);
+        List<Station> nearest = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            nearest.add(this.getStation(id));
+        }
+        return nearest;
+    }
+
+    /**
+     * Gets the number of steps between two stations by only using the transports of a profile.
+     * Occupied stations are not taken into account. The steps from a station are calculated once
+     * on first use.
+     *
+     * @param from The start station
+     * @param to The destination station
+     * @param profile The transports that may be used
+     * @return The number of steps or -1 if the destination is not reachable
+     */
+    public int getDistance(Station from, Station to, DistanceProfile profile) {
+        return this.getDistanceTable(profile).getDistance(from.getIdentifier(),
+                to.getIdentifier());
+    }
+
+    /**
+     * Helper for @see getDistance. Gets the distance table of a profile and creates it if needed.
+     *
+     * @param profile The profile
+     * @return The distance table
+     */
+    private DistanceTable getDistanceTable(DistanceProfile profile) {
+        // A table only has final fields, so it can be read without locking once it is created
+        DistanceTable table = this.distanceTables[profile.ordinal()];
+        if (table == null) {
+            synchronized (this.distanceTables) {
+                table = this.distanceTables[profile.ordinal()];
+                if (table == null) {
+                    table = new DistanceTable(this.adjacency, profile);
+                    this.distanceTables[profile.ordinal()] = table;
+                }
             }
         }
-        return nearestStation;
+        return table;
     }
 
     /**
-     * Helper for @see getNearestStation. Calculates the distance between two positions
+     * Estimates the memory used by this board including all distance tables calculated so far.
+     * The buffers of the path finder belong to the threads, not to the board, and are not
+     * counted.
      *
-     * @param a Position A
-     * @param b Position B
-     * @return the Distance between Position a and Position b
+     * @return The estimated number of bytes
      */
-    private double getDistance(Position a, Position b) {
-        return Math.sqrt(Math.pow((a.getX() - b.getX()), 2d) + Math.pow((a.getY() - b.getY()), 2d));
+    long getMemoryUsage() {
+        long bytes = this.stations.size() * STATION_BYTES + this.adjacency.getMemoryUsage()
+                + this.spatialIndex.getMemoryUsage();
+        synchronized (this.distanceTables) {
+            for (DistanceTable table : this.distanceTables) {
+                if (table != null) {
+                    bytes += table.getMemoryUsage();
+                }
+            }
+        }
+        return bytes;
     }
 
     // Getter ##################################################################
+    /**
+     * Gets the path finder of the board. It can be used by any number of threads.
+     *
+     * @return The path finder
+     */
+    public PathFinder getPathFinder() {
+        return this.pathFinder;
+    }
+
+    /**
+     * Gets the connections between all stations.
+     *
+     * @return The adjacency
+     */
+    public Adjacency getAdjacency() {
+        return this.adjacency;
+    }
+
+    /**
+     * Gets all tickets that can be used to go from one station directly to another.
+     *
+     * @param from The id of the start station
+     * @param to The id of the target station
+     * @return The mask of the tickets (@see logic.Ticket#getMask), 0 if the stations are not
+     * connected
+     */
+    public int getTicketMask(int from, int to) {
+        return this.adjacency.getTicketMask(from, to);
+    }
+
+    /**
+     * Gets the number of stations.
+     *
+     * @return The number of stations
+     */
+    public int getSize() {
+        return this.stations.size();
+    }
+
     /**
      * Returns the station corresponding to the given id.
      *
@@ -141,15 +229,17 @@ public final class Board {
      * @param stations The stations
      * @return The station that is the average station of all
      */
-    public Station getAverageStation(Set<Station> stations) {
+    public Station getAverageStation(StationSet stations) {
         double x = 0d;
         double y = 0d;
 
-        for (Station station : stations) {
-            x += station.getPosition().getX();
-            y += station.getPosition().getY();
+        for (int id = stations.nextSetBit(0); id != -1; id = stations.nextSetBit(id + 1)) {
+            Position stationPosition = this.getStation(id).getPosition();
+            x += stationPosition.getX();
+            y += stationPosition.getY();
         }
-        Position position = new Position(x / stations.size(), y / stations.size());
+        int size = stations.cardinality();
+        Position position = new Position(x / size, y / size);
         return this.getNearestStation(position, Double.MAX_VALUE);
 
     }
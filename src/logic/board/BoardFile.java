@@ -0,0 +1,290 @@
+package logic.board;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes boards in a precompiled binary format, so a board can be loaded without parsing
+ * its JSON. The file is memory mapped and all arrays are copied in bulk into the arrays of the
+ * board. Every file carries the checksum of the JSON it was compiled from, a file that does not
+ * belong to the JSON is not used.
+ *
+ * The format (big endian):
+ * <pre>
+ * int    magic "SYBD"
+ * int    version
+ * long   CRC32 of the source JSON
+ * int    number of stations n
+ * int    identifiers[n]
+ * double xs[n]
+ * double ys[n]
+ * per layer of @see Adjacency (CAB, BUS, TUBE, BOAT, ANY):
+ *   int  number of edges m
+ *   int  offsets[n + 2]
+ *   int  targets[m]
+ * </pre>
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class BoardFile {
+
+    private static final int MAGIC = 0x53594244;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+
+    /**
+     * Constructor. Only static methods.
+     */
+    private BoardFile() {
+    }
+
+    /**
+     * Calculates the checksum of a board in JSON notation.
+     *
+     * @param json The bytes of the JSON
+     * @return The checksum
+     */
+    public static long checksum(byte[] json) {
+        CRC32 crc = new CRC32();
+        crc.update(json, 0, json.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Loads a board. The compiled file is used if it belongs to the JSON, otherwise the JSON is
+     * parsed and compiled to the file for the next time. Problems with the compiled file are
+     * ignored.
+     *
+     * @param json The bytes of the board in JSON notation
+     * @param file The compiled file
+     * @return The board
+     * @throws IllegalArgumentException if some invalid values has been detected in the JSON
+     * @throws JsonSyntaxException if the JSON is corrupted
+     */
+    public static Board load(byte[] json, Path file)
+            throws IllegalArgumentException, JsonSyntaxException {
+        long checksum = BoardFile.checksum(json);
+        try {
+            Board board = BoardFile.read(file, checksum);
+            if (board != null) {
+                return board;
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            // Fall back to the JSON
+        }
+        Board board = new Board(new InputStreamReader(new ByteArrayInputStream(json),
+                StandardCharsets.UTF_8));
+        try {
+            BoardFile.write(board, checksum, file);
+        } catch (IOException ex) {
+            // The board is compiled again next time
+        }
+        return board;
+    }
+
+    /**
+     * Reads a compiled board by memory mapping the file.
+     *
+     * @param file The compiled file
+     * @param checksum The checksum of the JSON the file has to belong to
+     * @return The board or null if the file does not exist or belongs to another JSON
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the file is corrupted
+     */
+    public static Board read(Path file, long checksum)
+            throws IOException, IllegalArgumentException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Board file is corrupted");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalArgumentException("Board file is corrupted");
+            }
+            if (buffer.getLong() != checksum) {
+                return null;
+            }
+            return BoardFile.readBoard(buffer);
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Board file is corrupted");
+        }
+    }
+
+    /**
+     * Helper for @see read. Reads the stations and the adjacency behind the header.
+     *
+     * @param buffer The buffer positioned behind the header
+     * @return The board
+     * @throws IllegalArgumentException if the file is corrupted
+     */
+    private static Board readBoard(ByteBuffer buffer) throws IllegalArgumentException {
+        int size = buffer.getInt();
+        if (size < 0 || size > buffer.remaining() / 20) {
+            throw new IllegalArgumentException("Board file is corrupted");
+        }
+        int[] identifiers = new int[size];
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        BoardFile.get(buffer, identifiers);
+        BoardFile.get(buffer, xs);
+        BoardFile.get(buffer, ys);
+
+        int[][] offsets = new int[Adjacency.LAYERS][];
+        int[][] targets = new int[Adjacency.LAYERS][];
+        for (int layer = 0; layer < Adjacency.LAYERS; layer++) {
+            int edges = buffer.getInt();
+            if (edges < 0 || edges > buffer.remaining() / 4) {
+                throw new IllegalArgumentException("Board file is corrupted");
+            }
+            offsets[layer] = new int[size + 2];
+            targets[layer] = new int[edges];
+            BoardFile.get(buffer, offsets[layer]);
+            BoardFile.get(buffer, targets[layer]);
+            BoardFile.validateLayer(size, offsets[layer], targets[layer]);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Board file is corrupted");
+        }
+        return new Board(identifiers, xs, ys, new Adjacency(size, offsets, targets));
+    }
+
+    /**
+     * Helper for @see readBoard. Checks that all edges of a layer are in range, so a corrupted
+     * file can not break the board later on.
+     *
+     * @param size The number of stations
+     * @param offsets The offsets of the layer
+     * @param targets The targets of the layer
+     * @throws IllegalArgumentException if the layer is corrupted
+     */
+    private static void validateLayer(int size, int[] offsets, int[] targets)
+            throws IllegalArgumentException {
+        boolean valid = offsets[0] == 0 && offsets[1] == 0 && offsets[size + 1] == targets.length;
+        for (int id = 1; id <= size && valid; id++) {
+            valid = offsets[id] <= offsets[id + 1];
+        }
+        for (int edge = 0; edge < targets.length && valid; edge++) {
+            valid = targets[edge] > 0 && targets[edge] <= size;
+        }
+        if (!valid) {
+            throw new IllegalArgumentException("Board file is corrupted");
+        }
+    }
+
+    /**
+     * Writes a compiled board. The file is replaced atomically, so a running reader never sees a
+     * half written file.
+     *
+     * @param board The board
+     * @param checksum The checksum of the JSON the board was read from
+     * @param file The compiled file
+     * @throws IOException if the file can not be written
+     */
+    public static void write(Board board, long checksum, Path file) throws IOException {
+        int size = board.getSize();
+        Adjacency adjacency = board.getAdjacency();
+        int length = HEADER_SIZE + size * 20;
+        for (int layer = 0; layer < Adjacency.LAYERS; layer++) {
+            length += 4 + (size + 2) * 4 + adjacency.getEdgeCount(layer) * 4;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(checksum).putInt(size);
+        for (int id = 1; id <= size; id++) {
+            buffer.putInt(board.getStation(id).getIdentifier());
+        }
+        for (int id = 1; id <= size; id++) {
+            buffer.putDouble(board.getStation(id).getPosition().getX());
+        }
+        for (int id = 1; id <= size; id++) {
+            buffer.putDouble(board.getStation(id).getPosition().getY());
+        }
+        for (int layer = 0; layer < Adjacency.LAYERS; layer++) {
+            buffer.putInt(adjacency.getEdgeCount(layer));
+            buffer.asIntBuffer().put(adjacency.getOffsets(layer));
+            buffer.position(buffer.position() + (size + 2) * 4);
+            buffer.asIntBuffer().put(adjacency.getTargets(layer));
+            buffer.position(buffer.position() + adjacency.getEdgeCount(layer) * 4);
+        }
+        buffer.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Helper for @see readBoard. Copies ints out of the buffer in bulk.
+     *
+     * @param buffer The buffer
+     * @param values The array to fill
+     */
+    private static void get(ByteBuffer buffer, int[] values) {
+        if (buffer.remaining() < values.length * 4) {
+            throw new BufferUnderflowException();
+        }
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + values.length * 4);
+    }
+
+    /**
+     * Helper for @see readBoard. Copies doubles out of the buffer in bulk.
+     *
+     * @param buffer The buffer
+     * @param values The array to fill
+     */
+    private static void get(ByteBuffer buffer, double[] values) {
+        if (buffer.remaining() < values.length * 8) {
+            throw new BufferUnderflowException();
+        }
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + values.length * 8);
+    }
+
+    /**
+     * Compiles a board from JSON to the binary format.
+     *
+     * @param args The JSON file and the compiled file
+     * @throws IOException if a file can not be read or written
+     * @throws JsonIOException if the JSON can not be read
+     */
+    public static void main(String[] args) throws IOException, JsonIOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BoardFile <network.json> <network.syb>");
+            System.exit(1);
+        }
+        byte[] json = Files.readAllBytes(Paths.get(args[0]));
+        Board board = new Board(new InputStreamReader(new ByteArrayInputStream(json),
+                StandardCharsets.UTF_8));
+        BoardFile.write(board, BoardFile.checksum(json), Paths.get(args[1]));
+    }
+}
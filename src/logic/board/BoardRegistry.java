@@ -0,0 +1,166 @@
+package logic.board;
+
+import com.google.gson.JsonSyntaxException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads every board network once and shares the board between all games. Boards are identified by
+ * the SHA-256 hash of their JSON, so variants of a network are kept apart and the same network
+ * from different sources is loaded only once. A shared board keeps everything derived from the
+ * network, e.g. the adjacency and the distance tables, so a new game on a known network only
+ * creates its own state. If the estimated memory of all boards exceeds the budget, the least
+ * recently used boards are dropped. Instances are thread-safe.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class BoardRegistry {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long memoryBudget;
+    private final Path compiledDirectory;
+    // Ordered by access, the least recently used board comes first
+    private final LinkedHashMap<String, Board> boards = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Constructor.
+     *
+     * @param memoryBudget The estimated number of bytes all boards may use
+     * @param compiledDirectory The directory for the compiled boards (@see BoardFile) or null to
+     * always parse the JSON
+     */
+    public BoardRegistry(long memoryBudget, Path compiledDirectory) {
+        this.memoryBudget = memoryBudget;
+        this.compiledDirectory = compiledDirectory;
+    }
+
+    /**
+     * Gets the board of a network. The board is loaded if it is not known yet. Loading is done
+     * without holding the lock, so other networks can be looked up in the meantime.
+     *
+     * @param json The bytes of the network in JSON notation
+     * @return The board
+     * @throws IllegalArgumentException if some invalid values has been detected
+     * @throws JsonSyntaxException if the JSON is corrupted
+     */
+    public Board get(byte[] json) throws IllegalArgumentException, JsonSyntaxException {
+        String key = BoardRegistry.hash(json);
+        synchronized (this.boards) {
+            Board board = this.boards.get(key);
+            if (board != null) {
+                this.evict(key);
+                return board;
+            }
+        }
+        Board loaded = this.compiledDirectory == null
+                ? new Board(new InputStreamReader(new ByteArrayInputStream(json),
+                        StandardCharsets.UTF_8))
+                : BoardFile.load(json, this.compiledDirectory.resolve(key + ".syb"));
+        synchronized (this.boards) {
+            // Another thread may have loaded the same network in the meantime
+            Board board = this.boards.putIfAbsent(key, loaded);
+            this.evict(key);
+            return board == null ? loaded : board;
+        }
+    }
+
+    /**
+     * Checks if the board of a network is held.
+     *
+     * @param json The bytes of the network in JSON notation
+     * @return True if the board is held
+     */
+    public boolean contains(byte[] json) {
+        String key = BoardRegistry.hash(json);
+        synchronized (this.boards) {
+            return this.boards.containsKey(key);
+        }
+    }
+
+    /**
+     * Gets the number of held boards.
+     *
+     * @return The number of boards
+     */
+    public int size() {
+        synchronized (this.boards) {
+            return this.boards.size();
+        }
+    }
+
+    /**
+     * Estimates the memory used by all held boards. Distance tables are calculated on demand, so
+     * the usage of a board grows while it is used. The buffers of the path finders belong to the
+     * threads and are used for every board, they are not counted (@see PathFinder).
+     *
+     * @return The estimated number of bytes
+     */
+    public long getMemoryUsage() {
+        synchronized (this.boards) {
+            long bytes = 0;
+            for (Board board : this.boards.values()) {
+                bytes += board.getMemoryUsage();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Drops all boards. Games that still use a board are not affected.
+     */
+    public void clear() {
+        synchronized (this.boards) {
+            this.boards.clear();
+        }
+    }
+
+    /**
+     * Drops the least recently used boards until the budget is kept. The board that has just been
+     * requested is never dropped. Must be called while holding the lock.
+     *
+     * @param requested The key of the requested board
+     */
+    private void evict(String requested) {
+        long bytes = 0;
+        for (Board board : this.boards.values()) {
+            bytes += board.getMemoryUsage();
+        }
+        Iterator<Map.Entry<String, Board>> it = this.boards.entrySet().iterator();
+        while (bytes > this.memoryBudget && it.hasNext()) {
+            Map.Entry<String, Board> entry = it.next();
+            if (!entry.getKey().equals(requested)) {
+                bytes -= entry.getValue().getMemoryUsage();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Calculates the key of a network.
+     *
+     * @param json The bytes of the network in JSON notation
+     * @return The SHA-256 hash as hex string
+     */
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[2 * i] = HEX[(digest[i] >> 4) & 0xF];
+                hex[2 * i + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform has to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
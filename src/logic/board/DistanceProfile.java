@@ -0,0 +1,33 @@
+package logic.board;
+
+/**
+ * Represents a combination of transports that may be used while measuring distances on the board.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public enum DistanceProfile {
+    ANY(Adjacency.CAB, Adjacency.BUS, Adjacency.TUBE, Adjacency.BOAT),
+    CAB_ONLY(Adjacency.CAB),
+    CAB_BUS(Adjacency.CAB, Adjacency.BUS),
+    NO_BOAT(Adjacency.CAB, Adjacency.BUS, Adjacency.TUBE);
+
+    private final int[] layers;
+
+    /**
+     * Constructor.
+     *
+     * @param layers The layers of the adjacency that may be used
+     */
+    private DistanceProfile(int... layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * Gets the layers of the adjacency that may be used.
+     *
+     * @return The layers
+     */
+    int[] getLayers() {
+        return this.layers.clone();
+    }
+}
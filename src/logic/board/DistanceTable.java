@@ -0,0 +1,103 @@
+package logic.board;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Holds the number of steps between all pairs of stations for one distance profile. A row holds
+ * the steps from one station to all others and is calculated by a breadth-first search the first
+ * time it is needed, so large boards only pay for the stations that are actually asked for. Rows
+ * are published atomically, so a table can be shared between threads. Two threads may calculate
+ * the same row at the same time, one of both results is kept.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+final class DistanceTable {
+
+    static final short UNREACHABLE = -1;
+
+    private final Adjacency adjacency;
+    private final int[] layers;
+    private final int size;
+    // One row per station, index 0 is unused
+    private final AtomicReferenceArray<short[]> rows;
+
+    /**
+     * Constructor. No row is calculated yet.
+     *
+     * @param adjacency The adjacency of the board
+     * @param profile The transports to consider
+     */
+    DistanceTable(Adjacency adjacency, DistanceProfile profile) {
+        this.adjacency = adjacency;
+        this.layers = profile.getLayers();
+        this.size = adjacency.getSize();
+        this.rows = new AtomicReferenceArray<>(this.size + 1);
+    }
+
+    /**
+     * Gets the number of steps between two stations.
+     *
+     * @param from The id of the start station
+     * @param to The id of the destination station
+     * @return The number of steps or @see UNREACHABLE
+     */
+    int getDistance(int from, int to) {
+        short[] row = this.rows.get(from);
+        if (row == null) {
+            row = this.calculateRow(from);
+            if (!this.rows.compareAndSet(from, null, row)) {
+                row = this.rows.get(from);
+            }
+        }
+        return row[to - 1];
+    }
+
+    /**
+     * Helper for @see getDistance. Calculates the steps from one station to all others by a
+     * breadth-first search.
+     *
+     * @param start The id of the start station
+     * @return The steps indexed by the id of the destination minus one
+     */
+    private short[] calculateRow(int start) {
+        short[] row = new short[this.size];
+        Arrays.fill(row, UNREACHABLE);
+        int[] queue = new int[this.size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        row[start - 1] = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            // Longer ways are not expected, they are cut at the maximum of a short
+            short next = (short) Math.min(Short.MAX_VALUE, row[current - 1] + 1);
+            for (int layer : this.layers) {
+                for (int edge = this.adjacency.getStart(layer, current); edge < this.adjacency
+                        .getEnd(layer, current); edge++) {
+                    int target = this.adjacency.getTarget(layer, edge);
+                    if (row[target - 1] == UNREACHABLE) {
+                        row[target - 1] = next;
+                        queue[tail++] = target;
+                    }
+                }
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Estimates the memory used by all rows calculated so far.
+     *
+     * @return The estimated number of bytes
+     */
+    long getMemoryUsage() {
+        long bytes = 4L * (this.size + 1);
+        for (int id = 1; id <= this.size; id++) {
+            if (this.rows.get(id) != null) {
+                bytes += 2L * this.size;
+            }
+        }
+        return bytes;
+    }
+}
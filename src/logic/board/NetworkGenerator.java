@@ -0,0 +1,290 @@
+package logic.board;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import logic.GameEngine.Config;
+
+/**
+ * Generates synthetic boards in the notation of network.json to test the engine on boards of any
+ * size. The stations get random positions. The transports are layered like on the stock board:
+ * every station has cab links, about a third of the stations are bus stops, a few of those are
+ * tube stations and a small number of stations are ports. Within every transport each station is
+ * linked to its nearest stations of the same transport and the stations of a transport are linked
+ * until they are all connected. All links go both ways. The same size and seed always give the
+ * same board.
+ *
+ * Usage: NetworkGenerator &lt;stations&gt; &lt;output&gt; [seed]
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class NetworkGenerator {
+
+    // Share of the stations of each transport and the number of nearest stations to link, in the
+    // order of the layers of @see Adjacency
+    private static final double[] SHARES = new double[] { 1, 0.31, 0.07, 0.02 };
+    private static final int[] NEIGHBOURS = new int[] { 2, 2, 2, 1 };
+    private static final String[] NAMES = new String[] { "cab", "bus", "tube", "boat" };
+    private static final double MARGIN = 0.025;
+
+    private final int size;
+    private final double[] xs;
+    private final double[] ys;
+    // The linked stations per layer and station, index 0 is unused
+    private final int[][][] links = new int[NAMES.length][][];
+
+    /**
+     * Constructor. Generates the whole board.
+     *
+     * @param size The number of stations
+     * @param seed The seed of the random generator
+     * @throws IllegalArgumentException if the board is too small for the startpositions
+     */
+    public NetworkGenerator(int size, long seed) throws IllegalArgumentException {
+        int minSize = Arrays.stream(Config.START_POSITIONS).max().getAsInt();
+        if (size < minSize) {
+            throw new IllegalArgumentException(
+                    String.format("A board needs at least %d stations", minSize));
+        }
+        this.size = size;
+        Random random = new Random(seed);
+        this.xs = new double[size + 1];
+        this.ys = new double[size + 1];
+        for (int id = 1; id <= size; id++) {
+            this.xs[id] = MARGIN + random.nextDouble() * (1 - 2 * MARGIN);
+            this.ys[id] = MARGIN + random.nextDouble() * (1 - 2 * MARGIN);
+        }
+
+        // The bus only stops at cab stations and the tube only at bus stops, ports are anywhere
+        int[] stations = NetworkGenerator.range(size);
+        for (int layer = Adjacency.CAB; layer <= Adjacency.BOAT; layer++) {
+            int[] candidates = layer == Adjacency.BOAT ? NetworkGenerator.range(size) : stations;
+            int count = Math.max(2, (int) Math.round(size * SHARES[layer]));
+            stations = NetworkGenerator.choose(candidates, count, random);
+            this.links[layer] = this.link(stations, NEIGHBOURS[layer]);
+        }
+    }
+
+    /**
+     * Helper for the constructor. Links every station to its nearest stations and connects all
+     * stations afterwards.
+     *
+     * @param stations The ids of the stations of one transport
+     * @param neighbours The number of nearest stations to link
+     * @return The linked stations per station
+     */
+    private int[][] link(int[] stations, int neighbours) {
+        // The index works on the positions of the given stations only
+        double[] indexXs = new double[stations.length + 1];
+        double[] indexYs = new double[stations.length + 1];
+        for (int i = 0; i < stations.length; i++) {
+            indexXs[i + 1] = this.xs[stations[i]];
+            indexYs[i + 1] = this.ys[stations[i]];
+        }
+        SpatialIndex index = new SpatialIndex(indexXs, indexYs);
+        Set<Long> edges = new HashSet<>();
+        int[] parents = new int[stations.length + 1];
+        for (int i = 1; i <= stations.length; i++) {
+            parents[i] = i;
+        }
+
+        for (int i = 1; i <= stations.length; i++) {
+            int[] nearest = index.nearest(indexXs[i], indexYs[i], neighbours + 1,
+                    Double.POSITIVE_INFINITY);
+            for (int other : nearest) {
+                if (other != i) {
+                    NetworkGenerator.addEdge(edges, parents, i, other);
+                }
+            }
+        }
+
+        // Link every component to the nearest station of another one until only one is left
+        boolean connected = false;
+        while (!connected) {
+            connected = true;
+            boolean[] linked = new boolean[stations.length + 1];
+            for (int i = 1; i <= stations.length; i++) {
+                int root = NetworkGenerator.find(parents, i);
+                if (root != NetworkGenerator.find(parents, 1) && !linked[root]) {
+                    connected = false;
+                    int other = -1;
+                    for (int k = 8; other == -1; k *= 2) {
+                        for (int candidate : index.nearest(indexXs[i], indexYs[i], k,
+                                Double.POSITIVE_INFINITY)) {
+                            if (other == -1 && NetworkGenerator.find(parents, candidate) != root) {
+                                other = candidate;
+                            }
+                        }
+                    }
+                    NetworkGenerator.addEdge(edges, parents, i, other);
+                    linked[NetworkGenerator.find(parents, i)] = true;
+                }
+            }
+        }
+
+        // Collect the links of every station in the order of their ids
+        int[] degrees = new int[this.size + 1];
+        for (long edge : edges) {
+            degrees[stations[(int) (edge >>> 32) - 1]]++;
+            degrees[stations[(int) edge - 1]]++;
+        }
+        int[][] result = new int[this.size + 1][];
+        for (int id = 1; id <= this.size; id++) {
+            result[id] = new int[degrees[id]];
+            degrees[id] = 0;
+        }
+        for (long edge : edges) {
+            int a = stations[(int) (edge >>> 32) - 1];
+            int b = stations[(int) edge - 1];
+            result[a][degrees[a]++] = b;
+            result[b][degrees[b]++] = a;
+        }
+        for (int id = 1; id <= this.size; id++) {
+            Arrays.sort(result[id]);
+        }
+        return result;
+    }
+
+    /**
+     * Helper for @see link. Adds an edge between two stations and merges their components.
+     *
+     * @param edges The edges, the lower index in the upper half
+     * @param parents The parents of the components
+     * @param a The index of the first station
+     * @param b The index of the second station
+     */
+    private static void addEdge(Set<Long> edges, int[] parents, int a, int b) {
+        edges.add(((long) Math.min(a, b) << 32) | Math.max(a, b));
+        parents[NetworkGenerator.find(parents, a)] = NetworkGenerator.find(parents, b);
+    }
+
+    /**
+     * Helper for @see link. Finds the root of the component of a station and shortens the path.
+     *
+     * @param parents The parents of the components
+     * @param i The index of the station
+     * @return The index of the root
+     */
+    private static int find(int[] parents, int i) {
+        int root = i;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        while (parents[i] != root) {
+            int next = parents[i];
+            parents[i] = root;
+            i = next;
+        }
+        return root;
+    }
+
+    /**
+     * Chooses random stations.
+     *
+     * @param stations The stations to choose from
+     * @param count The number of stations to choose
+     * @param random The random generator
+     * @return The chosen stations ordered by id
+     */
+    private static int[] choose(int[] stations, int count, Random random) {
+        int[] shuffled = stations.clone();
+        count = Math.min(count, shuffled.length);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(shuffled.length - i);
+            int station = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = station;
+        }
+        int[] chosen = Arrays.copyOf(shuffled, count);
+        Arrays.sort(chosen);
+        return chosen;
+    }
+
+    /**
+     * Gets the ids of all stations.
+     *
+     * @param size The number of stations
+     * @return The ids from 1 to size
+     */
+    private static int[] range(int size) {
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+        }
+        return ids;
+    }
+
+    /**
+     * Writes the board in the notation of network.json.
+     *
+     * @param out The writer
+     * @throws IOException if the board can not be written
+     */
+    public void write(Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginObject();
+        writer.name("stations").beginArray();
+        for (int id = 1; id <= this.size; id++) {
+            writer.beginObject();
+            writer.name("identifier").value(id);
+            writer.name("position").beginObject();
+            writer.name("x").value(this.xs[id]);
+            writer.name("y").value(this.ys[id]);
+            writer.endObject();
+            for (int layer : new int[] { Adjacency.TUBE, Adjacency.BUS, Adjacency.CAB,
+                    Adjacency.BOAT }) {
+                writer.name(NAMES[layer]).beginArray();
+                for (int link : this.links[layer][id]) {
+                    writer.value(link);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    // Getter ##################################################################
+    /**
+     * Gets the number of stations.
+     *
+     * @return The number of stations
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Generates a board and writes it to a file.
+     *
+     * @param args The number of stations, the output file and an optional seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: NetworkGenerator <stations> <output> [seed]");
+            System.exit(1);
+        }
+        try {
+            int size = Integer.parseInt(args[0]);
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            NetworkGenerator generator = new NetworkGenerator(size, seed);
+            try (BufferedWriter writer =
+                    Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+                generator.write(writer);
+            }
+        } catch (IllegalArgumentException | IOException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package logic.board;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads a board in JSON notation in a single pass. The stations are validated while they are read
+ * and their links are passed to an @see Adjacency.Builder right away, so no tree of the whole
+ * document is built. Links may point to stations that follow later in the document. The fields of
+ * the root object and of every station may be in any order, unknown fields are skipped.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+final class NetworkReader {
+
+    private static final int HAS_IDENTIFIER = 1;
+    private static final int HAS_POSITION = 1 << 1;
+    private static final int HAS_CAB = 1 << 2;
+    private static final int HAS_BUS = 1 << 3;
+    private static final int HAS_TUBE = 1 << 4;
+    private static final int HAS_BOAT = 1 << 5;
+    private static final int HAS_ALL = (1 << 6) - 1;
+
+    private final JsonReader reader;
+    private final Adjacency.Builder builder = new Adjacency.Builder();
+
+    // One entry per station in the order of the document
+    private int[] identifiers = new int[256];
+    private double[] xs = new double[256];
+    private double[] ys = new double[256];
+    private int size = 0;
+
+    // The links of the current station, they are added once its identifier is known
+    private int[] pendingLayers = new int[32];
+    private int[] pendingTargets = new int[32];
+    private int pendingCount = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param jsonNetwork The board in JSON notation
+     */
+    NetworkReader(Reader jsonNetwork) {
+        this.reader = new JsonReader(jsonNetwork);
+        // Same leniency as JsonParser, which has been used before
+        this.reader.setLenient(true);
+    }
+
+    /**
+     * Reads the whole document.
+     *
+     * @return This reader
+     * @throws IllegalArgumentException if some invalid values has been detected
+     * @throws JsonSyntaxException if the JSON is corrupted
+     * @throws JsonIOException if the document can not be read
+     */
+    NetworkReader read() throws IllegalArgumentException, JsonSyntaxException, JsonIOException {
+        try {
+            try {
+                this.readRoot();
+            } catch (IllegalArgumentException ex) {
+                // A syntax error anywhere in the document is reported first
+                this.skipRemaining();
+                throw ex;
+            }
+            if (this.reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+        } catch (MalformedJsonException | EOFException ex) {
+            throw new JsonSyntaxException(ex);
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Helper for @see read. Consumes the rest of the document without looking at its values, so
+     * that syntax errors after an invalid value are still detected.
+     *
+     * @throws IOException if the document can not be read
+     */
+    private void skipRemaining() throws IOException {
+        for (JsonToken next = this.reader.peek(); next != JsonToken.END_DOCUMENT; next =
+                this.reader.peek()) {
+            switch (next) {
+                case END_ARRAY:
+                    this.reader.endArray();
+                    break;
+                case END_OBJECT:
+                    this.reader.endObject();
+                    break;
+                case NAME:
+                    this.reader.nextName();
+                    break;
+                default:
+                    this.reader.skipValue();
+            }
+        }
+    }
+
+    /**
+     * Helper for @see read. Reads the root object.
+     *
+     * @throws IOException if the document can not be read
+     */
+    private void readRoot() throws IOException {
+        this.expect(JsonToken.BEGIN_OBJECT);
+        this.reader.beginObject();
+        boolean hasStations = false;
+        while (this.reader.hasNext()) {
+            if ("stations".equals(this.reader.nextName())) {
+                this.expect(JsonToken.BEGIN_ARRAY);
+                this.reader.beginArray();
+                while (this.reader.hasNext()) {
+                    this.readStation();
+                }
+                this.reader.endArray();
+                hasStations = true;
+            } else {
+                this.reader.skipValue();
+            }
+        }
+        this.reader.endObject();
+        if (!hasStations) {
+            throw this.corrupted("field \"stations\" is missing");
+        }
+    }
+
+    /**
+     * Helper for @see readRoot. Reads one station.
+     *
+     * @throws IOException if the document can not be read
+     */
+    private void readStation() throws IOException {
+        this.expect(JsonToken.BEGIN_OBJECT);
+        this.reader.beginObject();
+        int fields = 0;
+        int identifier = 0;
+        double x = 0;
+        double y = 0;
+        this.pendingCount = 0;
+        while (this.reader.hasNext()) {
+            switch (this.reader.nextName()) {
+                case "identifier":
+                    identifier = this.nextInt();
+                    fields |= HAS_IDENTIFIER;
+                    break;
+                case "position":
+                    double[] position = this.readPosition();
+                    x = position[0];
+                    y = position[1];
+                    fields |= HAS_POSITION;
+                    break;
+                case "cab":
+                    this.readLinks(Adjacency.CAB);
+                    fields |= HAS_CAB;
+                    break;
+                case "bus":
+                    this.readLinks(Adjacency.BUS);
+                    fields |= HAS_BUS;
+                    break;
+                case "tube":
+                    this.readLinks(Adjacency.TUBE);
+                    fields |= HAS_TUBE;
+                    break;
+                case "boat":
+                    this.readLinks(Adjacency.BOAT);
+                    fields |= HAS_BOAT;
+                    break;
+                default:
+                    this.reader.skipValue();
+            }
+        }
+        if (fields != HAS_ALL) {
+            throw this.corrupted("station is incomplete");
+        }
+        this.reader.endObject();
+
+        for (int i = 0; i < this.pendingCount; i++) {
+            this.builder.addEdge(this.pendingLayers[i], identifier, this.pendingTargets[i]);
+        }
+        if (this.size == this.identifiers.length) {
+            this.identifiers = Arrays.copyOf(this.identifiers, this.size * 2);
+            this.xs = Arrays.copyOf(this.xs, this.size * 2);
+            this.ys = Arrays.copyOf(this.ys, this.size * 2);
+        }
+        this.identifiers[this.size] = identifier;
+        this.xs[this.size] = x;
+        this.ys[this.size] = y;
+        this.size++;
+    }
+
+    /**
+     * Helper for @see readStation. Reads the position of a station.
+     *
+     * @return The x and y coordinate
+     * @throws IOException if the document can not be read
+     */
+    private double[] readPosition() throws IOException {
+        this.expect(JsonToken.BEGIN_OBJECT);
+        this.reader.beginObject();
+        double[] position = new double[2];
+        boolean hasX = false;
+        boolean hasY = false;
+        while (this.reader.hasNext()) {
+            switch (this.reader.nextName()) {
+                case "x":
+                    this.expect(JsonToken.NUMBER);
+                    position[0] = this.reader.nextDouble();
+                    hasX = true;
+                    break;
+                case "y":
+                    this.expect(JsonToken.NUMBER);
+                    position[1] = this.reader.nextDouble();
+                    hasY = true;
+                    break;
+                default:
+                    this.reader.skipValue();
+            }
+        }
+        if (!hasX || !hasY) {
+            throw this.corrupted("position is incomplete");
+        }
+        this.reader.endObject();
+        return position;
+    }
+
+    /**
+     * Helper for @see readStation. Reads the links of a station by one transport.
+     *
+     * @param layer The layer of the links
+     * @throws IOException if the document can not be read
+     */
+    private void readLinks(int layer) throws IOException {
+        this.expect(JsonToken.BEGIN_ARRAY);
+        this.reader.beginArray();
+        while (this.reader.hasNext()) {
+            int target = this.nextInt();
+            if (this.pendingCount == this.pendingTargets.length) {
+                this.pendingLayers = Arrays.copyOf(this.pendingLayers, this.pendingCount * 2);
+                this.pendingTargets = Arrays.copyOf(this.pendingTargets, this.pendingCount * 2);
+            }
+            this.pendingLayers[this.pendingCount] = layer;
+            this.pendingTargets[this.pendingCount] = target;
+            this.pendingCount++;
+        }
+        this.reader.endArray();
+    }
+
+    /**
+     * Reads the next value as an integer. A number with a fraction is not allowed.
+     *
+     * @return The value
+     * @throws IOException if the document can not be read
+     */
+    private int nextInt() throws IOException {
+        this.expect(JsonToken.NUMBER);
+        try {
+            return this.reader.nextInt();
+        } catch (NumberFormatException ex) {
+            throw this.corrupted("integer expected");
+        }
+    }
+
+    /**
+     * Checks the kind of the next value.
+     *
+     * @param token The expected kind
+     * @throws IOException if the document can not be read
+     */
+    private void expect(JsonToken token) throws IOException {
+        JsonToken next = this.reader.peek();
+        if (next != token) {
+            throw this.corrupted(token + " expected but was " + next);
+        }
+    }
+
+    /**
+     * Creates the exception for invalid values at the current position of the document.
+     *
+     * @param reason What is wrong
+     * @return The exception
+     */
+    private IllegalArgumentException corrupted(String reason) {
+        return new IllegalArgumentException(
+                "Board is corrupted at " + this.reader.getPath() + ": " + reason);
+    }
+
+    // Getter ##################################################################
+    /**
+     * Getter for the builder holding the links of all read stations.
+     *
+     * @return The builder
+     */
+    Adjacency.Builder getBuilder() {
+        return this.builder;
+    }
+
+    /**
+     * Gets the number of read stations.
+     *
+     * @return The number of stations
+     */
+    int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Gets the identifiers of all read stations.
+     *
+     * @return The identifiers in the order of the document
+     */
+    int[] getIdentifiers() {
+        return Arrays.copyOf(this.identifiers, this.size);
+    }
+
+    /**
+     * Gets the x coordinates of all read stations.
+     *
+     * @return The x coordinates in the order of the document
+     */
+    double[] getXs() {
+        return Arrays.copyOf(this.xs, this.size);
+    }
+
+    /**
+     * Gets the y coordinates of all read stations.
+     *
+     * @return The y coordinates in the order of the document
+     */
+    double[] getYs() {
+        return Arrays.copyOf(this.ys, this.size);
+    }
+}
@@ -0,0 +1,216 @@
+package logic.board;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import logic.Ticket;
+
+/**
+ * Finds shortest ways on a board considering the tickets a player has left and the occupied
+ * stations. Searches breadth-first over states of a station and the remaining tickets. A state is
+ * skipped if the same station has already been reached with at least as many tickets of every
+ * kind. The buffers are kept between searches, every thread has its own, which it uses for every
+ * board. They do not refer to a board, so a board that is no longer used can be collected. An
+ * instance can be shared between threads (@see Board.getPathFinder).
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class PathFinder {
+
+    private static final int TICKET_BITS = 8;
+    private static final int TICKET_MAX = (1 << TICKET_BITS) - 1;
+    private static final int TICKET_COUNT = Ticket.values().length;
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final Board board;
+    private final Adjacency adjacency;
+
+    /**
+     * Constructor.
+     *
+     * @param board The board to search on
+     */
+    PathFinder(Board board) {
+        this.board = board;
+        this.adjacency = board.getAdjacency();
+    }
+
+    /**
+     * Returns the shortest way from start to destination. Every step uses one ticket, the black
+     * ticket can be used for every transport. Occupied stations can not be entered.
+     *
+     * @param start The start station
+     * @param destination The destination to reach
+     * @param tickets The available tickets indexed by the ordinal of @see Ticket
+     * @param occupied The occupied stations
+     * @return The way without the start station or an empty list if the destination is not
+     * reachable or equals the start
+     */
+    public List<Station> shortestPath(Station start, Station destination, int[] tickets,
+            StationSet occupied) {
+        LinkedList<Station> way = new LinkedList<>();
+        int destinationId = destination.getIdentifier();
+        if (start.getIdentifier() == destinationId) {
+            return way;
+        }
+        Buffers buffers = BUFFERS.get();
+        buffers.begin(this.board.getSize());
+
+        int count = 0;
+        buffers.stations[0] = start.getIdentifier();
+        buffers.tickets[0] = PathFinder.pack(tickets);
+        buffers.parents[0] = -1;
+        buffers.visit(0);
+        count++;
+
+        int found = -1;
+        for (int head = 0; head < count && found == -1; head++) {
+            int current = buffers.stations[head];
+            int packed = buffers.tickets[head];
+            for (int ordinal = 0; ordinal < TICKET_COUNT && found == -1; ordinal++) {
+                if (PathFinder.get(packed, ordinal) > 0) {
+                    int remaining = packed - (1 << (ordinal * TICKET_BITS));
+                    int layer = Adjacency.getLayer(Ticket.from(ordinal));
+                    for (int edge = this.adjacency.getStart(layer, current); edge < this.adjacency
+                            .getEnd(layer, current) && found == -1; edge++) {
+                        int next = this.adjacency.getTarget(layer, edge);
+                        if (!occupied.contains(next) && !buffers.isDominated(next, remaining)) {
+                            buffers.ensureCapacity(count + 1);
+                            buffers.stations[count] = next;
+                            buffers.tickets[count] = remaining;
+                            buffers.parents[count] = head;
+                            buffers.visit(count);
+                            if (next == destinationId) {
+                                found = count;
+                            }
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Build the way out of the parents
+        for (int state = found; state > 0; state = buffers.parents[state]) {
+            way.addFirst(this.board.getStation(buffers.stations[state]));
+        }
+        return way;
+    }
+
+    /**
+     * Packs the ticket counts into one int. Counts above 255 are cut, no way is that long.
+     *
+     * @param tickets The ticket counts
+     * @return The packed tickets
+     */
+    private static int pack(int[] tickets) {
+        int packed = 0;
+        for (int ordinal = 0; ordinal < TICKET_COUNT; ordinal++) {
+            int ticketNum = Math.max(0, Math.min(TICKET_MAX, tickets[ordinal]));
+            packed |= ticketNum << (ordinal * TICKET_BITS);
+        }
+        return packed;
+    }
+
+    /**
+     * Gets the count of one ticket out of packed tickets.
+     *
+     * @param packed The packed tickets
+     * @param ordinal The ordinal of the ticket
+     * @return The count
+     */
+    private static int get(int packed, int ordinal) {
+        return (packed >>> (ordinal * TICKET_BITS)) & TICKET_MAX;
+    }
+
+    /**
+     * The buffers of the searches of one thread.
+     */
+    private static final class Buffers {
+
+        // One entry per state
+        private int[] stations = new int[1024];
+        private int[] tickets = new int[1024];
+        private int[] parents = new int[1024];
+        private int[] nextVisited = new int[1024];
+
+        // One entry per station
+        private int[] firstVisited = new int[0];
+        private int[] stamps = new int[0];
+        private int stamp = 0;
+
+        /**
+         * Helper for @see shortestPath. Checks if a station has already been reached with at
+         * least as many tickets of every kind.
+         *
+         * @param station The station
+         * @param packed The packed tickets
+         * @return True if the state does not have to be visited
+         */
+        private boolean isDominated(int station, int packed) {
+            if (this.stamps[station] != this.stamp) {
+                return false;
+            }
+            for (int state = this.firstVisited[station]; state != -1; state =
+                    this.nextVisited[state]) {
+                int other = this.tickets[state];
+                boolean dominated = true;
+                for (int ordinal = 0; ordinal < TICKET_COUNT && dominated; ordinal++) {
+                    dominated = PathFinder.get(other, ordinal) >= PathFinder.get(packed, ordinal);
+                }
+                if (dominated) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Helper for @see shortestPath. Remembers a state as visited for its station.
+         *
+         * @param state The index of the state
+         */
+        private void visit(int state) {
+            int station = this.stations[state];
+            if (this.stamps[station] != this.stamp) {
+                this.stamps[station] = this.stamp;
+                this.firstVisited[station] = -1;
+            }
+            this.nextVisited[state] = this.firstVisited[station];
+            this.firstVisited[station] = state;
+        }
+
+        /**
+         * Begins a search. Invalidates all visited states of the last search and grows the
+         * buffers of the stations if the board has more stations.
+         *
+         * @param size The number of stations of the board
+         */
+        private void begin(int size) {
+            if (this.stamps.length <= size) {
+                this.firstVisited = new int[size + 1];
+                this.stamps = new int[size + 1];
+            }
+            this.stamp++;
+            if (this.stamp == Integer.MAX_VALUE) {
+                Arrays.fill(this.stamps, 0);
+                this.stamp = 1;
+            }
+        }
+
+        /**
+         * Helper for @see shortestPath. Grows the state buffers if needed.
+         *
+         * @param capacity The needed capacity
+         */
+        private void ensureCapacity(int capacity) {
+            if (capacity > this.stations.length) {
+                int length = this.stations.length * 2;
+                this.stations = Arrays.copyOf(this.stations, length);
+                this.tickets = Arrays.copyOf(this.tickets, length);
+                this.parents = Arrays.copyOf(this.parents, length);
+                this.nextVisited = Arrays.copyOf(this.nextVisited, length);
+            }
+        }
+    }
+}
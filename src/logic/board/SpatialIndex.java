@@ -0,0 +1,296 @@
+package logic.board;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid over the positions of all stations. The grid has about one station per cell, so
+ * a query only has to look at the cells around the searched position. The cells are searched in
+ * rings around the cell of the position until no unvisited cell can hold a nearer station. All
+ * distances are compared squared. On equal distances the station with the lower id wins. Station
+ * ids are used as indices. Instances are immutable.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+final class SpatialIndex {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double minX;
+    private final double minY;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int columns;
+    private final int rows;
+    // The ids of the stations of each cell in compressed sparse row format
+    private final int[] cellStart;
+    private final int[] cellIds;
+
+    /**
+     * Constructor. Builds the grid.
+     *
+     * @param xs The x coordinates indexed by station id, index 0 is unused
+     * @param ys The y coordinates indexed by station id, index 0 is unused
+     */
+    SpatialIndex(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+        int size = xs.length - 1;
+
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int id = 1; id <= size; id++) {
+            minX = Math.min(minX, xs[id]);
+            minY = Math.min(minY, ys[id]);
+            maxX = Math.max(maxX, xs[id]);
+            maxY = Math.max(maxY, ys[id]);
+        }
+        if (size == 0) {
+            minX = 0;
+            minY = 0;
+            maxX = 0;
+            maxY = 0;
+        }
+        int side = Math.max(1, (int) Math.ceil(Math.sqrt(size)));
+        this.minX = minX;
+        this.minY = minY;
+        this.columns = side;
+        this.rows = side;
+        this.cellWidth = maxX > minX ? (maxX - minX) / side : 1;
+        this.cellHeight = maxY > minY ? (maxY - minY) / side : 1;
+
+        // Counting sort of the stations by their cell, the ids of a cell stay sorted
+        int cells = this.columns * this.rows;
+        this.cellStart = new int[cells + 1];
+        int[] cellOf = new int[size + 1];
+        for (int id = 1; id <= size; id++) {
+            cellOf[id] = this.getRow(ys[id]) * this.columns + this.getColumn(xs[id]);
+            this.cellStart[cellOf[id] + 1]++;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            this.cellStart[cell + 1] += this.cellStart[cell];
+        }
+        this.cellIds = new int[size];
+        int[] fill = Arrays.copyOf(this.cellStart, cells);
+        for (int id = 1; id <= size; id++) {
+            this.cellIds[fill[cellOf[id]]++] = id;
+        }
+    }
+
+    /**
+     * Finds the nearest station to a position.
+     *
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param threshold The maximum distance of the station
+     * @return The id of the station or -1 if no station is within the threshold
+     */
+    int nearest(double x, double y, double threshold) {
+        int[] nearest = this.nearest(x, y, 1, threshold);
+        return nearest.length == 0 ? -1 : nearest[0];
+    }
+
+    /**
+     * Finds the k nearest stations to a position.
+     *
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param k The maximum number of stations
+     * @param threshold The maximum distance of the stations
+     * @return The ids of the stations ordered by distance
+     */
+    int[] nearest(double x, double y, int k, double threshold) {
+        if (k <= 0 || this.cellIds.length == 0 || Double.isNaN(x) || Double.isNaN(y)
+                || !(threshold >= 0)) {
+            return new int[0];
+        }
+        double maxDistance = threshold * threshold;
+        // Max heap of the best stations, the worst one is on top
+        int[] heap = new int[Math.min(k, this.cellIds.length)];
+        double[] heapDistances = new double[heap.length];
+        int count = 0;
+
+        int column = this.getColumn(x);
+        int row = this.getRow(y);
+        for (int ring = 0;; ring++) {
+            int left = column - ring;
+            int right = column + ring;
+            int top = row - ring;
+            int bottom = row + ring;
+            for (int r = Math.max(0, top); r <= Math.min(this.rows - 1, bottom); r++) {
+                // Inner rows of the ring only have their first and last cell
+                int step = r == top || r == bottom ? 1 : Math.max(1, right - left);
+                for (int c = left; c <= right; c += step) {
+                    if (c >= 0 && c < this.columns) {
+                        count = this.visitCell(r * this.columns + c, x, y, maxDistance, heap,
+                                heapDistances, count);
+                    }
+                }
+            }
+
+            // Stop if all cells have been visited or no unvisited cell can be nearer
+            double bound = Double.POSITIVE_INFINITY;
+            if (left > 0) {
+                bound = Math.min(bound, x - (this.minX + left * this.cellWidth));
+            }
+            if (right < this.columns - 1) {
+                bound = Math.min(bound, this.minX + (right + 1) * this.cellWidth - x);
+            }
+            if (top > 0) {
+                bound = Math.min(bound, y - (this.minY + top * this.cellHeight));
+            }
+            if (bottom < this.rows - 1) {
+                bound = Math.min(bound, this.minY + (bottom + 1) * this.cellHeight - y);
+            }
+            if (bound == Double.POSITIVE_INFINITY) {
+                break;
+            }
+            bound = Math.max(0, bound);
+            double boundDistance = bound * bound;
+            if (boundDistance > maxDistance
+                    || (count == heap.length && boundDistance > heapDistances[0])) {
+                break;
+            }
+        }
+
+        // Sort the heap by distance and id
+        int[] result = Arrays.copyOf(heap, count);
+        for (int i = count - 1; i > 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[i];
+            heapDistances[0] = heapDistances[i];
+            this.siftDown(heap, heapDistances, i);
+        }
+        if (count > 0) {
+            result[0] = heap[0];
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the memory used by this index.
+     *
+     * @return The estimated number of bytes
+     */
+    long getMemoryUsage() {
+        return 8L * (this.xs.length + this.ys.length)
+                + 4L * (this.cellStart.length + this.cellIds.length);
+    }
+
+    /**
+     * Helper for @see nearest. Offers all stations of a cell to the heap.
+     *
+     * @param cell The cell
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param maxDistance The squared threshold
+     * @param heap The ids of the best stations
+     * @param heapDistances The squared distances of the best stations
+     * @param count The number of stations in the heap
+     * @return The new number of stations in the heap
+     */
+    private int visitCell(int cell, double x, double y, double maxDistance, int[] heap,
+            double[] heapDistances, int count) {
+        for (int i = this.cellStart[cell]; i < this.cellStart[cell + 1]; i++) {
+            int id = this.cellIds[i];
+            double dx = this.xs[id] - x;
+            double dy = this.ys[id] - y;
+            double distance = dx * dx + dy * dy;
+            if (distance <= maxDistance) {
+                if (count < heap.length) {
+                    // Sift up the new station
+                    int child = count++;
+                    heap[child] = id;
+                    heapDistances[child] = distance;
+                    while (child > 0 && SpatialIndex.isWorse(heapDistances[child], heap[child],
+                            heapDistances[(child - 1) / 2], heap[(child - 1) / 2])) {
+                        SpatialIndex.swap(heap, heapDistances, child, (child - 1) / 2);
+                        child = (child - 1) / 2;
+                    }
+                } else if (SpatialIndex.isWorse(heapDistances[0], heap[0], distance, id)) {
+                    heap[0] = id;
+                    heapDistances[0] = distance;
+                    this.siftDown(heap, heapDistances, count);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Helper for @see nearest. Moves the top of the heap down to its place.
+     *
+     * @param heap The ids of the best stations
+     * @param heapDistances The squared distances of the best stations
+     * @param count The number of stations in the heap
+     */
+    private void siftDown(int[] heap, double[] heapDistances, int count) {
+        int parent = 0;
+        while (2 * parent + 1 < count) {
+            int child = 2 * parent + 1;
+            if (child + 1 < count && SpatialIndex.isWorse(heapDistances[child + 1],
+                    heap[child + 1], heapDistances[child], heap[child])) {
+                child++;
+            }
+            if (!SpatialIndex.isWorse(heapDistances[child], heap[child], heapDistances[parent],
+                    heap[parent])) {
+                return;
+            }
+            SpatialIndex.swap(heap, heapDistances, child, parent);
+            parent = child;
+        }
+    }
+
+    /**
+     * Compares two stations by distance and id.
+     *
+     * @param distance The squared distance of the first station
+     * @param id The id of the first station
+     * @param otherDistance The squared distance of the second station
+     * @param otherId The id of the second station
+     * @return True if the first station is farther away
+     */
+    private static boolean isWorse(double distance, int id, double otherDistance, int otherId) {
+        return distance > otherDistance || (distance == otherDistance && id > otherId);
+    }
+
+    /**
+     * Swaps two entries of the heap.
+     *
+     * @param heap The ids
+     * @param heapDistances The distances
+     * @param a The first index
+     * @param b The second index
+     */
+    private static void swap(int[] heap, double[] heapDistances, int a, int b) {
+        int id = heap[a];
+        heap[a] = heap[b];
+        heap[b] = id;
+        double distance = heapDistances[a];
+        heapDistances[a] = heapDistances[b];
+        heapDistances[b] = distance;
+    }
+
+    /**
+     * Gets the column of an x coordinate. Coordinates outside of the grid are moved to the border.
+     *
+     * @param x The x coordinate
+     * @return The column
+     */
+    private int getColumn(double x) {
+        return (int) Math.max(0, Math.min(this.columns - 1, Math.floor((x - this.minX)
+                / this.cellWidth)));
+    }
+
+    /**
+     * Gets the row of an y coordinate. Coordinates outside of the grid are moved to the border.
+     *
+     * @param y The y coordinate
+     * @return The row
+     */
+    private int getRow(double y) {
+        return (int) Math.max(0, Math.min(this.rows - 1, Math.floor((y - this.minY)
+                / this.cellHeight)));
+    }
+}
@@ -1,11 +1,13 @@
 package logic.board;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import logic.Ticket;
 
 /**
- * Represents a station on the logical gameboard. Holds all reachable stations.
+ * Represents a station on the logical gameboard. Reads all reachable stations from the adjacency
+ * of its board. Instances are immutable.
  *
  *
  * @author Guillaume Fournier-Mayer (tinf101922)
@@ -14,76 +16,19 @@ public class Station {
 
     private final int id;
     private final Position position;
-    private boolean occupied;
-
-    private final Set<Station> cab;
-    private final Set<Station> bus;
-    private final Set<Station> tube;
-    private final Set<Station> boat;
+    private final Board board;
 
     /**
-     * Construct an Station without any connections.
+     * Construct an Station. All connections are read from the adjacency of the board.
      *
      * @param id The id of the station
      * @param position The position on the graphical board
+     * @param board The board that holds this station
      */
-    public Station(int id, Position position) {
+    Station(int id, Position position, Board board) {
         this.id = id;
         this.position = position;
-        this.cab = new HashSet<>();
-        this.bus = new HashSet<>();
-        this.tube = new HashSet<>();
-        this.boat = new HashSet<>();
-        this.occupied = false;
-    }
-
-    // Setter ##################################################################
-    /**
-     * Sets the occupied status.
-     *
-     * @param state The state to set
-     */
-    public void setOccupied(boolean state) {
-        if (this.isOccupied() && state) {
-            throw new IllegalStateException("Station is already Occupied");
-        }
-        this.occupied = state;
-    }
-
-    /**
-     * Adds an Cab connection.
-     *
-     * @param station The station that should be connected by Cab
-     */
-    public void addCab(Station station) {
-        this.cab.add(station);
-    }
-
-    /**
-     * Adds an Bus connection.
-     *
-     * @param station The station that should be connected by Bus
-     */
-    public void addBus(Station station) {
-        this.bus.add(station);
-    }
-
-    /**
-     * Adds an Tube connection.
-     *
-     * @param station The station that should be connected by Tube
-     */
-    public void addTube(Station station) {
-        this.tube.add(station);
-    }
-
-    /**
-     * Adds an Boat connection.
-     *
-     * @param station The station that should be connected by Boat
-     */
-    public void addBoat(Station station) {
-        this.boat.add(station);
+        this.board = board;
     }
 
     // Getter ##################################################################
@@ -106,21 +51,21 @@ public class Station {
     }
 
     /**
-     * Returns the occupied status.
+     * Returns all surrounding stations.
      *
-     * @return True if station is currently occupied
+     * @return The surrounding stations
      */
-    public boolean isOccupied() {
-        return this.occupied;
+    public Set<Station> getSurroundingStations() {
+        return this.getStationsReachableBy(Ticket.BLACK);
     }
 
     /**
-     * Returns all surrounding stations.
+     * Getter for the board.
      *
-     * @return The surrounding stations
+     * @return The board that holds this station
      */
-    public Set<Station> getSurroundingStations() {
-        return this.getStationsReachableBy(Ticket.BLACK);
+    public Board getBoard() {
+        return this.board;
     }
 
     /**
@@ -130,25 +75,13 @@ public class Station {
      * @return All ticket to reach station or an empty Set if station is not reachable
      */
     public Set<Ticket> getTicketsToReachableStation(Station station) {
-
-        Set<Ticket> tickets = new HashSet<>();
-
-        if (this.cab.contains(station)) {
-            tickets.add(Ticket.CAB);
-        }
-        if (this.bus.contains(station)) {
-            tickets.add(Ticket.BUS);
-        }
-        if (this.tube.contains(station)) {
-            tickets.add(Ticket.TUBE);
-        }
-        if (this.boat.contains(station)) {
-            tickets.add(Ticket.BLACK);
-        }
-        if (!tickets.isEmpty()) {
-            tickets.add(Ticket.BLACK);
+        int mask = this.board.getTicketMask(this.id, station.id);
+        Set<Ticket> tickets = EnumSet.noneOf(Ticket.class);
+        for (Ticket ticket : Ticket.values()) {
+            if ((mask & ticket.getMask()) != 0) {
+                tickets.add(ticket);
+            }
         }
-
         return tickets;
     }
 
@@ -161,31 +94,19 @@ public class Station {
      * @throws IllegalArgumentException if ticket is in wrong format
      */
     public Set<Station> getStationsReachableBy(Ticket ticket) throws IllegalArgumentException {
-
-        switch (ticket) {
-            case CAB:
-                return this.cab;
-            case BUS:
-                return this.bus;
-            case TUBE:
-                return this.tube;
-            case BLACK:
-                Set<Station> stations = new HashSet<>();
-                stations.addAll(this.cab);
-                stations.addAll(this.bus);
-                stations.addAll(this.tube);
-                stations.addAll(this.boat);
-                return stations;
-            default: {
-                throw new IllegalArgumentException();
-            }
+        Adjacency adjacency = this.board.getAdjacency();
+        int layer = Adjacency.getLayer(ticket);
+        Set<Station> stations = new HashSet<>();
+        for (int edge = adjacency.getStart(layer, this.id); edge < adjacency.getEnd(layer,
+                this.id); edge++) {
+            stations.add(this.board.getStation(adjacency.getTarget(layer, edge)));
         }
+        return stations;
     }
 
     @Override
     public int hashCode() {
-        int hash = 3;
-        return hash;
+        return this.id;
     }
 
     @Override
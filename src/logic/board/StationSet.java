@@ -0,0 +1,289 @@
+package logic.board;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of stations backed by a bitset that is indexed by the station id. Supports word-wise set
+ * algebra and can be used as a usual Set of stations.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class StationSet extends AbstractSet<Station> {
+
+    private final Board board;
+    private final long[] words;
+
+    /**
+     * Constructor. Creates an empty set for all stations of a board.
+     *
+     * @param board The board
+     */
+    public StationSet(Board board) {
+        this.board = board;
+        this.words = new long[(board.getSize() >> 6) + 1];
+    }
+
+    /**
+     * Constructor. Creates an empty set that is not bound to any board. No station can be added.
+     */
+    public StationSet() {
+        this.board = null;
+        this.words = new long[0];
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other The set to copy
+     */
+    public StationSet(StationSet other) {
+        this.board = other.board;
+        this.words = other.words.clone();
+    }
+
+    // Single stations #########################################################
+    /**
+     * Adds a station by its id.
+     *
+     * @param id The id of the station
+     * @return True if the station was not part of this set
+     * @throws IllegalArgumentException if the station does not exist
+     */
+    public boolean add(int id) throws IllegalArgumentException {
+        if (this.board == null || id <= 0 || id > this.board.getSize()) {
+            throw new IllegalArgumentException(String.format("Station \"%d\" does not exists", id));
+        }
+        long bit = 1L << id;
+        boolean added = (this.words[id >>> 6] & bit) == 0;
+        this.words[id >>> 6] |= bit;
+        return added;
+    }
+
+    /**
+     * Removes a station by its id.
+     *
+     * @param id The id of the station
+     * @return True if the station was part of this set
+     */
+    public boolean remove(int id) {
+        if (!this.contains(id)) {
+            return false;
+        }
+        this.words[id >>> 6] &= ~(1L << id);
+        return true;
+    }
+
+    /**
+     * Checks if a station is part of this set.
+     *
+     * @param id The id of the station
+     * @return True if the station is part of this set
+     */
+    public boolean contains(int id) {
+        return id > 0 && (id >>> 6) < this.words.length
+                && (this.words[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Returns the smallest id in this set that is equal or greater than the given id.
+     *
+     * @param from The id to start from
+     * @return The id or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        int index = from >>> 6;
+        if (from < 0 || index >= this.words.length) {
+            return -1;
+        }
+        long word = this.words[index] & (-1L << from);
+        while (word == 0) {
+            index++;
+            if (index >= this.words.length) {
+                return -1;
+            }
+            word = this.words[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    // Set algebra #############################################################
+    /**
+     * Adds all stations of another set to this set.
+     *
+     * @param other The other set
+     * @return This set
+     */
+    public StationSet or(StationSet other) {
+        int length = Math.min(this.words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            this.words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Retains only the stations that are also part of another set.
+     *
+     * @param other The other set
+     * @return This set
+     */
+    public StationSet and(StationSet other) {
+        int length = Math.min(this.words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            this.words[i] &= other.words[i];
+        }
+        Arrays.fill(this.words, length, this.words.length, 0L);
+        return this;
+    }
+
+    /**
+     * Removes all stations that are part of another set.
+     *
+     * @param other The other set
+     * @return This set
+     */
+    public StationSet andNot(StationSet other) {
+        int length = Math.min(this.words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            this.words[i] &= ~other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Checks if this set and another set have at least one station in common.
+     *
+     * @param other The other set
+     * @return True if both sets have a common station
+     */
+    public boolean intersects(StationSet other) {
+        int length = Math.min(this.words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((this.words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of stations in this set.
+     *
+     * @return The number of stations
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : this.words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // Set #####################################################################
+    @Override
+    public int size() {
+        return this.cardinality();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (long word : this.words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        return obj instanceof Station && this.contains(((Station) obj).getIdentifier());
+    }
+
+    @Override
+    public boolean add(Station station) {
+        return this.add(station.getIdentifier());
+    }
+
+    @Override
+    public boolean remove(Object obj) {
+        return obj instanceof Station && this.remove(((Station) obj).getIdentifier());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.words, 0L);
+    }
+
+    @Override
+    public Iterator<Station> iterator() {
+        return new Iterator<Station>() {
+
+            private int next = StationSet.this.nextSetBit(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return this.next != -1;
+            }
+
+            @Override
+            public Station next() {
+                if (this.next == -1) {
+                    throw new NoSuchElementException();
+                }
+                this.last = this.next;
+                this.next = StationSet.this.nextSetBit(this.next + 1);
+                return StationSet.this.board.getStation(this.last);
+            }
+
+            @Override
+            public void remove() {
+                if (this.last == -1) {
+                    throw new IllegalStateException();
+                }
+                StationSet.this.remove(this.last);
+                this.last = -1;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof StationSet) {
+            StationSet other = (StationSet) obj;
+            int length = Math.max(this.words.length, other.words.length);
+            for (int i = 0; i < length; i++) {
+                long word = i < this.words.length ? this.words[i] : 0L;
+                long otherWord = i < other.words.length ? other.words[i] : 0L;
+                if (word != otherWord) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int id = this.nextSetBit(0); id != -1; id = this.nextSetBit(id + 1)) {
+            hash += id;
+        }
+        return hash;
+    }
+
+    // Getter ##################################################################
+    /**
+     * Getter for the board.
+     *
+     * @return The board or null if this set is not bound to any board
+     */
+    public Board getBoard() {
+        return this.board;
+    }
+}
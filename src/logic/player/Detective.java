@@ -1,18 +1,21 @@
 package logic.player;
 
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
-
-import java.util.Set;
 import java.util.function.BinaryOperator;
-import logic.GameLogic.Config;
+import logic.GameEngine.Config;
 import logic.util.Logger;
 import logic.Move;
 import logic.Ticket;
+import logic.board.Board;
+import logic.board.DistanceProfile;
 import logic.board.Station;
+import logic.board.StationSet;
+import logic.search.Evaluation;
+import logic.search.Moves;
+import logic.search.Search;
+import logic.search.SearchState;
 
 /**
  * Represents a detective in the game. Subclass of @see Player.
@@ -29,43 +32,25 @@ public class Detective extends Player {
                 return result.getIdentifier() > nextStation.getIdentifier() ? nextStation : result;
             };
 
+    private Search search;
+    private MisterX misterX;
+
     /**
      * Gets the possible stations where misterX could be.
      *
-     * @param logbook The logbook of MisterX
+     * @param logbook The tickets MisterX used since he showed up the last time
      * @param lastStation The last station where MisterX showed up
      * @return The possible stations where MisterX could be
      */
-    public static Set<Station> getPossibleTargetPositions(LinkedList<Ticket> logbook,
+    public static StationSet getPossibleTargetPositions(List<Ticket> logbook,
             Station lastStation) {
-        return Detective.getPossibleTargetPositions(logbook, lastStation, new HashSet<>());
-    }
-
-    /**
-     * Gets the possible stations where misterX could be.
-     *
-     * @param logbook The logbook of MisterX
-     * @param lastStation The last station where MisterX showed up
-     * @param targetStations The possible stations where misterX could be
-     * @return The Stations
-     */
-    private static Set<Station> getPossibleTargetPositions(LinkedList<Ticket> logbook,
-            Station lastStation, Set<Station> targetStations) {
-
         if (lastStation == null) {
-            return new HashSet<>();
-        } else if (logbook.isEmpty()) {
-            return new HashSet<>(Arrays.asList(lastStation));
+            return new StationSet();
         }
-
-        // Get each Ticket from logbook and calculate reachable stations
-        Ticket ticket = logbook.pollFirst();
-        Set<Station> stations = lastStation.getStationsReachableBy(ticket);
-        stations.forEach((station) -> {
-            targetStations.addAll(
-                    getPossibleTargetPositions(new LinkedList<>(logbook), station, targetStations));
-        });
-        return targetStations;
+        Board board = lastStation.getBoard();
+        MisterXBelief belief = new MisterXBelief(board);
+        belief.rebuild(lastStation, logbook, new StationSet(board));
+        return belief.getCandidates();
     }
 
     /**
@@ -95,8 +80,17 @@ public class Detective extends Player {
     }
 
     @Override
-    public TacticResult play(Station lastSeen, Set<Station> targets, Station averageStation,
+    public TacticResult play(Station lastSeen, StationSet targets, Station averageStation,
             List<Detective> detectives) {
+        if (this.search != null) {
+            // Look ahead from the possible positions, MisterX has already moved in this round
+            SearchState state = new SearchState(this.misterX, detectives,
+                    detectives.indexOf(this) + 1, this.misterX.getLogbook().size());
+            int move = this.search.search(state, targets);
+            return move == Moves.PASS ? null : new TacticResult(this.search.getId(),
+                    Moves.toMove(this.getCurrentStation().getBoard(), move),
+                    this.search.getScore());
+        }
 
         List<Move> moves = new LinkedList<>();
         // Get a move from each tactic
@@ -105,12 +99,14 @@ public class Detective extends Player {
         moves.add(this.getMoveInDirectionOfLastseenPosition(lastSeen));
         moves.add(this.getMoveToDirectReachableStation());
 
+        Evaluation evaluation = new Evaluation(null, detectives);
         TacticResult result = null;
         // Get the ranking for each move. Return only the best ranked move.
         for (int i = 0; i < moves.size(); i++) {
             Move move = moves.get(i);
             if (move != null) {
-                float ranking = this.getRankingForMove(move, targets, averageStation, detectives);
+                float ranking = this.getRankingForMove(evaluation, move, targets, averageStation,
+                        detectives);
                 if (result == null || result.getRanking() < ranking) {
                     result = new TacticResult(i + 1, move, ranking);
                 }
@@ -127,9 +123,9 @@ public class Detective extends Player {
      * @param targets The possible target positions
      * @return the Move or null if no target position is possible.
      */
-    public Move getMoveToPossibleTargetPosition(Set<Station> targets) {
+    public Move getMoveToPossibleTargetPosition(StationSet targets) {
 
-        Set<Station> reachableStation = this.getReachableStations();
+        StationSet reachableStation = this.getReachableStations();
         reachableStation.containsAll(targets);
         Optional<Station> station = reachableStation.stream().reduce(filterStationsBySmallestId);
         return this.getMoveToNearestStationByBestTicket(station);
@@ -180,36 +176,23 @@ public class Detective extends Player {
 
     // RANKING #################################################################
     /**
-     * Gets the ranking for a Move.
+     * Gets the ranking for a Move. The move is ranked without doing it, @see Evaluation.
      *
+     * @param evaluation The evaluation of the current state
      * @param move The move to rank
      * @param targets The possible positions of MisterX
      * @param averageStation The average of possible positions of MisterX
      * @param detectives All detectives
      * @return The ranking for the move
      */
-    private float getRankingForMove(Move move, Set<Station> targets, Station averageStation,
-            List<Detective> detectives) {
-        Station current = this.getCurrentStation();
+    private float getRankingForMove(Evaluation evaluation, Move move, StationSet targets,
+            Station averageStation, List<Detective> detectives) {
         // If no Move is possible, rank ist as worst possible
         if (move == null) {
             return Float.MIN_VALUE;
         }
-        // Do the move
-        this.move(move);
-        // Rank by all possible ranking methods
-        float reachbaleTargetPositionsRanking =
-                this.getRankingByReachableTargetStations(targets, detectives);
-        float distanceRanking = this.getRankingByDistanceToStation(averageStation);
-        float directylReachableRanking = this.getRankingByDirectlyReachableStations();
-        float ticketAmountRanking = this.getRankingBySmallestTicketAmount();
-        // Undo the move
-        this.setCurrentStation(current);
-        this.addTicket(move.getTicket());
-
-        return reachbaleTargetPositionsRanking + distanceRanking + directylReachableRanking
-                + ticketAmountRanking;
-
+        return evaluation.rankDetectiveMove(detectives.indexOf(this) + 1, Moves.fromMove(move),
+                targets, averageStation);
     }
 
     /**
@@ -221,23 +204,23 @@ public class Detective extends Player {
      * @return the ranking
      */
     @Override
-    public float getRankingByReachableTargetStations(Set<Station> targets,
+    public float getRankingByReachableTargetStations(StationSet targets,
             List<Detective> detectives) {
         if (targets.isEmpty()) {
             return 0;
         }
 
-        Set<Station> reachableStations = Player.getReachableStationsForAllPlayers(detectives);
+        StationSet reachableStations = Player.getReachableStationsForAllPlayers(detectives);
 
-        reachableStations.retainAll(targets);
-        float targetCount = targets.size();
-        float reachableTargetCount = reachableStations.size();
+        reachableStations.and(targets);
+        float targetCount = targets.cardinality();
+        float reachableTargetCount = reachableStations.cardinality();
         return reachableTargetCount / targetCount * 10;
     }
 
     /**
-     * Gets the ranking by calculating the distance to a station. Ranking: 10 - "Number of stations
-     * to destination".
+     * Gets the ranking by calculating the distance to a station. Only cab, bus and tube connections
+     * are considered. Ranking: 10 - "Number of stations to destination".
      *
      * @param destination The station
      * @return The ranking by distance to the station
@@ -246,26 +229,9 @@ public class Detective extends Player {
         if (destination == null) {
             return 0;
         }
-        int distance = this.getShortestDistance(this.getCurrentStation(), destination);
-        return distance >= 10 ? 0 : 10 - distance;
-    }
-
-    /**
-     * Helper for @see getRankingByDistanceToStation. Gets the needed steps from start to
-     * destination. Limits the Tickets to ten.
-     *
-     * @param start The start station
-     * @param destination The destination station
-     * @return the steps needed from start to destination
-     */
-    private int getShortestDistance(Station start, Station destination) {
-        int[] tickets = new int[Ticket.values().length];
-        tickets[Ticket.CAB.ordinal()] = 10;
-        tickets[Ticket.BUS.ordinal()] = 10;
-        tickets[Ticket.TUBE.ordinal()] = 10;
-        tickets[Ticket.BLACK.ordinal()] = 0;
-
-        return Player.getShortestWay(start, destination, tickets).size();
+        int distance = destination.getBoard().getDistance(this.getCurrentStation(), destination,
+                DistanceProfile.NO_BOAT);
+        return distance < 0 || distance >= 10 ? 0 : 10 - distance;
     }
 
     /**
@@ -287,6 +253,20 @@ public class Detective extends Player {
 
     }
 
+    // Setter ##################################################################
+    /**
+     * Sets the search that chooses the moves of the detective instead of the tactics. The search
+     * gets the tickets and the logbook of MisterX, both are known to the detectives, but not his
+     * station.
+     *
+     * @param search The search or null to use the tactics
+     * @param misterX MisterX of the game
+     */
+    public void setSearch(Search search, MisterX misterX) {
+        this.search = search;
+        this.misterX = misterX;
+    }
+
     @Override
     public boolean isMisterX() {
         return false;
@@ -1,14 +1,19 @@
 package logic.player;
 
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
-import logic.GameLogic.Config;
+import logic.GameEngine.Config;
 import logic.util.Logger;
 import logic.Move;
 import logic.Ticket;
+import logic.board.Board;
 import logic.board.Station;
+import logic.board.StationSet;
+import logic.search.Evaluation;
+import logic.search.MoveGenerator;
+import logic.search.Moves;
+import logic.search.Search;
+import logic.search.SearchState;
 
 /**
  * Represents MisterX in the game.
@@ -21,6 +26,7 @@ public class MisterX extends Player {
     private final List<Integer> lastSeenRounds;
     private int lastSeenRound = 1;
     private Station lastSeen;
+    private Search search;
 
     /**
      * Constructor.
@@ -40,6 +46,14 @@ public class MisterX extends Player {
         this.lastSeenRounds = new LinkedList<>(Config.LAST_SEEN_ROUNDS);
         this.logbook = logbook;
         this.lastSeen = lastSeen;
+        // Restore the round of the last show up
+        if (lastSeen != null && logbook != null) {
+            for (int round : this.lastSeenRounds) {
+                if (round <= logbook.size()) {
+                    this.lastSeenRound = round;
+                }
+            }
+        }
     }
 
     /**
@@ -57,29 +71,31 @@ public class MisterX extends Player {
     }
 
     @Override
-    public TacticResult play(Station lastSeen, Set<Station> targets, Station averageStation,
+    public TacticResult play(Station lastSeen, StationSet targets, Station averageStation,
             List<Detective> detectives) {
 
-        TacticResult result = this.getReachableStations().stream()
-                // Transform every reachabel Station into a valid Move
-                .flatMap(station -> this.getCurrentStation().getTicketsToReachableStation(station)
-                        .stream().map(ticket -> new Move(station, ticket)))
-                // Rank every posibleMove and transform it into TacticResult
-                .map(possibleMove -> {
-                    float ranking = this.getRankingForMove(possibleMove, detectives);
-                    return new TacticResult(1, possibleMove, ranking);
-                    // Reduce to the Best tactic considering the best Tactic and the smallest id
-                }).reduce((tactic1, tactic2) -> {
-                    if (tactic1.getRanking() > tactic2.getRanking()) {
-                        return tactic1;
-                    } else if (tactic1.getRanking() < tactic2.getRanking()) {
-                        return tactic2;
-                    } else {
-                        int id1 = tactic1.getMove().getTo().getIdentifier();
-                        int id2 = tactic2.getMove().getTo().getIdentifier();
-                        return id1 < id2 ? tactic1 : tactic2;
-                    }
-                }).get();
+        Board board = this.getCurrentStation().getBoard();
+        if (this.search != null) {
+            // Look ahead, the round has not begun yet
+            int move = this.search.search(
+                    new SearchState(this, detectives, 0, this.logbook.size()), null);
+            return move == Moves.PASS ? null : new TacticResult(this.search.getId(),
+                    Moves.toMove(board, move), this.search.getScore());
+        }
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(board, this.getCurrentStation().getIdentifier(),
+                this.getTicketMask(), this.getOccupancy(), moves);
+        // Rank every possible move, the moves are ordered by station
+        float[] rankings = new Evaluation(this, detectives).rankMoves(0, moves, count, null, null);
+        TacticResult result = null;
+        for (int i = 0; i < count; i++) {
+            // Keep the best ranked move, on a tie the smallest station and the last ticket
+            if (result == null || rankings[i] > result.getRanking()
+                    || (rankings[i] == result.getRanking() && Moves.getStation(moves[i])
+                    <= result.getMove().getTo().getIdentifier())) {
+                result = new TacticResult(1, Moves.toMove(board, moves[i]), rankings[i]);
+            }
+        }
         return result;
     }
 
@@ -108,20 +124,8 @@ public class MisterX extends Player {
         if (move == null) {
             return Float.MIN_VALUE;
         }
-        Station current = this.getCurrentStation();
-        // Do the move
-        this.setCurrentStation(move.getTo());
-        this.removeTicket(move.getTicket());
-        // Rank by all possible ranking methods
-        float targetPositionRanking = this.getRankingByReachableTargetStation(detectives);
-        float reachAbleStationRanking = this.getRankingByDirectlyReachableStations();
-        float ticketRanking = this.getRankingBySmallestTicketAmount();
-        // Undo the move
-        this.setCurrentStation(current);
-        this.addTicket(move.getTicket());
-
-        return targetPositionRanking + reachAbleStationRanking + ticketRanking;
-
+        // Rank the move without doing it
+        return new Evaluation(this, detectives).rankMisterXMove(Moves.fromMove(move));
     }
 
     /**
@@ -131,8 +135,8 @@ public class MisterX extends Player {
      * @return The ranking
      */
     public float getRankingByReachableTargetStation(List<Detective> detectives) {
-        Set<Station> targets = new HashSet<>();
-        targets.add(this.getCurrentStation());
+        StationSet targets = new StationSet(this.getCurrentStation().getBoard());
+        targets.add(this.getCurrentStation().getIdentifier());
         return this.getRankingByReachableTargetStations(targets, detectives);
     }
 
@@ -144,15 +148,16 @@ public class MisterX extends Player {
      * @return The ranking
      */
     @Override
-    public float getRankingByReachableTargetStations(Set<Station> targets,
+    public float getRankingByReachableTargetStations(StationSet targets,
             List<Detective> detectives) {
         int detectiveCount = detectives.size();
 
-        long detectiveReachableCount = detectives.stream()
-                .map(detective -> detective.getReachableStations()).filter(stations -> {
-                    stations.retainAll(targets);
-                    return !stations.isEmpty();
-                }).count();
+        int detectiveReachableCount = 0;
+        for (Detective detective : detectives) {
+            if (detective.getReachableStations().intersects(targets)) {
+                detectiveReachableCount++;
+            }
+        }
 
         return (detectiveCount - detectiveReachableCount) * 10;
     }
@@ -173,10 +178,10 @@ public class MisterX extends Player {
      * @return The list of tickets
      */
     public LinkedList<Ticket> getTicketsFromLastseenToNow() {
-        LinkedList<Ticket> result = new LinkedList<>();
-        this.logbook.subList(this.lastSeenRound - 1, this.logbook.size());
-
-        return result;
+        if (this.lastSeen == null) {
+            return new LinkedList<>();
+        }
+        return new LinkedList<>(this.logbook.subList(this.lastSeenRound, this.logbook.size()));
     }
 
     /**
@@ -201,6 +206,17 @@ public class MisterX extends Player {
         }
     }
 
+    // Setter ##################################################################
+    /**
+     * Sets the search that chooses the moves of MisterX. Without a search every move is ranked by
+     * itself and the best one is played.
+     *
+     * @param search The search or null to rank the moves only
+     */
+    public void setSearch(Search search) {
+        this.search = search;
+    }
+
     @Override
     public boolean isMisterX() {
         return true;
@@ -0,0 +1,137 @@
+package logic.player;
+
+import java.util.List;
+import logic.GameEngine.Config;
+import logic.Ticket;
+import logic.board.Adjacency;
+import logic.board.Board;
+import logic.board.Station;
+import logic.board.StationSet;
+
+/**
+ * Keeps track of the stations where MisterX could be. The possible stations are updated once per
+ * round by the ticket MisterX has used and are reset whenever MisterX shows up.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class MisterXBelief {
+
+    private final Board board;
+    private StationSet candidates;
+    private StationSet next;
+    private boolean known = false;
+
+    /**
+     * Constructor. As long as MisterX has not shown up, no station is possible.
+     *
+     * @param board The board
+     */
+    public MisterXBelief(Board board) {
+        this.board = board;
+        this.candidates = new StationSet(board);
+        this.next = new StationSet(board);
+    }
+
+    /**
+     * Rebuilds the possible stations from the last seen station and all tickets used since then.
+     * Where the detectives stood in earlier rounds is not known, so the tickets are followed over
+     * all stations and only the stations occupied now are dropped at the end. A station MisterX
+     * passed before a detective moved onto it is kept on the way.
+     *
+     * @param lastSeen The station where MisterX showed up the last time or null
+     * @param tickets The tickets used since MisterX showed up
+     * @param occupied The stations occupied by detectives now
+     */
+    public void rebuild(Station lastSeen, List<Ticket> tickets, StationSet occupied) {
+        if (lastSeen == null) {
+            this.candidates.clear();
+            this.known = false;
+        } else {
+            this.reveal(lastSeen);
+            StationSet free = new StationSet(this.board);
+            for (Ticket ticket : tickets) {
+                this.advance(ticket, free);
+            }
+            this.candidates.andNot(occupied);
+        }
+    }
+
+    /**
+     * Updates the possible stations after MisterX has moved. In a round where MisterX shows up the
+     * possible stations are reset to his current station.
+     *
+     * @param misterX MisterX after his move
+     * @param ticket The ticket MisterX has used
+     * @param occupied The stations occupied by detectives
+     */
+    public void update(MisterX misterX, Ticket ticket, StationSet occupied) {
+        if (Config.LAST_SEEN_ROUNDS.contains(misterX.getLogbook().size())) {
+            this.reveal(misterX.getCurrentStation());
+        } else if (this.known) {
+            this.advance(ticket, occupied);
+        }
+    }
+
+    /**
+     * Resets the possible stations to the station where MisterX showed up.
+     *
+     * @param station The station
+     */
+    public void reveal(Station station) {
+        this.candidates.clear();
+        this.candidates.add(station.getIdentifier());
+        this.known = true;
+    }
+
+    /**
+     * Moves all possible stations one step further by a ticket. Stations occupied by detectives are
+     * dropped.
+     *
+     * @param ticket The ticket MisterX has used
+     * @param occupied The stations occupied by detectives
+     */
+    public void advance(Ticket ticket, StationSet occupied) {
+        Adjacency adjacency = this.board.getAdjacency();
+        int layer = Adjacency.getLayer(ticket);
+        this.next.clear();
+        for (int id = this.candidates.nextSetBit(0); id != -1; id =
+                this.candidates.nextSetBit(id + 1)) {
+            for (int edge = adjacency.getStart(layer, id); edge < adjacency.getEnd(layer,
+                    id); edge++) {
+                this.next.add(adjacency.getTarget(layer, edge));
+            }
+        }
+        this.next.andNot(occupied);
+        // Swap the buffers
+        StationSet previous = this.candidates;
+        this.candidates = this.next;
+        this.next = previous;
+    }
+
+    /**
+     * Drops a station from the possible stations, e.g. after a detective moved there.
+     *
+     * @param station The station
+     */
+    public void exclude(Station station) {
+        this.candidates.remove(station.getIdentifier());
+    }
+
+    /**
+     * Gets the possible stations.
+     *
+     * @return A copy of the possible stations
+     */
+    public StationSet getCandidates() {
+        return new StationSet(this.candidates);
+    }
+
+    /**
+     * Returns if MisterX has shown up at least once.
+     *
+     * @return True if MisterX has shown up
+     */
+    public boolean isKnown() {
+        return this.known;
+    }
+}
@@ -1,18 +1,16 @@
 package logic.player;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BinaryOperator;
-import java.util.stream.Collectors;
-import logic.GameLogic.Config;
 import logic.Move;
 import logic.Ticket;
+import logic.board.Adjacency;
+import logic.board.Board;
 import logic.board.Station;
+import logic.board.StationSet;
 
 /**
  * Represents a player in the game.
@@ -23,6 +21,7 @@ public abstract class Player {
 
     private final int[] tickets;
     private Station currentStation;
+    private StationSet occupied;
     private final boolean ai;
     private final int id;
 
@@ -43,7 +42,8 @@ public abstract class Player {
             };
 
     /**
-     * Constructor.
+     * Constructor. The player starts with an occupancy of its own, @see setOccupancy to share the
+     * occupancy of a game.
      *
      * @param id The id
      * @param startStation The start station
@@ -62,6 +62,7 @@ public abstract class Player {
         this.tickets[Ticket.BUS.ordinal()] = busTickets;
         this.tickets[Ticket.TUBE.ordinal()] = tubeTickets;
         this.tickets[Ticket.BLACK.ordinal()] = blackTickets;
+        this.occupied = new StationSet(startStation.getBoard());
         this.setCurrentStation(startStation);
     }
 
@@ -79,9 +80,12 @@ public abstract class Player {
         if (!station.isPresent()) {
             return null;
         } else {
-            Ticket ticket = this.getTicketFromCurrentStationTo(station.get())
-                    .orElseThrow(IllegalArgumentException::new);
-            return new Move(station.get(), ticket);
+            int ticket = this.getBestTicket(this.getCurrentStation().getBoard().getTicketMask(
+                    this.getCurrentStation().getIdentifier(), station.get().getIdentifier()));
+            if (ticket < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new Move(station.get(), Ticket.from(ticket));
         }
 
     }
@@ -104,113 +108,90 @@ public abstract class Player {
      * @param players All players
      * @return A set of all reachable stations by all players
      */
-    public static <T extends Player> Set<Station>
+    public static <T extends Player> StationSet
             getReachableStationsForAllPlayers(List<T> players) {
-        return players.stream().map(player -> player.getReachableStations())
-                .flatMap(Collection::stream).collect(Collectors.toCollection(HashSet::new));
+        StationSet stations = null;
+        for (T player : players) {
+            if (stations == null) {
+                stations = player.getReachableStations();
+            } else {
+                stations.or(player.getReachableStations());
+            }
+        }
+        return stations == null ? new StationSet() : stations;
     }
 
     /**
      * Returns all stations that are reachable. Reachable means that there are enough tickets left
-     * and that the destination station is not occupied.
+     * and that the destination station is not occupied. Every neighbour is checked once against
+     * the mask of the available tickets (@see Adjacency#getEdgeTicketMask).
      *
      * @return A set of all reachable stations
      */
-    public Set<Station> getReachableStations() {
-        return Arrays.stream(Ticket.values()).filter(ticket -> this.getTicketNum(ticket) > 0)
-                .map(ticket -> this.currentStation.getStationsReachableBy(ticket))
-                .flatMap(Collection::stream).distinct().filter(station -> !station.isOccupied())
-                .collect(Collectors.toCollection(HashSet::new));
+    public StationSet getReachableStations() {
+        Board board = this.currentStation.getBoard();
+        Adjacency adjacency = board.getAdjacency();
+        int id = this.currentStation.getIdentifier();
+        int available = this.getTicketMask();
+        StationSet stations = new StationSet(board);
+        for (int edge = adjacency.getStart(Adjacency.ANY, id); edge < adjacency.getEnd(
+                Adjacency.ANY, id); edge++) {
+            int target = adjacency.getTarget(Adjacency.ANY, edge);
+            if ((adjacency.getEdgeTicketMask(edge) & available) != 0
+                    && !this.occupied.contains(target)) {
+                stations.add(target);
+            }
+        }
+        return stations;
+    }
+
+    /**
+     * Counts the reachable stations like @see getReachableStations without creating the set.
+     *
+     * @return The number of reachable stations
+     */
+    public int getReachableStationCount() {
+        Adjacency adjacency = this.currentStation.getBoard().getAdjacency();
+        int id = this.currentStation.getIdentifier();
+        int available = this.getTicketMask();
+        int count = 0;
+        for (int edge = adjacency.getStart(Adjacency.ANY, id); edge < adjacency.getEnd(
+                Adjacency.ANY, id); edge++) {
+            if ((adjacency.getEdgeTicketMask(edge) & available) != 0
+                    && !this.occupied.contains(adjacency.getTarget(Adjacency.ANY, edge))) {
+                count++;
+            }
+        }
+        return count;
     }
 
     // PATHFINDING #############################################################
     /**
      * Returns the shortest way from current station to destination considering available tickets by
-     * this player and occupied stations on the board.
+     * this player and occupied stations of the game.
      *
      * @param destination The destination to reach
      * @return A way represented as list of stations
      */
     public List<Station> getShortestWay(Station destination) {
-        return Player.getShortestWay(this.getCurrentStation(), destination, this.tickets.clone());
+        return Player.getShortestWay(this.getCurrentStation(), destination, this.tickets.clone(),
+                this.occupied);
     }
 
     /**
      * Returns the shortest way from start to destination considering given tickets and occupied
-     * stations on the board.
+     * stations.
      *
      * @param start The start station
      * @param destination The destination to reach
      * @param tickets The tickets to take into account
+     * @param occupied The occupied stations
      * @return A way represented as list of stations
      */
     protected static List<Station> getShortestWay(Station start, Station destination,
-            int[] tickets) {
-
-        // Build an empty station Graph
-        StationDistance[] stations = new StationDistance[Config.BOARD_SIZE];
-        // Fill the grid with distane informations
-        Player.getWaysWithTickets(start, destination, 1, stations, tickets);
-
-        // Build the shortest way out of the Graph
-        LinkedList<Station> way = new LinkedList<>();
-        int i;
-        Station station = destination;
-        way.add(destination);
-        do {
-            i = station.getIdentifier() - 1;
-            if (stations[i] != null) {
-                station = stations[i].getStation();
-                way.addFirst(station);
-            }
-        } while (stations[i] != null && !start.equals(station));
-        way.removeFirst();
-        return way;
-    }
-
-    /**
-     * Helper for @see getShortestWay. Calculate the shortest way from start to destination
-     * considering given tickets and occupied stations on the board.
-     *
-     * @param current The current station (start station when beginning)
-     * @param destination The destination
-     * @param distance The distance (recursive step)
-     * @param distances The grid of distances
-     * @param tickets The tickets to consider while calculating
-     */
-    private static void getWaysWithTickets(Station current, Station destination, int distance,
-            StationDistance[] distances, int[] tickets) {
-
-        // If the destination is reached, Stop recursion
-        if (!current.equals(destination)) {
-            for (Ticket ticket : Ticket.values()) {
-                Set<Station> stations = current.getStationsReachableBy(ticket);
-                // Check if the Player have enough Tickets left to reach the next station
-                if (!stations.isEmpty() && tickets[ticket.ordinal()] > 0) {
-                    // Remove used ticket
-                    tickets[ticket.ordinal()]--;
-                    stations.stream()
-                            // Filter if next station is already occupied
-                            .filter(nextStation -> !nextStation.isOccupied())
-                            .filter(nextStation -> {
-                                int id = nextStation.getIdentifier() - 1;
-                                // Check if next station is already in grid
-                                // if yes check if the new distance is smaller
-                                // -> The new calculated way is shorter
-                                return distances[id] == null ? true
-                                        : distances[id].getDistance() > distance;
-                            })
-                            // All stations left are valid stations
-                            // Continue recursion with this stations
-                            .forEach(nextStation -> {
-                                int id = nextStation.getIdentifier() - 1;
-                                distances[id] = new StationDistance(current, distance);
-                                getWaysWithTickets(nextStation, destination, distance + 1,
-                                        distances, tickets.clone());
-                            });
-                }
-            }
-        }
+            int[] tickets, StationSet occupied) {
+        return start.getBoard().getPathFinder().shortestPath(start, destination, tickets,
+                occupied);
     }
 
     /**
@@ -222,7 +203,7 @@ public abstract class Player {
      * @param detectives All detectives
      * @return The best move
      */
-    public abstract TacticResult play(Station lastSeen, Set<Station> targets,
+    public abstract TacticResult play(Station lastSeen, StationSet targets,
             Station averageStation, List<Detective> detectives);
 
     // RANKING #################################################################
@@ -233,7 +214,7 @@ public abstract class Player {
      * @param detectives All detectives
      * @return the ranking
      */
-    public abstract float getRankingByReachableTargetStations(Set<Station> targets,
+    public abstract float getRankingByReachableTargetStations(StationSet targets,
             List<Detective> detectives);
 
     /**
@@ -243,7 +224,7 @@ public abstract class Player {
      * @return the ranking
      */
     public float getRankingByDirectlyReachableStations() {
-        return this.getReachableStations().size() / 13f * 4;
+        return this.getReachableStationCount() / 13f * 4;
     }
 
     /**
@@ -269,7 +250,7 @@ public abstract class Player {
      * @return all available tickets
      */
     public Set<Ticket> getAvailableTickets() {
-        Set<Ticket> availableTickets = new HashSet<>();
+        Set<Ticket> availableTickets = EnumSet.noneOf(Ticket.class);
         for (Ticket ticket : Ticket.values()) {
             if (this.getTicketNum(ticket) > 0) {
                 availableTickets.add(ticket);
@@ -279,27 +260,63 @@ public abstract class Player {
         return availableTickets;
     }
 
+    /**
+     * Gets the mask of all available tickets (@see Ticket#getMask).
+     *
+     * @return The mask of the tickets with at least one left
+     */
+    public int getTicketMask() {
+        int mask = 0;
+        for (int ticket = 0; ticket < this.tickets.length; ticket++) {
+            if (this.tickets[ticket] > 0) {
+                mask |= 1 << ticket;
+            }
+        }
+        return mask;
+    }
+
     // SETTER ##################################################################
     /**
-     * Sets the current station. Also sets the new station as occupied and frees the old one.
+     * Sets the current station. A detective also sets the new station as occupied and frees the
+     * old one.
      *
      * @param station The new station
+     * @throws IllegalStateException if the station is occupied
      */
-    public final void setCurrentStation(Station station) {
-
-        if (station.isOccupied()) {
-            throw new IllegalStateException();
+    public final void setCurrentStation(Station station) throws IllegalStateException {
+        if (this.occupied.contains(station.getIdentifier())) {
+            throw new IllegalStateException("Station is already Occupied");
         }
-
-        if (this.currentStation != null) {
-            this.currentStation.setOccupied(false);
+        if (!this.isMisterX()) {
+            if (this.currentStation != null) {
+                this.occupied.remove(this.currentStation.getIdentifier());
+            }
+            this.occupied.add(station.getIdentifier());
         }
-
         this.currentStation = station;
+    }
 
+    /**
+     * Sets the occupancy shared by all players of a game. A detective moves its current station
+     * from its old occupancy to the new one.
+     *
+     * @param occupied The occupied stations of the game
+     * @throws IllegalStateException if the current station is already occupied in the new
+     * occupancy
+     */
+    public final void setOccupancy(StationSet occupied) throws IllegalStateException {
+        if (occupied == this.occupied) {
+            return;
+        }
+        int id = this.currentStation.getIdentifier();
+        if (occupied.contains(id)) {
+            throw new IllegalStateException("Station is already Occupied");
+        }
         if (!this.isMisterX()) {
-            this.currentStation.setOccupied(true);
+            this.occupied.remove(id);
+            occupied.add(id);
         }
+        this.occupied = occupied;
     }
 
     /**
@@ -323,10 +340,29 @@ public abstract class Player {
         this.tickets[ticket.ordinal()] += 1;
     }
 
+    /**
+     * Chooses a ticket out of a mask like @see filterTicketsByQuantityAndValue does, but without
+     * creating any objects.
+     *
+     * @param mask The mask of the tickets to choose from (@see Ticket#getMask)
+     * @return The ordinal of the chosen ticket or -1 if the mask is empty
+     */
+    protected int getBestTicket(int mask) {
+        int best = -1;
+        for (int ticket = 0; ticket < this.tickets.length; ticket++) {
+            if ((mask & (1 << ticket)) != 0
+                    && (best < 0 || this.tickets[ticket] > this.tickets[best])) {
+                best = ticket;
+            }
+        }
+        return best;
+    }
+
     // GETTER ##################################################################
     protected Optional<Ticket> getTicketFromCurrentStationTo(Station station) {
-        return this.getCurrentStation().getTicketsToReachableStation(station).stream()
-                .reduce(this.filterTicketsByQuantityAndValue);
+        int ticket = this.getBestTicket(this.getCurrentStation().getBoard().getTicketMask(
+                this.getCurrentStation().getIdentifier(), station.getIdentifier()));
+        return ticket < 0 ? Optional.empty() : Optional.of(Ticket.from(ticket));
     }
 
     /**
@@ -354,6 +390,15 @@ public abstract class Player {
         return this.currentStation;
     }
 
+    /**
+     * Gets the occupied stations of the game of this player.
+     *
+     * @return The occupied stations
+     */
+    public StationSet getOccupancy() {
+        return this.occupied;
+    }
+
     /**
      * Gets the amount of a ticket.
      *
@@ -0,0 +1,204 @@
+package logic.search;
+
+import java.util.Arrays;
+import logic.board.Board;
+
+/**
+ * The alpha-beta search of @see MisterXSearch and @see DetectivePlanner. MisterX maximizes, the
+ * detectives minimize together. The game ends like in @see logic.GameEngine#isGameWon, a won game
+ * is ranked by @see MisterXSearch#WIN less the moves to it and a position at the depth of the
+ * search by @see Evaluation#rankMisterX. The rankings are looked up in and stored to a
+ * @see TranspositionTable, with the bound they are known to. The searches only differ in the order
+ * of the moves, which a subclass gives by @see order.
+ *
+ * The search walks the tree on one @see SearchState and reuses a buffer of moves per ply. When
+ * the deadline is over the search is aborted and its rankings are of no use. An instance must
+ * only be used by one thread.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+abstract class AlphaBeta {
+
+    private final TranspositionTable table;
+    private final int clockInterval;
+    private final int maxMoves;
+    // The moves, one buffer per ply
+    private int[][] moves = new int[0][];
+    private SearchState state;
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+
+    /**
+     * Constructor.
+     *
+     * @param board The board of the game
+     * @param table The table of searched positions, it may be shared with other searches
+     * @param clockInterval The number of positions between two looks at the clock, a power of two
+     */
+    AlphaBeta(Board board, TranspositionTable table, int clockInterval) {
+        this.table = table;
+        this.clockInterval = clockInterval;
+        this.maxMoves = MoveGenerator.getMaxMoves(board);
+    }
+
+    /**
+     * Begins a search. Resets the number of positions and creates the buffers for the moves if
+     * there are not enough.
+     *
+     * @param state The state to search on
+     * @param plies The number of plies, the moves at the root included
+     * @param deadline The end of the time as of @see System#nanoTime
+     */
+    void begin(SearchState state, int plies, long deadline) {
+        this.state = state;
+        this.deadline = deadline;
+        this.aborted = false;
+        this.nodes = 0;
+        if (this.moves.length < plies) {
+            int old = this.moves.length;
+            this.moves = Arrays.copyOf(this.moves, plies);
+            for (int ply = old; ply < plies; ply++) {
+                this.moves[ply] = new int[this.maxMoves];
+            }
+        }
+    }
+
+    /**
+     * Searches a position.
+     *
+     * @param plies The moves left to search
+     * @param ply The moves done since the root
+     * @param alpha The ranking MisterX has for sure
+     * @param beta The ranking the detectives have for sure
+     * @return The ranking of the position, 0 if the search is aborted
+     */
+    float search(int plies, int ply, float alpha, float beta) {
+        if ((++this.nodes & (this.clockInterval - 1)) == 0 && System.nanoTime() > this.deadline) {
+            this.aborted = true;
+        }
+        if (this.aborted) {
+            return 0;
+        }
+        int outcome = this.state.getOutcome();
+        if (outcome != 0) {
+            // Win soon, lose late
+            return outcome * (MisterXSearch.WIN - ply);
+        }
+        if (plies == 0) {
+            return Evaluation.rankMisterX(this.state);
+        }
+        long key = this.state.getKey();
+        long entry = this.table.get(key, plies);
+        if (entry != TranspositionTable.NONE) {
+            float ranking = TranspositionTable.getRanking(entry, ply);
+            int bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER && ranking >= beta)
+                    || (bound == TranspositionTable.UPPER && ranking <= alpha)) {
+                return ranking;
+            }
+        }
+        float alphaBefore = alpha;
+        float betaBefore = beta;
+        int player = this.state.getTurn();
+        int[] plyMoves = this.moves[ply];
+        int count = MoveGenerator.generate(this.state, plyMoves);
+        if (count == 0) {
+            // A detective without moves passes, MisterX is surrounded before
+            plyMoves[0] = Moves.PASS;
+            count = 1;
+        } else {
+            this.order(ply, player, count);
+        }
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            this.state.apply(move);
+            float value = this.search(plies - 1, ply + 1, alpha, beta);
+            this.state.undo(move);
+            if (this.aborted) {
+                return 0;
+            }
+            if (player == 0) {
+                alpha = Math.max(alpha, value);
+            } else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                this.cutoff(player, move, plies);
+                break;
+            }
+        }
+        float ranking = player == 0 ? alpha : beta;
+        this.table.put(key, plies, ply, ranking, ranking <= alphaBefore ? TranspositionTable.UPPER
+                : ranking >= betaBefore ? TranspositionTable.LOWER : TranspositionTable.EXACT);
+        return ranking;
+    }
+
+    /**
+     * Orders the moves of a ply, the best ones first.
+     *
+     * @param ply The ply, its moves are in @see getMoves
+     * @param player The moving player
+     * @param count The number of moves
+     */
+    abstract void order(int ply, int player, int count);
+
+    /**
+     * Is told of a move that has cut off. Does nothing by default.
+     *
+     * @param player The moving player
+     * @param move The move
+     * @param plies The moves that were left to search
+     */
+    void cutoff(int player, int move, int plies) {
+    }
+
+    // Setter ##################################################################
+    /**
+     * Sets the end of the time.
+     *
+     * @param deadline The end of the time as of @see System#nanoTime
+     */
+    void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    // Getter ##################################################################
+    /**
+     * Gets the state the search walks on.
+     *
+     * @return The state
+     */
+    SearchState getState() {
+        return this.state;
+    }
+
+    /**
+     * Gets the buffer for the moves of a ply.
+     *
+     * @param ply The ply
+     * @return The buffer
+     */
+    int[] getMoves(int ply) {
+        return this.moves[ply];
+    }
+
+    /**
+     * Checks if the search has been aborted because the time is up.
+     *
+     * @return True if the search has been aborted
+     */
+    boolean isAborted() {
+        return this.aborted;
+    }
+
+    /**
+     * Gets the number of positions visited since @see begin.
+     *
+     * @return The number of positions
+     */
+    long getNodes() {
+        return this.nodes;
+    }
+}
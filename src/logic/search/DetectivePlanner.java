@@ -0,0 +1,312 @@
+package logic.search;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import logic.GameEngine.Config;
+import logic.board.Board;
+import logic.board.StationSet;
+
+/**
+ * Searches the move of a detective by sampling the possible positions of MisterX. Every sample
+ * places MisterX on one of them and searches the position by alpha-beta (@see AlphaBeta),
+ * the detectives minimize @see Evaluation#rankMisterX. The search goes to the position right after
+ * the next move of MisterX, so the detectives after this one and MisterX answer the move. The
+ * ranking of every move is added up over the samples and the move with the lowest average ranking
+ * for MisterX is chosen: it is good against most of the positions, not only against one.
+ *
+ * If there are not more possible positions than samples every position is searched once, else
+ * the samples are drawn at random and a position may be drawn again. The samples are searched in
+ * parallel and share one @see TranspositionTable, so a position that is reached again, from the
+ * same sample or because MisterX moves from different samples onto the same station, is not
+ * searched twice. The table is kept between searches, the detectives after this one search up to
+ * the same move of MisterX and find the positions again. When the time is up the samples that
+ * are not finished are left out, the first sample is always finished. An instance must only be
+ * used by one search at a time.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class DetectivePlanner implements Search {
+
+    /**
+     * The id of the search as a tactic of a detective.
+     */
+    public static final int ID = 6;
+
+    private static final int CLOCK_INTERVAL = 256;
+    private static final long SEED_FACTOR = 0x9E3779B97F4A7C15L;
+
+    private final Board board;
+    private final long budget;
+    private final int maxSamples;
+    private final int rounds;
+    private final TranspositionTable table;
+    private long random;
+    private float score;
+    private int samples;
+    private long nodes;
+
+    /**
+     * Constructor.
+     *
+     * @param board The board of the game
+     * @param budgetMillis The time for one search in milliseconds
+     * @param maxSamples The highest number of positions of MisterX to search
+     * @param rounds The number of whole rounds to search after the next move of MisterX
+     * @param seed The seed for drawing the samples
+     * @param table The table of searched positions, it may be shared with other searches
+     * @throws IllegalArgumentException if the budget or the rounds are negative or there is no
+     * sample
+     */
+    public DetectivePlanner(Board board, long budgetMillis, int maxSamples, int rounds, long seed,
+            TranspositionTable table) throws IllegalArgumentException {
+        if (budgetMillis < 0 || maxSamples < 1 || rounds < 0) {
+            throw new IllegalArgumentException("Invalid search budget");
+        }
+        this.board = board;
+        this.budget = budgetMillis * (long) Config.NANO_TO_MILI_FACTOR;
+        this.maxSamples = maxSamples;
+        this.rounds = rounds;
+        this.random = seed * SEED_FACTOR | 1;
+        this.table = table;
+    }
+
+    /**
+     * Constructor. The planner has a table of its own.
+     *
+     * @param board The board of the game
+     * @param budgetMillis The time for one search in milliseconds
+     * @param maxSamples The highest number of positions of MisterX to search
+     * @param rounds The number of whole rounds to search after the next move of MisterX
+     * @param seed The seed for drawing the samples
+     * @throws IllegalArgumentException if the budget or the rounds are negative or there is no
+     * sample
+     */
+    public DetectivePlanner(Board board, long budgetMillis, int maxSamples, int rounds, long seed)
+            throws IllegalArgumentException {
+        this(board, budgetMillis, maxSamples, rounds, seed, new TranspositionTable());
+    }
+
+    /**
+     * Constructor. The budget will be taken from config.
+     *
+     * @param board The board of the game
+     */
+    public DetectivePlanner(Board board) {
+        this(board, Config.SEARCH_MILLIS, Config.PLANNER_SAMPLES, Config.PLANNER_ROUNDS,
+                System.nanoTime());
+    }
+
+    /**
+     * Searches the best move of a detective. The state is the same afterwards.
+     *
+     * @param state The state, a detective has to move
+     * @param candidates The possible positions of MisterX, if there are none every free station
+     * is possible, or null if the station of MisterX in the state is known
+     * @return The best move or @see Moves#PASS if the detective can not move
+     * @throws IllegalArgumentException if it is not the turn of a detective
+     */
+    @Override
+    public int search(SearchState state, StationSet candidates) throws IllegalArgumentException {
+        if (state.getTurn() == 0 || state.getBoard() != this.board) {
+            throw new IllegalArgumentException("Not a state of a detective on this board");
+        }
+        this.score = 0;
+        this.samples = 0;
+        this.nodes = 0;
+        int[] rootMoves = new int[MoveGenerator.getMaxMoves(this.board)];
+        int count = MoveGenerator.generate(state, rootMoves);
+        if (count == 0) {
+            return Moves.PASS;
+        }
+        int[] stations = this.drawSamples(state, candidates);
+        if (stations.length == 0) {
+            return rootMoves[0];
+        }
+        int plies = state.getPlayerCount() - state.getTurn() + 1
+                + this.rounds * state.getPlayerCount();
+        long deadline = System.nanoTime() + this.budget;
+        this.table.newSearch();
+        Worker[] workers = new Worker[stations.length];
+        for (int sample = 0; sample < stations.length; sample++) {
+            workers[sample] = new Worker(new SearchState(state), this.table,
+                    sample == 0 ? Long.MAX_VALUE : deadline);
+        }
+        float[][] rankings = IntStream.range(0, stations.length).parallel()
+                .mapToObj(sample -> workers[sample].run(stations[sample], rootMoves, count,
+                        plies))
+                .toArray(float[][]::new);
+
+        // Add up the samples in their order, so the result does not depend on the scheduling
+        float[] sums = new float[count];
+        for (int sample = 0; sample < stations.length; sample++) {
+            this.nodes += workers[sample].getNodes();
+            if (rankings[sample] != null) {
+                this.samples++;
+                for (int i = 0; i < count; i++) {
+                    sums[i] += rankings[sample][i];
+                }
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (sums[i] < sums[best]) {
+                best = i;
+            }
+        }
+        this.score = -sums[best] / this.samples;
+        return rootMoves[best];
+    }
+
+    /**
+     * Helper for @see search. Gets the stations MisterX is placed on: all possible positions if
+     * there are not more than samples, else samples drawn at random. The possible positions are
+     * the candidates or, if there are none, every free station.
+     *
+     * @param state The state
+     * @param candidates The possible positions of MisterX or null if his station is known
+     * @return The ids of the stations, sorted, so equal samples are searched one after another
+     */
+    private int[] drawSamples(SearchState state, StationSet candidates) {
+        if (candidates == null) {
+            return new int[] { state.getStation(0) };
+        }
+        StationSet possible = new StationSet(candidates);
+        if (possible.isEmpty()) {
+            for (int id = 1; id <= this.board.getSize(); id++) {
+                possible.add(id);
+            }
+        }
+        possible.andNot(state.getOccupancy());
+        int[] ids = new int[possible.cardinality()];
+        int count = 0;
+        for (int id = possible.nextSetBit(0); id >= 0; id = possible.nextSetBit(id + 1)) {
+            ids[count++] = id;
+        }
+        if (count <= this.maxSamples) {
+            return ids;
+        }
+        int[] drawn = new int[this.maxSamples];
+        for (int i = 0; i < drawn.length; i++) {
+            drawn[i] = ids[this.nextInt(count)];
+        }
+        Arrays.sort(drawn);
+        return drawn;
+    }
+
+    /**
+     * Helper for @see drawSamples. Gets a random number by xorshift.
+     *
+     * @param bound The upper bound
+     * @return A number from 0 to bound - 1
+     */
+    private int nextInt(int bound) {
+        this.random ^= this.random << 13;
+        this.random ^= this.random >>> 7;
+        this.random ^= this.random << 17;
+        return (int) (((this.random >>> 33) * bound) >>> 31);
+    }
+
+    /**
+     * Searches one sample on a copy of the state, a move onto MisterX first.
+     */
+    private static final class Worker extends AlphaBeta {
+
+        private final SearchState state;
+        private final long deadline;
+
+        /**
+         * Constructor.
+         *
+         * @param state The copy of the state of this worker
+         * @param table The table shared by all workers
+         * @param deadline The end of the time as of @see System#nanoTime
+         */
+        private Worker(SearchState state, TranspositionTable table, long deadline) {
+            super(state.getBoard(), table, CLOCK_INTERVAL);
+            this.state = state;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Ranks every move at the root for one position of MisterX.
+         *
+         * @param station The station of MisterX
+         * @param rootMoves The moves at the root
+         * @param count The number of moves at the root
+         * @param plies The plies to search after the moves at the root
+         * @return The ranking for MisterX after every move or null if the time is up
+         */
+        private float[] run(int station, int[] rootMoves, int count, int plies) {
+            this.state.setMisterXStation(station);
+            this.begin(this.state, plies, this.deadline);
+            float[] rankings = new float[count];
+            for (int i = 0; i < count && !this.isAborted(); i++) {
+                this.state.apply(rootMoves[i]);
+                rankings[i] = this.search(plies - 1, 1, -Float.MAX_VALUE, Float.MAX_VALUE);
+                this.state.undo(rootMoves[i]);
+            }
+            return this.isAborted() ? null : rankings;
+        }
+
+        @Override
+        void order(int ply, int player, int count) {
+            if (player == 0) {
+                return;
+            }
+            int[] plyMoves = this.getMoves(ply);
+            int misterX = this.state.getStation(0);
+            for (int i = 0; i < count; i++) {
+                if (Moves.getStation(plyMoves[i]) == misterX) {
+                    int capture = plyMoves[i];
+                    plyMoves[i] = plyMoves[0];
+                    plyMoves[0] = capture;
+                    return;
+                }
+            }
+        }
+    }
+
+    // Getter ##################################################################
+    /**
+     * Gets the ranking of the move found by the last search.
+     *
+     * @return The average ranking of MisterX after the move, negated, so a higher ranking is
+     * better for the detective
+     */
+    @Override
+    public float getScore() {
+        return this.score;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Gets the number of samples the last search has finished.
+     *
+     * @return The number of samples
+     */
+    public int getSamples() {
+        return this.samples;
+    }
+
+    /**
+     * Gets the number of positions the last search has visited.
+     *
+     * @return The number of positions
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gets the table of searched positions.
+     *
+     * @return The table
+     */
+    public TranspositionTable getTable() {
+        return this.table;
+    }
+}
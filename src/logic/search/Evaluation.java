@@ -0,0 +1,354 @@
+package logic.search;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import logic.GameEngine.Config;
+import logic.Ticket;
+import logic.board.Adjacency;
+import logic.board.Board;
+import logic.board.DistanceProfile;
+import logic.board.Station;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+
+/**
+ * Ranks moves without changing any player. The state of the game is copied once, a move is ranked
+ * on a view of that copy in which only the moving player is replaced. The rankings are the same as
+ * the rankings of @see Detective and @see MisterX would be after the move. Instances are immutable,
+ * so moves can be ranked by many threads at once (@see rankMoves).
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class Evaluation {
+
+    private static final int TICKETS = Ticket.values().length;
+
+    private final Board board;
+    private final Adjacency adjacency;
+    // Player 0 is MisterX, the detectives follow
+    private final int[] stations;
+    private final int[] tickets;
+    private final StationSet occupied;
+
+    /**
+     * Constructor. Copies the state of the players.
+     *
+     * @param misterX MisterX or null if only detective moves are ranked
+     * @param detectives All detectives
+     */
+    public Evaluation(MisterX misterX, List<Detective> detectives) {
+        int players = detectives.size() + 1;
+        this.board = (misterX != null ? misterX : detectives.get(0)).getCurrentStation()
+                .getBoard();
+        this.adjacency = this.board.getAdjacency();
+        this.stations = new int[players];
+        this.tickets = new int[players * TICKETS];
+        this.occupied = new StationSet(this.board);
+        if (misterX != null) {
+            this.stations[0] = misterX.getCurrentStation().getIdentifier();
+            for (Ticket ticket : Ticket.values()) {
+                this.tickets[ticket.ordinal()] = misterX.getTicketNum(ticket);
+            }
+        }
+        for (int player = 1; player < players; player++) {
+            Detective detective = detectives.get(player - 1);
+            this.stations[player] = detective.getCurrentStation().getIdentifier();
+            this.occupied.add(this.stations[player]);
+            for (Ticket ticket : Ticket.values()) {
+                this.tickets[player * TICKETS + ticket.ordinal()] = detective.getTicketNum(ticket);
+            }
+        }
+    }
+
+    /**
+     * Ranks a move of MisterX like @see MisterX#play: the detectives that can not reach him, the
+     * stations he can reach and his smallest ticket amount.
+     *
+     * @param move The move (@see Moves)
+     * @return The ranking
+     */
+    public float rankMisterXMove(int move) {
+        int station = Moves.getStation(move);
+        int ticket = Moves.getTicket(move);
+
+        int detectiveCount = this.stations.length - 1;
+        int detectiveReachableCount = 0;
+        for (int player = 1; player < this.stations.length; player++) {
+            if (this.canReach(player, station, 0, 0, -1)) {
+                detectiveReachableCount++;
+            }
+        }
+        float targetPositionRanking = (detectiveCount - detectiveReachableCount) * 10;
+        float reachAbleStationRanking =
+                this.countReachable(0, 0, station, ticket) / 13f * 4;
+        int ticketRanking = this.getSmallestTicketRanking(0, ticket, true);
+
+        return targetPositionRanking + reachAbleStationRanking + ticketRanking;
+    }
+
+    /**
+     * Ranks the position of MisterX in a state of the search like @see MisterX#play ranks the
+     * position after his move. Nothing is created, so the search can rank every leaf.
+     *
+     * @param state The state
+     * @return The ranking
+     */
+    public static float rankMisterX(SearchState state) {
+        Adjacency adjacency = state.getBoard().getAdjacency();
+        StationSet occupied = state.getOccupancy();
+        int station = state.getStation(0);
+
+        int detectiveCount = state.getPlayerCount() - 1;
+        int detectiveReachableCount = 0;
+        for (int player = 1; player <= detectiveCount; player++) {
+            if ((adjacency.getTicketMask(state.getStation(player), station)
+                    & state.getTicketMask(player)) != 0 && !occupied.contains(station)) {
+                detectiveReachableCount++;
+            }
+        }
+        int available = state.getTicketMask(0);
+        int reachableCount = 0;
+        for (int edge = adjacency.getStart(Adjacency.ANY, station); edge < adjacency
+                .getEnd(Adjacency.ANY, station); edge++) {
+            if ((adjacency.getEdgeTicketMask(edge) & available) != 0
+                    && !occupied.contains(adjacency.getTarget(Adjacency.ANY, edge))) {
+                reachableCount++;
+            }
+        }
+        int ticketRanking = 3;
+        for (int ticket = 0; ticket < TICKETS; ticket++) {
+            int ticketNum = state.getTicketNum(0, ticket);
+            if (ticketNum <= 2 && ticketNum < ticketRanking) {
+                ticketRanking = ticketNum;
+            }
+        }
+        float targetPositionRanking = (detectiveCount - detectiveReachableCount) * 10;
+        float reachAbleStationRanking = reachableCount / 13f * 4;
+
+        return targetPositionRanking + reachAbleStationRanking + ticketRanking;
+    }
+
+    /**
+     * Ranks a move of a detective like @see Detective#play: the possible positions of MisterX the
+     * detectives can reach, the distance to their average, the stations the detective can reach and
+     * his smallest ticket amount.
+     *
+     * @param detective The detective, 1 for the first one
+     * @param move The move (@see Moves)
+     * @param targets The possible positions of MisterX
+     * @param averageStation The average of the possible positions or null
+     * @return The ranking
+     */
+    public float rankDetectiveMove(int detective, int move, StationSet targets,
+            Station averageStation) {
+        int station = Moves.getStation(move);
+        int ticket = Moves.getTicket(move);
+
+        float reachableTargetPositionsRanking = 0;
+        if (!targets.isEmpty()) {
+            float targetCount = targets.cardinality();
+            float reachableTargetCount =
+                    this.countReachableTargets(targets, detective, station, ticket);
+            reachableTargetPositionsRanking = reachableTargetCount / targetCount * 10;
+        }
+        int distanceRanking = 0;
+        if (averageStation != null) {
+            int distance = this.board.getDistance(this.board.getStation(station), averageStation,
+                    DistanceProfile.NO_BOAT);
+            distanceRanking = distance < 0 || distance >= 10 ? 0 : 10 - distance;
+        }
+        float directlyReachableRanking =
+                this.countReachable(detective, detective, station, ticket) / 13f * 4;
+        int ticketAmountRanking = this.getSmallestTicketRanking(detective, ticket, false);
+
+        return reachableTargetPositionsRanking + distanceRanking + directlyReachableRanking
+                + ticketAmountRanking;
+    }
+
+    /**
+     * Ranks moves of one player. Many moves are ranked in parallel on the common pool (or the pool
+     * of the calling task), the order of the rankings is kept.
+     *
+     * @param player The moving player, 0 for MisterX
+     * @param moves The moves (@see Moves)
+     * @param count The number of moves
+     * @param targets The possible positions of MisterX (only for detectives)
+     * @param averageStation The average of the possible positions (only for detectives)
+     * @return The rankings in the order of the moves
+     */
+    public float[] rankMoves(int player, int[] moves, int count, StationSet targets,
+            Station averageStation) {
+        float[] rankings = new float[count];
+        IntStream indices = IntStream.range(0, count);
+        if (count >= Config.PARALLEL_RANKING_MIN_MOVES) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> rankings[i] = player == 0 ? this.rankMisterXMove(moves[i])
+                : this.rankDetectiveMove(player, moves[i], targets, averageStation));
+        return rankings;
+    }
+
+    /**
+     * Helper for the rankings. Gets the station of a player in the view.
+     *
+     * @param player The player
+     * @param moved The moving player
+     * @param movedStation The station of the moving player after the move
+     * @return The id of the station
+     */
+    private int getStation(int player, int moved, int movedStation) {
+        return player == moved ? movedStation : this.stations[player];
+    }
+
+    /**
+     * Helper for the rankings. Checks if a station is occupied in the view. Only detectives occupy
+     * stations.
+     *
+     * @param station The id of the station
+     * @param moved The moving player
+     * @param movedStation The station of the moving player after the move
+     * @return True if occupied
+     */
+    private boolean isOccupied(int station, int moved, int movedStation) {
+        if (moved == 0) {
+            return this.occupied.contains(station);
+        }
+        return station == movedStation
+                || (station != this.stations[moved] && this.occupied.contains(station));
+    }
+
+    /**
+     * Helper for the rankings. Gets the mask of the available tickets of a player in the view.
+     *
+     * @param player The player
+     * @param moved The moving player
+     * @param movedTicket The ticket used by the moving player
+     * @return The mask of the tickets with at least one left
+     */
+    private int getTicketMask(int player, int moved, int movedTicket) {
+        int mask = 0;
+        for (int ticket = 0; ticket < TICKETS; ticket++) {
+            int num = this.tickets[player * TICKETS + ticket];
+            if (player == moved && ticket == movedTicket) {
+                num--;
+            }
+            if (num > 0) {
+                mask |= 1 << ticket;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Helper for the rankings. Checks if a player can reach a station in the view.
+     *
+     * @param player The player
+     * @param target The id of the station to reach
+     * @param moved The moving player
+     * @param movedStation The station of the moving player after the move
+     * @param movedTicket The ticket used by the moving player
+     * @return True if reachable
+     */
+    private boolean canReach(int player, int target, int moved, int movedStation,
+            int movedTicket) {
+        int from = this.getStation(player, moved, movedStation);
+        return (this.adjacency.getTicketMask(from, target)
+                & this.getTicketMask(player, moved, movedTicket)) != 0
+                && !this.isOccupied(target, moved, movedStation);
+    }
+
+    /**
+     * Helper for the rankings. Counts the stations a player can reach in the view like @see
+     * logic.player.Player#getReachableStationCount.
+     *
+     * @param player The player
+     * @param moved The moving player
+     * @param movedStation The station of the moving player after the move
+     * @param movedTicket The ticket used by the moving player
+     * @return The number of reachable stations
+     */
+    private int countReachable(int player, int moved, int movedStation, int movedTicket) {
+        int from = this.getStation(player, moved, movedStation);
+        int available = this.getTicketMask(player, moved, movedTicket);
+        int count = 0;
+        for (int edge = this.adjacency.getStart(Adjacency.ANY, from); edge < this.adjacency
+                .getEnd(Adjacency.ANY, from); edge++) {
+            if ((this.adjacency.getEdgeTicketMask(edge) & available) != 0 && !this.isOccupied(
+                    this.adjacency.getTarget(Adjacency.ANY, edge), moved, movedStation)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Helper for @see rankDetectiveMove. Counts the possible positions of MisterX that any
+     * detective can reach in the view.
+     *
+     * @param targets The possible positions of MisterX
+     * @param moved The moving detective
+     * @param movedStation The station of the moving detective after the move
+     * @param movedTicket The ticket used by the moving detective
+     * @return The number of reachable positions
+     */
+    private int countReachableTargets(StationSet targets, int moved, int movedStation,
+            int movedTicket) {
+        int[] found = new int[(this.stations.length - 1) * this.adjacency.getMaxDegree()];
+        int count = 0;
+        for (int player = 1; player < this.stations.length; player++) {
+            int from = this.getStation(player, moved, movedStation);
+            int available = this.getTicketMask(player, moved, movedTicket);
+            for (int edge = this.adjacency.getStart(Adjacency.ANY, from); edge < this.adjacency
+                    .getEnd(Adjacency.ANY, from); edge++) {
+                int target = this.adjacency.getTarget(Adjacency.ANY, edge);
+                if ((this.adjacency.getEdgeTicketMask(edge) & available) != 0
+                        && targets.contains(target)
+                        && !this.isOccupied(target, moved, movedStation)
+                        && !Evaluation.contains(found, count, target)) {
+                    found[count++] = target;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Helper for @see countReachableTargets.
+     *
+     * @param values The values
+     * @param count The number of values
+     * @param value The value to search
+     * @return True if the value is one of the first count values
+     */
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper for the rankings. Ranks the smallest ticket amount of a player after a move like
+     * @see logic.player.Player#getRankingBySmallestTicketAmount.
+     *
+     * @param player The moving player
+     * @param movedTicket The ticket used by the player
+     * @param black If black tickets count
+     * @return 3 if more than 2 tickets of every kind are left, else the smallest amount
+     */
+    private int getSmallestTicketRanking(int player, int movedTicket, boolean black) {
+        int ranking = 3;
+        for (int ticket = 0; ticket < TICKETS; ticket++) {
+            int ticketNum = this.tickets[player * TICKETS + ticket]
+                    - (ticket == movedTicket ? 1 : 0);
+            if ((black || ticket != Ticket.BLACK.ordinal()) && ticketNum <= 2
+                    && ticketNum < ranking) {
+                ranking = ticketNum;
+            }
+        }
+        return ranking;
+    }
+}
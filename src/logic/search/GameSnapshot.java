@@ -0,0 +1,362 @@
+package logic.search;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import logic.GameEngine.Config;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.Station;
+import logic.player.Detective;
+import logic.player.MisterX;
+
+/**
+ * The whole state of a game packed into a few longs. Instances are immutable, a move creates a new
+ * snapshot (@see withMove), so hypothetical positions can be explored without touching the live
+ * players. Copies are free and equal snapshots have the same hash. Player 0 is MisterX, the
+ * detectives follow in the order of the game.
+ *
+ * The layout:
+ * <pre>
+ * word 0      bits 0-7 player whose turn it is, 8-15 round, 16-23 logbook size,
+ *             24-43 station where MisterX has been seen the last time (0 = never)
+ * word 1      logbook, 2 bits per round (the ordinal of the ticket)
+ * word 2 + p  bits 0-19 station of player p, 20-43 tickets (6 bits each in the order of
+ *             @see Ticket), 44 controlled by AI
+ * </pre>
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class GameSnapshot {
+
+    private static final int STATION_BITS = 20;
+    private static final int TICKET_BITS = 6;
+    private static final int BYTE_BITS = 8;
+    private static final int LOGBOOK_BITS = 2;
+    private static final int MAX_STATION = (1 << STATION_BITS) - 1;
+    private static final int MAX_TICKETS = (1 << TICKET_BITS) - 1;
+    private static final int MAX_LOGBOOK = Long.SIZE / LOGBOOK_BITS;
+    private static final int TURN_SHIFT = 0;
+    private static final int ROUND_SHIFT = 8;
+    private static final int LOGBOOK_SHIFT = 16;
+    private static final int LAST_SEEN_SHIFT = 24;
+    private static final int AI_SHIFT = STATION_BITS + Ticket.values().length * TICKET_BITS;
+    private static final int PLAYERS = 2;
+
+    private final long[] words;
+
+    /**
+     * Constructor.
+     *
+     * @param words The packed state, not copied
+     */
+    private GameSnapshot(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Takes a snapshot of the players.
+     *
+     * @param misterX MisterX
+     * @param detectives All detectives
+     * @param turn The player whose turn it is, 0 for MisterX
+     * @param round The last round that has begun
+     * @return The snapshot
+     * @throws IllegalArgumentException if a value does not fit into the snapshot
+     */
+    public static GameSnapshot of(MisterX misterX, List<Detective> detectives, int turn,
+            int round) throws IllegalArgumentException {
+        int players = detectives.size() + 1;
+        long[] words = new long[PLAYERS + players];
+        List<Ticket> logbook = misterX.getLogbook();
+        if (turn < 0 || turn >= players || players > 1 << BYTE_BITS || round < 0
+                || round >= 1 << BYTE_BITS || logbook.size() > MAX_LOGBOOK) {
+            throw new IllegalArgumentException("The game does not fit into a snapshot");
+        }
+        Station lastSeen = misterX.getLastSeen();
+        words[0] = GameSnapshot.header(turn, round, logbook.size(),
+                lastSeen == null ? 0 : GameSnapshot.checkStation(lastSeen.getIdentifier()));
+        for (int i = 0; i < logbook.size(); i++) {
+            words[1] |= (long) logbook.get(i).ordinal() << (LOGBOOK_BITS * i);
+        }
+        words[PLAYERS] = GameSnapshot.player(misterX.getCurrentStation().getIdentifier(),
+                misterX.getTicketNum(Ticket.CAB), misterX.getTicketNum(Ticket.BUS),
+                misterX.getTicketNum(Ticket.TUBE), misterX.getTicketNum(Ticket.BLACK),
+                misterX.isAi());
+        for (int player = 1; player < players; player++) {
+            Detective detective = detectives.get(player - 1);
+            words[PLAYERS + player] = GameSnapshot.player(
+                    detective.getCurrentStation().getIdentifier(),
+                    detective.getTicketNum(Ticket.CAB), detective.getTicketNum(Ticket.BUS),
+                    detective.getTicketNum(Ticket.TUBE), detective.getTicketNum(Ticket.BLACK),
+                    detective.isAi());
+        }
+        return new GameSnapshot(words);
+    }
+
+    /**
+     * Helper for @see of. Packs the header.
+     *
+     * @param turn The player whose turn it is
+     * @param round The round
+     * @param logbookSize The size of the logbook
+     * @param lastSeen The station where MisterX has been seen the last time or 0
+     * @return The header
+     */
+    private static long header(int turn, int round, int logbookSize, int lastSeen) {
+        return ((long) turn << TURN_SHIFT) | ((long) round << ROUND_SHIFT)
+                | ((long) logbookSize << LOGBOOK_SHIFT) | ((long) lastSeen << LAST_SEEN_SHIFT);
+    }
+
+    /**
+     * Helper for @see of. Packs a player.
+     *
+     * @param station The id of the station
+     * @param cab The number of cab tickets
+     * @param bus The number of bus tickets
+     * @param tube The number of tube tickets
+     * @param black The number of black tickets
+     * @param ai If the player is controlled by AI
+     * @return The packed player
+     * @throws IllegalArgumentException if a value does not fit into the snapshot
+     */
+    private static long player(int station, int cab, int bus, int tube, int black, boolean ai)
+            throws IllegalArgumentException {
+        long word = GameSnapshot.checkStation(station);
+        int[] tickets = new int[] { cab, bus, tube, black };
+        for (int ticket = 0; ticket < tickets.length; ticket++) {
+            if (tickets[ticket] < 0 || tickets[ticket] > MAX_TICKETS) {
+                throw new IllegalArgumentException("The game does not fit into a snapshot");
+            }
+            word |= (long) tickets[ticket] << (STATION_BITS + TICKET_BITS * ticket);
+        }
+        return ai ? word | 1L << AI_SHIFT : word;
+    }
+
+    /**
+     * Helper for @see of. Checks that a station fits into the snapshot.
+     *
+     * @param station The id of the station
+     * @return The id of the station
+     * @throws IllegalArgumentException if the id is out of range
+     */
+    private static int checkStation(int station) throws IllegalArgumentException {
+        if (station <= 0 || station > MAX_STATION) {
+            throw new IllegalArgumentException("The game does not fit into a snapshot");
+        }
+        return station;
+    }
+
+    /**
+     * Creates the snapshot after a move of the player whose turn it is. Like in the game a
+     * detective hands the used ticket to MisterX. The move of MisterX begins a new round, is
+     * written to the logbook and shows MisterX in the rounds of @see Config.LAST_SEEN_ROUNDS. The
+     * move is not checked, it has to come from @see MoveGenerator.
+     *
+     * @param move The move (@see Moves)
+     * @return The new snapshot
+     * @throws IllegalStateException if the result does not fit into a snapshot
+     */
+    public GameSnapshot withMove(int move) throws IllegalStateException {
+        long[] next = this.words.clone();
+        int player = this.getTurn();
+        int round = this.getRound();
+        int logbookSize = this.getLogbookSize();
+        int lastSeen = this.getLastSeenStation();
+        if (move != Moves.PASS) {
+            int station = Moves.getStation(move);
+            int ticket = Moves.getTicket(move);
+            next[PLAYERS + player] = GameSnapshot.addTickets(
+                    (next[PLAYERS + player] & ~(long) MAX_STATION) | station, ticket, -1);
+            if (player != 0) {
+                next[PLAYERS] = GameSnapshot.addTickets(next[PLAYERS], ticket, 1);
+            } else {
+                if (logbookSize == MAX_LOGBOOK) {
+                    throw new IllegalStateException("The logbook does not fit into a snapshot");
+                }
+                next[1] |= (long) ticket << (LOGBOOK_BITS * logbookSize);
+                logbookSize++;
+                if (Config.LAST_SEEN_ROUNDS.contains(logbookSize)) {
+                    lastSeen = station;
+                }
+            }
+        }
+        if (player == 0 && ++round >= 1 << BYTE_BITS) {
+            throw new IllegalStateException("The round does not fit into a snapshot");
+        }
+        int turn = player + 1 == this.getPlayerCount() ? 0 : player + 1;
+        next[0] = GameSnapshot.header(turn, round, logbookSize, lastSeen);
+        return new GameSnapshot(next);
+    }
+
+    /**
+     * Helper for @see withMove. Changes the number of tickets of a packed player.
+     *
+     * @param word The packed player
+     * @param ticket The ordinal of the ticket
+     * @param delta The number of tickets to add
+     * @return The packed player
+     * @throws IllegalStateException if the number of tickets does not fit
+     */
+    private static long addTickets(long word, int ticket, int delta)
+            throws IllegalStateException {
+        int shift = STATION_BITS + TICKET_BITS * ticket;
+        int count = (int) (word >>> shift) & MAX_TICKETS;
+        if (count + delta < 0 || count + delta > MAX_TICKETS) {
+            throw new IllegalStateException("The tickets do not fit into a snapshot");
+        }
+        return (word & ~((long) MAX_TICKETS << shift)) | (long) (count + delta) << shift;
+    }
+
+    /**
+     * Creates MisterX as he is in this snapshot.
+     *
+     * @param board The board of the game
+     * @return MisterX
+     */
+    public MisterX toMisterX(Board board) {
+        List<Ticket> logbook = new LinkedList<>();
+        for (int i = 0; i < this.getLogbookSize(); i++) {
+            logbook.add(Ticket.from(this.getLogbookEntry(i)));
+        }
+        int lastSeen = this.getLastSeenStation();
+        return new MisterX(board.getStation(this.getStation(0)),
+                lastSeen == 0 ? null : board.getStation(lastSeen), logbook, this.isAi(0),
+                this.getTicketNum(0, Ticket.CAB.ordinal()),
+                this.getTicketNum(0, Ticket.BUS.ordinal()),
+                this.getTicketNum(0, Ticket.TUBE.ordinal()),
+                this.getTicketNum(0, Ticket.BLACK.ordinal()));
+    }
+
+    /**
+     * Creates the detectives as they are in this snapshot. The detectives do not share an
+     * occupancy yet, @see logic.player.Player#setOccupancy.
+     *
+     * @param board The board of the game
+     * @return All detectives
+     */
+    public List<Detective> toDetectives(Board board) {
+        List<Detective> detectives = new LinkedList<>();
+        for (int player = 1; player < this.getPlayerCount(); player++) {
+            detectives.add(new Detective(player, board.getStation(this.getStation(player)),
+                    this.isAi(player), this.getTicketNum(player, Ticket.CAB.ordinal()),
+                    this.getTicketNum(player, Ticket.BUS.ordinal()),
+                    this.getTicketNum(player, Ticket.TUBE.ordinal())));
+        }
+        return detectives;
+    }
+
+    // Getter ##################################################################
+    /**
+     * Gets the number of players.
+     *
+     * @return The number of players including MisterX
+     */
+    public int getPlayerCount() {
+        return this.words.length - PLAYERS;
+    }
+
+    /**
+     * Gets the player whose turn it is.
+     *
+     * @return The player, 0 for MisterX
+     */
+    public int getTurn() {
+        return (int) (this.words[0] >>> TURN_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Gets the last round that has begun.
+     *
+     * @return The round
+     */
+    public int getRound() {
+        return (int) (this.words[0] >>> ROUND_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Gets the number of tickets in the logbook.
+     *
+     * @return The size of the logbook
+     */
+    public int getLogbookSize() {
+        return (int) (this.words[0] >>> LOGBOOK_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Gets an entry of the logbook.
+     *
+     * @param index The index of the entry, 0 for the first round
+     * @return The ordinal of the ticket
+     */
+    public int getLogbookEntry(int index) {
+        return (int) (this.words[1] >>> (LOGBOOK_BITS * index)) & 3;
+    }
+
+    /**
+     * Gets the station where MisterX has been seen the last time.
+     *
+     * @return The id of the station or 0 if MisterX has not been seen yet
+     */
+    public int getLastSeenStation() {
+        return (int) (this.words[0] >>> LAST_SEEN_SHIFT) & MAX_STATION;
+    }
+
+    /**
+     * Gets the station of a player.
+     *
+     * @param player The player, 0 for MisterX
+     * @return The id of the station
+     */
+    public int getStation(int player) {
+        return (int) this.words[PLAYERS + player] & MAX_STATION;
+    }
+
+    /**
+     * Gets the number of tickets of a player.
+     *
+     * @param player The player, 0 for MisterX
+     * @param ticket The ordinal of the ticket
+     * @return The number of tickets
+     */
+    public int getTicketNum(int player, int ticket) {
+        return (int) (this.words[PLAYERS + player] >>> (STATION_BITS + TICKET_BITS * ticket))
+                & MAX_TICKETS;
+    }
+
+    /**
+     * Is a player controlled by AI.
+     *
+     * @param player The player, 0 for MisterX
+     * @return If the player is controlled by AI
+     */
+    public boolean isAi(int player) {
+        return (this.words[PLAYERS + player] >>> AI_SHIFT & 1) != 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.words);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return Arrays.equals(this.words, ((GameSnapshot) obj).words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("round ").append(this.getRound()).append(", turn ").append(this.getTurn());
+        for (int player = 0; player < this.getPlayerCount(); player++) {
+            builder.append(", ").append(player).append('@').append(this.getStation(player));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,289 @@
+package logic.search;
+
+import java.util.Arrays;
+import logic.GameEngine.Config;
+import logic.board.Board;
+import logic.board.StationSet;
+
+/**
+ * Searches the move of MisterX by alpha-beta (@see AlphaBeta) with iterative deepening. MisterX
+ * maximizes, the detectives minimize together and see MisterX all the time, so the search plays
+ * against the strongest possible detectives. The game ends like in @see
+ * logic.GameEngine#isGameWon, a position at the depth of the search is ranked by @see
+ * Evaluation#rankMisterX. Like @see logic.player.MisterX#play only positions right after a move
+ * of MisterX are ranked, there the heuristic tells how safe he is. The first iteration ranks the
+ * moves only, every further iteration adds the replies of the detectives and the next move of
+ * MisterX.
+ *
+ * The search runs on one @see SearchState and reuses a buffer per ply, nothing is created while
+ * walking the tree. The moves are ordered by a history of the moves that cut off before, a move
+ * of a detective onto MisterX comes first and the best move of the last iteration is searched
+ * first at the root. The rankings of searched positions are kept in a @see TranspositionTable,
+ * so a position the detectives reach by another order of moves or a later search reaches again is
+ * not searched twice. When the time is up the best move of the last finished iteration is
+ * returned, the first iteration is always finished. An instance must only be used by one thread.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class MisterXSearch implements Search {
+
+    /**
+     * The ranking of a won game, @see Evaluation#rankMisterX ranks far below.
+     */
+    public static final float WIN = 10000;
+
+    /**
+     * The id of the search as a tactic of MisterX.
+     */
+    public static final int ID = 2;
+
+    private static final int CLOCK_INTERVAL = 1024;
+    private static final int FIRST = Integer.MAX_VALUE;
+
+    private final Board board;
+    private final long budget;
+    private final int maxRounds;
+    // The keys of the moves for the ordering, one buffer per ply
+    private int[][] keys = new int[0][];
+    // The history of cutoffs for MisterX and the detectives, indexed by move
+    private final int[][] history;
+    private final TranspositionTable table;
+    private final Tree tree;
+    private int depth;
+    private float score;
+
+    /**
+     * Constructor.
+     *
+     * @param board The board of the game
+     * @param budgetMillis The time for one search in milliseconds
+     * @param maxRounds The highest number of rounds to search
+     * @param table The table of searched positions, it may be shared with other searches
+     * @throws IllegalArgumentException if the budget is negative or no round is searched
+     */
+    public MisterXSearch(Board board, long budgetMillis, int maxRounds, TranspositionTable table)
+            throws IllegalArgumentException {
+        if (budgetMillis < 0 || maxRounds < 1) {
+            throw new IllegalArgumentException("Invalid search budget");
+        }
+        this.board = board;
+        this.budget = budgetMillis * (long) Config.NANO_TO_MILI_FACTOR;
+        this.maxRounds = maxRounds;
+        this.history = new int[2][(board.getSize() + 1) << 2];
+        this.table = table;
+        this.tree = new Tree();
+    }
+
+    /**
+     * Constructor. The search has a table of its own.
+     *
+     * @param board The board of the game
+     * @param budgetMillis The time for one search in milliseconds
+     * @param maxRounds The highest number of rounds to search
+     * @throws IllegalArgumentException if the budget is negative or no round is searched
+     */
+    public MisterXSearch(Board board, long budgetMillis, int maxRounds)
+            throws IllegalArgumentException {
+        this(board, budgetMillis, maxRounds, new TranspositionTable());
+    }
+
+    /**
+     * Constructor. The budget will be taken from config.
+     *
+     * @param board The board of the game
+     */
+    public MisterXSearch(Board board) {
+        this(board, Config.SEARCH_MILLIS, Config.SEARCH_MAX_ROUNDS);
+    }
+
+    /**
+     * Searches the best move of MisterX. The state is the same afterwards.
+     *
+     * @param state The state, MisterX has to move
+     * @return The best move or @see Moves#PASS if MisterX can not move
+     * @throws IllegalArgumentException if it is not the turn of MisterX
+     */
+    public int search(SearchState state) throws IllegalArgumentException {
+        if (state.getTurn() != 0 || state.getBoard() != this.board) {
+            throw new IllegalArgumentException("Not a state of MisterX on this board");
+        }
+        long deadline = System.nanoTime() + this.budget;
+        this.depth = -1;
+        this.score = 0;
+        for (int[] side : this.history) {
+            Arrays.fill(side, 0);
+        }
+        this.table.newSearch();
+        int players = state.getPlayerCount();
+        int rounds = Math.min(this.maxRounds,
+                Math.max(1, Config.MAX_ROUNDS - 1 - state.getRound()));
+        // The first iteration is always finished
+        this.tree.begin(state, rounds * players + 2, Long.MAX_VALUE);
+        this.ensureKeys(rounds * players + 2);
+
+        int[] rootMoves = this.tree.getMoves(0);
+        int count = MoveGenerator.generate(state, rootMoves);
+        if (count == 0) {
+            return Moves.PASS;
+        }
+        int best = rootMoves[0];
+        for (int round = 0; round <= rounds; round++) {
+            this.order(0, 0, count, best);
+            float alpha = -Float.MAX_VALUE;
+            int iterationBest = Moves.PASS;
+            for (int i = 0; i < count && !this.tree.isAborted(); i++) {
+                int move = rootMoves[i];
+                state.apply(move);
+                float value = this.tree.search(round * players, 1, alpha, Float.MAX_VALUE);
+                state.undo(move);
+                if (!this.tree.isAborted() && (iterationBest == Moves.PASS || value > alpha)) {
+                    alpha = value;
+                    iterationBest = move;
+                }
+            }
+            // Against detectives that always see him every move may lose, then the best move of
+            // the last iteration is still the best chance against the real ones
+            if (this.tree.isAborted() || (round > 0 && alpha < -WIN / 2)) {
+                break;
+            }
+            best = iterationBest;
+            this.score = alpha;
+            this.depth = round;
+            this.tree.setDeadline(deadline);
+            // A won game does not change with more rounds
+            if (alpha > WIN / 2) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Searches the best move of MisterX, he is always seen by the search.
+     *
+     * @param state The state, MisterX has to move
+     * @param candidates Not used
+     * @return The best move or @see Moves#PASS if MisterX can not move
+     * @throws IllegalArgumentException if it is not the turn of MisterX
+     */
+    @Override
+    public int search(SearchState state, StationSet candidates) throws IllegalArgumentException {
+        return this.search(state);
+    }
+
+    /**
+     * Helper for the search. Orders the moves of a ply by their history, the first move and a move
+     * onto MisterX come first. Moves with the same key keep the order of the generator.
+     *
+     * @param ply The ply
+     * @param player The moving player
+     * @param count The number of moves
+     * @param first The move to search first or @see Moves#PASS
+     */
+    private void order(int ply, int player, int count, int first) {
+        int[] plyMoves = this.tree.getMoves(ply);
+        int[] plyKeys = this.keys[ply];
+        int[] sideHistory = this.history[player == 0 ? 0 : 1];
+        int misterX = this.tree.getState().getStation(0);
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            plyKeys[i] = move == first || (player != 0 && Moves.getStation(move) == misterX)
+                    ? FIRST : sideHistory[move];
+        }
+        // Insertion sort, the lists are short
+        for (int i = 1; i < count; i++) {
+            int move = plyMoves[i];
+            int key = plyKeys[i];
+            int j = i - 1;
+            while (j >= 0 && plyKeys[j] < key) {
+                plyMoves[j + 1] = plyMoves[j];
+                plyKeys[j + 1] = plyKeys[j];
+                j--;
+            }
+            plyMoves[j + 1] = move;
+            plyKeys[j + 1] = key;
+        }
+    }
+
+    /**
+     * Helper for @see search. Creates the buffers for the keys if there are not enough.
+     *
+     * @param plies The number of plies
+     */
+    private void ensureKeys(int plies) {
+        if (this.keys.length < plies) {
+            int size = MoveGenerator.getMaxMoves(this.board);
+            int old = this.keys.length;
+            this.keys = Arrays.copyOf(this.keys, plies);
+            for (int ply = old; ply < plies; ply++) {
+                this.keys[ply] = new int[size];
+            }
+        }
+    }
+
+    /**
+     * The alpha-beta of the search, ordered by the history.
+     */
+    private final class Tree extends AlphaBeta {
+
+        /**
+         * Constructor.
+         */
+        private Tree() {
+            super(MisterXSearch.this.board, MisterXSearch.this.table, CLOCK_INTERVAL);
+        }
+
+        @Override
+        void order(int ply, int player, int count) {
+            MisterXSearch.this.order(ply, player, count, Moves.PASS);
+        }
+
+        @Override
+        void cutoff(int player, int move, int plies) {
+            MisterXSearch.this.history[player == 0 ? 0 : 1][move] += plies * plies;
+        }
+    }
+
+    // Getter ##################################################################
+    /**
+     * Gets the ranking of the move found by the last search.
+     *
+     * @return The ranking, above @see WIN / 2 if MisterX wins for sure
+     */
+    @Override
+    public float getScore() {
+        return this.score;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Gets the number of rounds the last search has looked ahead.
+     *
+     * @return The number of rounds, 0 if only the moves have been ranked, -1 if there was no move
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Gets the number of positions the last search has visited.
+     *
+     * @return The number of positions
+     */
+    public long getNodes() {
+        return this.tree.getNodes();
+    }
+
+    /**
+     * Gets the table of searched positions.
+     *
+     * @return The table
+     */
+    public TranspositionTable getTable() {
+        return this.table;
+    }
+}
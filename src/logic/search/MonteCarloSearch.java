@@ -0,0 +1,548 @@
+package logic.search;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import logic.GameEngine.Config;
+import logic.board.Board;
+import logic.board.StationSet;
+
+/**
+ * Searches the move of any player by Monte Carlo tree search. Every iteration walks down the tree
+ * by UCT, adds the children of the reached node and plays the game to its end by random moves,
+ * only a detective next to MisterX always catches him. The outcome is counted for every node on
+ * the way, a node counts the wins of the player that moved into it.
+ *
+ * Detectives do not know where MisterX is. For them every iteration places MisterX on one of his
+ * possible positions. Until MisterX has moved on the way down his moves depend on that position,
+ * so a node of MisterX gets the children of every position that reaches it and the children a
+ * position does not allow are skipped. A child is ranked by the number of times it was allowed,
+ * not by the visits of its parent, so a move of a rare position is not searched too often.
+ *
+ * The search runs on all cores by root parallelism: every worker grows a tree of its own on a
+ * copy of the state and only the visits of the moves at the root are added up at the end, so
+ * the workers never wait for each other. The trees are kept in flat arrays and reused by the next
+ * search, nothing is created by an iteration. The nodes of one tree are limited, so the trees of
+ * all workers together fit into @see Config.MCTS_MEMORY_BYTES. The search stops when the time is
+ * up or all iterations are done. An instance must only be used by one search at a time.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class MonteCarloSearch implements Search {
+
+    /**
+     * The id of the search as a tactic.
+     */
+    public static final int ID = 5;
+
+    private static final long SEED_FACTOR = 0x9E3779B97F4A7C15L;
+    // The memory of a node: move, first child, sibling, flag, visits, availability and rewards
+    private static final int NODE_BYTES = 3 * Integer.BYTES + 1 + 2 * Long.BYTES + Double.BYTES;
+
+    private final Board board;
+    private final long budget;
+    private final int maxIterations;
+    private final int maxNodes;
+    private final Tree[] trees;
+    private long seed;
+    private float score;
+    private long iterations;
+    private long nanos;
+    private int treeSize;
+
+    /**
+     * Constructor.
+     *
+     * @param board The board of the game
+     * @param budgetMillis The time for one search in milliseconds
+     * @param maxIterations The highest number of iterations of one search
+     * @param workers The number of trees searched in parallel
+     * @param seed The seed of the random moves
+     * @throws IllegalArgumentException if the budget is negative or there is no iteration or
+     * worker
+     */
+    public MonteCarloSearch(Board board, long budgetMillis, int maxIterations, int workers,
+            long seed) throws IllegalArgumentException {
+        if (budgetMillis < 0 || maxIterations < 1 || workers < 1) {
+            throw new IllegalArgumentException("Invalid search budget");
+        }
+        this.board = board;
+        this.budget = budgetMillis * (long) Config.NANO_TO_MILI_FACTOR;
+        this.maxIterations = maxIterations;
+        // At least the root and its children
+        this.maxNodes = (int) Math.max(1 + MoveGenerator.getMaxMoves(board), Math.min(
+                Config.MCTS_MAX_NODES, Config.MCTS_MEMORY_BYTES / NODE_BYTES / workers));
+        this.trees = new Tree[workers];
+        this.seed = seed;
+    }
+
+    /**
+     * Constructor. The time will be taken from config, the search uses all cores.
+     *
+     * @param board The board of the game
+     */
+    public MonteCarloSearch(Board board) {
+        this(board, Config.SEARCH_MILLIS, Integer.MAX_VALUE,
+                Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    @Override
+    public int search(SearchState state, StationSet candidates) throws IllegalArgumentException {
+        if (state.getBoard() != this.board) {
+            throw new IllegalArgumentException("Not a state on this board");
+        }
+        long begin = System.nanoTime();
+        this.score = 0;
+        this.iterations = 0;
+        this.treeSize = 0;
+        this.nanos = 0;
+        int[] rootMoves = new int[MoveGenerator.getMaxMoves(this.board)];
+        int count = MoveGenerator.generate(state, rootMoves);
+        if (count == 0) {
+            return Moves.PASS;
+        }
+        // MisterX knows where he is
+        int[] samples = candidates == null || state.getTurn() == 0 ? null
+                : this.getSamples(state, candidates);
+        int workers = this.trees.length;
+        for (int worker = 0; worker < workers; worker++) {
+            if (this.trees[worker] == null) {
+                this.trees[worker] = new Tree(this.board, this.maxNodes);
+            }
+            this.trees[worker].random = (this.seed + worker) * SEED_FACTOR | 1;
+        }
+        this.seed += workers;
+        long deadline = begin + this.budget;
+        int perWorker = (this.maxIterations - 1) / workers + 1;
+        IntStream.range(0, workers).parallel().forEach(worker -> this.trees[worker]
+                .run(new SearchState(state), samples, deadline, perWorker));
+
+        // Add up the roots, all trees have the same moves at the root
+        int best = 0;
+        long bestVisits = -1;
+        double bestRewards = 0;
+        for (int i = 0; i < count; i++) {
+            long visits = 0;
+            double rewards = 0;
+            for (Tree tree : this.trees) {
+                visits += tree.visits[1 + i];
+                rewards += tree.rewards[1 + i];
+            }
+            if (visits > bestVisits || (visits == bestVisits && rewards > bestRewards)) {
+                best = i;
+                bestVisits = visits;
+                bestRewards = rewards;
+            }
+        }
+        for (Tree tree : this.trees) {
+            this.iterations += tree.visits[0];
+            this.treeSize += tree.size;
+        }
+        this.score = bestVisits == 0 ? 0 : (float) (bestRewards / bestVisits);
+        this.nanos = System.nanoTime() - begin;
+        return this.trees[0].moves[1 + best];
+    }
+
+    /**
+     * Helper for @see search. Gets the stations MisterX can be placed on: the possible positions
+     * or, if there are none, every free station.
+     *
+     * @param state The state
+     * @param candidates The possible positions of MisterX
+     * @return The ids of the stations or null if all stations are occupied
+     */
+    private int[] getSamples(SearchState state, StationSet candidates) {
+        StationSet samples = new StationSet(candidates);
+        if (samples.isEmpty()) {
+            for (int id = 1; id <= this.board.getSize(); id++) {
+                samples.add(id);
+            }
+        }
+        samples.andNot(state.getOccupancy());
+        int[] ids = new int[samples.cardinality()];
+        int count = 0;
+        for (int id = samples.nextSetBit(0); id >= 0; id = samples.nextSetBit(id + 1)) {
+            ids[count++] = id;
+        }
+        return count == 0 ? null : ids;
+    }
+
+    /**
+     * The tree of one worker. The nodes are kept in parallel arrays, the children of a node are
+     * linked by their siblings in the order they were added. Node 0 is the root, its children are
+     * the nodes 1 to the number of moves at the root.
+     */
+    private static final class Tree {
+
+        private final int[] buffer;
+        private final int maxNodes;
+        private int[] moves;
+        private int[] children;
+        private int[] siblings;
+        private boolean[] misterX;
+        private long[] visits;
+        private long[] available;
+        private double[] rewards;
+        private int size;
+        // The nodes of the way down and the moves of the playout
+        private int[] path = new int[64];
+        private int[] playout = new int[64];
+        private long random;
+
+        /**
+         * Constructor.
+         *
+         * @param board The board of the game
+         * @param maxNodes The highest number of nodes
+         */
+        private Tree(Board board, int maxNodes) {
+            this.buffer = new int[MoveGenerator.getMaxMoves(board)];
+            this.maxNodes = maxNodes;
+            int capacity = Math.min(1024, maxNodes);
+            this.moves = new int[capacity];
+            this.children = new int[capacity];
+            this.siblings = new int[capacity];
+            this.misterX = new boolean[capacity];
+            this.visits = new long[capacity];
+            this.available = new long[capacity];
+            this.rewards = new double[capacity];
+        }
+
+        /**
+         * Searches until the time is up or all iterations are done, at least once.
+         *
+         * @param state The copy of the state of this worker
+         * @param samples The stations to place MisterX on or null if he is known
+         * @param deadline The end of the time as of @see System#nanoTime
+         * @param maxIterations The highest number of iterations
+         */
+        private void run(SearchState state, int[] samples, long deadline, int maxIterations) {
+            int plies = (Config.MAX_ROUNDS + 1) * state.getPlayerCount();
+            if (this.path.length < plies) {
+                this.path = new int[plies];
+                this.playout = new int[plies];
+            }
+            // The root is expanded first, so all trees have the moves of the root in the same order
+            this.size = 1;
+            this.clear(0, Moves.PASS, state.getTurn() != 0);
+            this.expand(0, state);
+            int iteration = 0;
+            do {
+                if (samples != null) {
+                    state.setMisterXStation(samples[this.nextInt(samples.length)]);
+                }
+                this.iterate(state, samples != null);
+                iteration++;
+            } while (iteration < maxIterations && System.nanoTime() < deadline);
+        }
+
+        /**
+         * Helper for @see run. One iteration: down the tree, expand, play out, count.
+         *
+         * @param state The state at the root, it is the same afterwards
+         * @param sampled True if MisterX is placed on a sample
+         */
+        private void iterate(SearchState state, boolean sampled) {
+            int node = 0;
+            int depth = 0;
+            this.path[depth++] = 0;
+            float reward;
+            while (true) {
+                int outcome = state.getOutcome();
+                if (outcome != 0) {
+                    reward = outcome > 0 ? 1 : 0;
+                    break;
+                }
+                // The moves of a sampled MisterX depend on the sample until he has moved
+                if ((this.children[node] < 0 || (sampled && state.getTurn() == 0))
+                        && !this.expand(node, state)) {
+                    reward = this.playOut(state);
+                    break;
+                }
+                int child = this.select(node, state);
+                if (child < 0) {
+                    // No child fits the position of MisterX
+                    reward = this.playOut(state);
+                    break;
+                }
+                state.apply(this.moves[child]);
+                this.path[depth++] = child;
+                sampled &= !this.misterX[child];
+                node = child;
+                if (this.visits[child] == 0) {
+                    reward = this.playOut(state);
+                    break;
+                }
+            }
+            for (int i = depth - 1; i >= 0; i--) {
+                node = this.path[i];
+                this.visits[node]++;
+                this.rewards[node] += this.misterX[node] ? reward : 1 - reward;
+                if (i > 0) {
+                    state.undo(this.moves[node]);
+                }
+            }
+        }
+
+        /**
+         * Helper for @see iterate. Adds the moves of the state that are no children of a node
+         * yet, a player without moves passes. The moves are added all or none.
+         *
+         * @param node The node
+         * @param state The state of the node
+         * @return False if the node has no children, because the tree is full
+         */
+        private boolean expand(int node, SearchState state) {
+            int count = MoveGenerator.generate(state, this.buffer);
+            if (count == 0) {
+                this.buffer[count++] = Moves.PASS;
+            }
+            // Keep the moves that are no children yet and find the last child
+            int last = -1;
+            for (int child = this.children[node]; child >= 0; child = this.siblings[child]) {
+                last = child;
+            }
+            int missing = 0;
+            for (int i = 0; i < count; i++) {
+                int move = this.buffer[i];
+                int child = this.children[node];
+                while (child >= 0 && this.moves[child] != move) {
+                    child = this.siblings[child];
+                }
+                if (child < 0) {
+                    this.buffer[missing++] = move;
+                }
+            }
+            if (missing > 0 && this.size + missing <= this.maxNodes) {
+                this.ensureCapacity(this.size + missing);
+                boolean misterX = state.getTurn() == 0;
+                for (int i = 0; i < missing; i++) {
+                    this.clear(this.size, this.buffer[i], misterX);
+                    if (last < 0) {
+                        this.children[node] = this.size;
+                    } else {
+                        this.siblings[last] = this.size;
+                    }
+                    last = this.size++;
+                }
+            }
+            return this.children[node] >= 0;
+        }
+
+        /**
+         * Helper for @see iterate. Chooses the child with the highest upper confidence bound, the
+         * first child without visits before. Children that are not legal in the state are
+         * skipped, the others count that they were available.
+         *
+         * @param node The node
+         * @param state The state of the node
+         * @return The child or -1 if no child is legal
+         */
+        private int select(int node, SearchState state) {
+            int unvisited = -1;
+            int best = -1;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            // Children that are always legal have the same availability, its log is kept
+            long logged = 0;
+            double log = 0;
+            for (int child = this.children[node]; child >= 0; child = this.siblings[child]) {
+                int move = this.moves[child];
+                if (move != Moves.PASS && !state.isLegal(move)) {
+                    continue;
+                }
+                long childAvailable = ++this.available[child];
+                long childVisits = this.visits[child];
+                if (childVisits == 0) {
+                    if (unvisited < 0) {
+                        unvisited = child;
+                    }
+                } else if (unvisited < 0) {
+                    if (childAvailable != logged) {
+                        logged = childAvailable;
+                        log = Math.log(childAvailable);
+                    }
+                    double bound = this.rewards[child] / childVisits
+                            + Config.MCTS_EXPLORATION * Math.sqrt(log / childVisits);
+                    if (bound > bestBound) {
+                        best = child;
+                        bestBound = bound;
+                    }
+                }
+            }
+            return unvisited >= 0 ? unvisited : best;
+        }
+
+        /**
+         * Gets the visits of a node.
+         *
+         * @param path The moves from the root to the node
+         * @return The visits or 0 if the node is not in the tree
+         */
+        private long getVisits(int[] path) {
+            int node = 0;
+            for (int move : path) {
+                int child = this.children[node];
+                while (child >= 0 && this.moves[child] != move) {
+                    child = this.siblings[child];
+                }
+                if (child < 0) {
+                    return 0;
+                }
+                node = child;
+            }
+            return this.visits[node];
+        }
+
+        /**
+         * Helper for @see iterate. Plays the game to its end by random moves, a detective next
+         * to MisterX catches him.
+         *
+         * @param state The state to play from, it is the same afterwards
+         * @return 1 if MisterX has won, else 0
+         */
+        private float playOut(SearchState state) {
+            int plies = 0;
+            int outcome;
+            while ((outcome = state.getOutcome()) == 0) {
+                int count = MoveGenerator.generate(state, this.buffer);
+                int move = Moves.PASS;
+                if (count > 0) {
+                    move = this.buffer[this.nextInt(count)];
+                    if (state.getTurn() != 0) {
+                        int misterX = state.getStation(0);
+                        for (int i = 0; i < count; i++) {
+                            if (Moves.getStation(this.buffer[i]) == misterX) {
+                                move = this.buffer[i];
+                                break;
+                            }
+                        }
+                    }
+                }
+                state.apply(move);
+                this.playout[plies++] = move;
+            }
+            while (plies > 0) {
+                state.undo(this.playout[--plies]);
+            }
+            return outcome > 0 ? 1 : 0;
+        }
+
+        /**
+         * Helper for the tree. Resets a node.
+         *
+         * @param node The node
+         * @param move The move into the node
+         * @param misterX If MisterX does the move
+         */
+        private void clear(int node, int move, boolean misterX) {
+            this.moves[node] = move;
+            this.children[node] = -1;
+            this.siblings[node] = -1;
+            this.misterX[node] = misterX;
+            this.visits[node] = 0;
+            this.available[node] = 0;
+            this.rewards[node] = 0;
+        }
+
+        /**
+         * Helper for @see expand. Grows the arrays of the nodes, never beyond the highest number
+         * of nodes.
+         *
+         * @param capacity The number of nodes needed
+         */
+        private void ensureCapacity(int capacity) {
+            if (capacity > this.moves.length) {
+                int length = Math.min(this.maxNodes, Math.max(capacity, this.moves.length * 2));
+                this.moves = Arrays.copyOf(this.moves, length);
+                this.children = Arrays.copyOf(this.children, length);
+                this.siblings = Arrays.copyOf(this.siblings, length);
+                this.misterX = Arrays.copyOf(this.misterX, length);
+                this.visits = Arrays.copyOf(this.visits, length);
+                this.available = Arrays.copyOf(this.available, length);
+                this.rewards = Arrays.copyOf(this.rewards, length);
+            }
+        }
+
+        /**
+         * Helper for the tree. Gets a random number by xorshift.
+         *
+         * @param bound The upper bound
+         * @return A number from 0 to bound - 1
+         */
+        private int nextInt(int bound) {
+            this.random ^= this.random << 13;
+            this.random ^= this.random >>> 7;
+            this.random ^= this.random << 17;
+            return (int) (((this.random >>> 33) * bound) >>> 31);
+        }
+    }
+
+    // Getter ##################################################################
+    @Override
+    public float getScore() {
+        return this.score;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Gets the number of iterations of the last search.
+     *
+     * @return The number of iterations of all workers
+     */
+    public long getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Gets the number of iterations per second of the last search.
+     *
+     * @return The iterations per second of all workers
+     */
+    public double getIterationsPerSecond() {
+        return this.nanos == 0 ? 0 : this.iterations * 1E9 / this.nanos;
+    }
+
+    /**
+     * Gets the highest number of nodes of the tree of one worker.
+     *
+     * @return The number of nodes
+     */
+    public int getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    /**
+     * Gets the visits of a node of the trees of the last search.
+     *
+     * @param path The moves from the root to the node
+     * @return The visits of all workers
+     */
+    long getVisits(int... path) {
+        long visits = 0;
+        for (Tree tree : this.trees) {
+            visits += tree == null ? 0 : tree.getVisits(path);
+        }
+        return visits;
+    }
+
+    /**
+     * Gets the size of the trees of the last search.
+     *
+     * @return The number of nodes of all workers
+     */
+    public int getTreeSize() {
+        return this.treeSize;
+    }
+
+    /**
+     * Gets the time of the last search.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getNanos() {
+        return this.nanos;
+    }
+}
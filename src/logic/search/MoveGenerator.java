@@ -0,0 +1,76 @@
+package logic.search;
+
+import logic.Ticket;
+import logic.board.Adjacency;
+import logic.board.Board;
+import logic.board.StationSet;
+
+/**
+ * Generates all legal moves of a player into a buffer of the caller (@see Moves). Nothing is
+ * created while generating, so the search can reuse one buffer per depth. Moves are ordered by the
+ * id of the target station and then by the ticket, like the moves of @see
+ * logic.player.MisterX#play.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class MoveGenerator {
+
+    /**
+     * Utility class.
+     */
+    private MoveGenerator() {
+    }
+
+    /**
+     * Gets the size a buffer needs to hold the moves of any player on a board.
+     *
+     * @param board The board
+     * @return The highest possible number of moves
+     */
+    public static int getMaxMoves(Board board) {
+        return board.getAdjacency().getMaxDegree() * Ticket.values().length;
+    }
+
+    /**
+     * Generates the moves of a player. Every ticket that is available and can be used on a
+     * connection gives a move of its own. Occupied stations can not be reached.
+     *
+     * @param board The board
+     * @param station The id of the current station
+     * @param ticketMask The mask of the available tickets (@see Ticket#getMask)
+     * @param occupied The occupied stations
+     * @param moves The buffer for the moves, @see getMaxMoves
+     * @return The number of moves
+     */
+    public static int generate(Board board, int station, int ticketMask, StationSet occupied,
+            int[] moves) {
+        Adjacency adjacency = board.getAdjacency();
+        int count = 0;
+        for (int edge = adjacency.getStart(Adjacency.ANY, station); edge < adjacency.getEnd(
+                Adjacency.ANY, station); edge++) {
+            int target = adjacency.getTarget(Adjacency.ANY, edge);
+            int tickets = adjacency.getEdgeTicketMask(edge) & ticketMask;
+            if (tickets != 0 && !occupied.contains(target)) {
+                for (int ticket = 0; tickets != 0; ticket++, tickets >>>= 1) {
+                    if ((tickets & 1) != 0) {
+                        moves[count++] = Moves.encode(target, ticket);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Generates the moves of the player whose turn it is.
+     *
+     * @param state The state of the game
+     * @param moves The buffer for the moves, @see getMaxMoves
+     * @return The number of moves, 0 if the player has to pass
+     */
+    public static int generate(SearchState state, int[] moves) {
+        int player = state.getTurn();
+        return MoveGenerator.generate(state.getBoard(), state.getStation(player),
+                state.getTicketMask(player), state.getOccupancy(), moves);
+    }
+}
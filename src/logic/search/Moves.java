@@ -0,0 +1,90 @@
+package logic.search;
+
+import logic.Move;
+import logic.Ticket;
+import logic.board.Board;
+
+/**
+ * Encodes moves as ints, so the search can handle them without creating objects. A move is the id
+ * of the target station shifted by two bits and the ordinal of the ticket in the lowest two bits.
+ * A player that can not move passes with @see PASS. @see Move is only used at the edge to the
+ * rest of the game.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class Moves {
+
+    public static final int PASS = 0;
+
+    /**
+     * Utility class.
+     */
+    private Moves() {
+    }
+
+    /**
+     * Encodes a move.
+     *
+     * @param station The id of the target station
+     * @param ticket The ordinal of the ticket
+     * @return The move
+     */
+    public static int encode(int station, int ticket) {
+        return (station << 2) | ticket;
+    }
+
+    /**
+     * Gets the target station of a move.
+     *
+     * @param move The move
+     * @return The id of the target station
+     */
+    public static int getStation(int move) {
+        return move >>> 2;
+    }
+
+    /**
+     * Gets the ticket of a move.
+     *
+     * @param move The move
+     * @return The ordinal of the ticket
+     */
+    public static int getTicket(int move) {
+        return move & 3;
+    }
+
+    /**
+     * Encodes a move of the game.
+     *
+     * @param move The move or null to pass
+     * @return The move
+     */
+    public static int fromMove(Move move) {
+        return move == null ? PASS
+                : Moves.encode(move.getTo().getIdentifier(), move.getTicket().ordinal());
+    }
+
+    /**
+     * Decodes a move for the game.
+     *
+     * @param board The board of the game
+     * @param move The move
+     * @return The move or null if the player passes
+     */
+    public static Move toMove(Board board, int move) {
+        return move == PASS ? null : new Move(board.getStation(Moves.getStation(move)),
+                Ticket.from(Moves.getTicket(move)));
+    }
+
+    /**
+     * Formats a move like @see Move#toString.
+     *
+     * @param move The move
+     * @return The move as string
+     */
+    public static String toString(int move) {
+        return move == PASS ? "pass"
+                : String.format("%d by %s", Moves.getStation(move),
+                        Ticket.from(Moves.getTicket(move)));
+    }
+}
@@ -0,0 +1,37 @@
+package logic.search;
+
+import logic.board.StationSet;
+
+/**
+ * A search that chooses the move of an AI player from a state of the game, @see
+ * logic.player.MisterX#setSearch and @see logic.player.Detective#setSearch.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public interface Search {
+
+    /**
+     * Searches the best move of the player whose turn it is. The state is the same afterwards.
+     *
+     * @param state The state
+     * @param candidates The possible positions of MisterX or null if the station of MisterX in
+     * the state is known
+     * @return The best move or @see Moves#PASS if the player can not move
+     * @throws IllegalArgumentException if the search can not play the player
+     */
+    int search(SearchState state, StationSet candidates) throws IllegalArgumentException;
+
+    /**
+     * Gets the ranking of the move found by the last search.
+     *
+     * @return The ranking
+     */
+    float getScore();
+
+    /**
+     * Gets the id of the search as a tactic (@see logic.player.TacticResult#getId).
+     *
+     * @return The id
+     */
+    int getId();
+}
@@ -0,0 +1,393 @@
+package logic.search;
+
+import java.util.Arrays;
+import java.util.List;
+import logic.GameEngine.Config;
+import logic.Ticket;
+import logic.board.Adjacency;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+
+/**
+ * The state of a game as the search sees it: the station and the tickets of every player, the
+ * stations occupied by detectives, the player whose turn it is and the round. Moves are applied
+ * and undone in place, so the search walks the game tree on a single instance. Player 0 is MisterX,
+ * the detectives follow in the order of the game. Like in the game a detective hands the used
+ * ticket to MisterX and a new round begins with the move of MisterX. The live players are never
+ * changed. The Zobrist key of the position (@see Zobrist) is kept up to date by every move.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class SearchState {
+
+    private static final int TICKETS = Ticket.values().length;
+
+    private final Board board;
+    private final int[] stations;
+    private final int[] tickets;
+    private final StationSet occupied;
+    private final Zobrist zobrist;
+    private int turn;
+    private int round;
+    private long key;
+    // The stations the players came from, one per applied move
+    private int[] previous = new int[64];
+    private int depth = 0;
+
+    /**
+     * Constructor. Copies the state of the players.
+     *
+     * @param misterX MisterX
+     * @param detectives All detectives
+     * @param turn The player whose turn it is, 0 for MisterX
+     * @param round The last round that has begun
+     */
+    public SearchState(MisterX misterX, List<Detective> detectives, int turn, int round) {
+        this.board = misterX.getCurrentStation().getBoard();
+        int players = detectives.size() + 1;
+        this.stations = new int[players];
+        this.tickets = new int[players * TICKETS];
+        this.occupied = new StationSet(this.board);
+        this.stations[0] = misterX.getCurrentStation().getIdentifier();
+        for (Ticket ticket : Ticket.values()) {
+            this.tickets[ticket.ordinal()] = misterX.getTicketNum(ticket);
+        }
+        for (int player = 1; player < players; player++) {
+            Detective detective = detectives.get(player - 1);
+            this.stations[player] = detective.getCurrentStation().getIdentifier();
+            this.occupied.add(this.stations[player]);
+            for (Ticket ticket : Ticket.values()) {
+                this.tickets[player * TICKETS + ticket.ordinal()] = detective.getTicketNum(ticket);
+            }
+        }
+        this.turn = turn;
+        this.round = round;
+        this.zobrist = Zobrist.of(players, this.board.getSize());
+        this.key = this.computeKey();
+    }
+
+    /**
+     * Constructor. Unpacks a snapshot.
+     *
+     * @param board The board of the game
+     * @param snapshot The snapshot
+     */
+    public SearchState(Board board, GameSnapshot snapshot) {
+        this.board = board;
+        int players = snapshot.getPlayerCount();
+        this.stations = new int[players];
+        this.tickets = new int[players * TICKETS];
+        this.occupied = new StationSet(board);
+        for (int player = 0; player < players; player++) {
+            this.stations[player] = snapshot.getStation(player);
+            if (player != 0) {
+                this.occupied.add(this.stations[player]);
+            }
+            for (int ticket = 0; ticket < TICKETS; ticket++) {
+                this.tickets[player * TICKETS + ticket] = snapshot.getTicketNum(player, ticket);
+            }
+        }
+        this.turn = snapshot.getTurn();
+        this.round = snapshot.getRound();
+        this.zobrist = Zobrist.of(players, board.getSize());
+        this.key = this.computeKey();
+    }
+
+    /**
+     * Copy constructor. The moves applied to the other state can not be undone on the copy.
+     *
+     * @param other The state to copy
+     */
+    public SearchState(SearchState other) {
+        this.board = other.board;
+        this.stations = other.stations.clone();
+        this.tickets = other.tickets.clone();
+        this.occupied = new StationSet(other.occupied);
+        this.turn = other.turn;
+        this.round = other.round;
+        this.zobrist = other.zobrist;
+        this.key = other.key;
+    }
+
+    /**
+     * Helper for the constructors. Computes the key of the position from scratch.
+     *
+     * @return The key
+     */
+    private long computeKey() {
+        long computed = this.zobrist.getTurnKey(this.turn) ^ this.zobrist.getRoundKey(this.round);
+        for (int player = 0; player < this.stations.length; player++) {
+            computed ^= this.zobrist.getStationKey(player, this.stations[player]);
+        }
+        for (int index = 0; index < this.tickets.length; index++) {
+            computed ^= this.zobrist.getTicketKey(index, this.tickets[index]);
+        }
+        return computed;
+    }
+
+    /**
+     * Applies a move of the player whose turn it is and passes the turn to the next player. The
+     * move is not checked, it has to come from @see MoveGenerator.
+     *
+     * @param move The move (@see Moves)
+     */
+    public void apply(int move) {
+        int player = this.turn;
+        if (this.depth == this.previous.length) {
+            this.previous = Arrays.copyOf(this.previous, this.depth * 2);
+        }
+        this.previous[this.depth++] = this.stations[player];
+        if (move != Moves.PASS) {
+            int station = Moves.getStation(move);
+            int ticket = Moves.getTicket(move);
+            this.addTickets(player * TICKETS + ticket, -1);
+            if (player != 0) {
+                this.addTickets(ticket, 1);
+                this.occupied.remove(this.stations[player]);
+                this.occupied.add(station);
+            }
+            this.moveTo(player, station);
+        }
+        if (player == 0) {
+            this.setRound(this.round + 1);
+        }
+        this.setTurn(player + 1 == this.stations.length ? 0 : player + 1);
+    }
+
+    /**
+     * Undoes the last applied move.
+     *
+     * @param move The last applied move
+     */
+    public void undo(int move) {
+        int player = this.turn == 0 ? this.stations.length - 1 : this.turn - 1;
+        this.setTurn(player);
+        if (player == 0) {
+            this.setRound(this.round - 1);
+        }
+        int station = this.previous[--this.depth];
+        if (move != Moves.PASS) {
+            int ticket = Moves.getTicket(move);
+            this.addTickets(player * TICKETS + ticket, 1);
+            if (player != 0) {
+                this.addTickets(ticket, -1);
+                this.occupied.remove(this.stations[player]);
+                this.occupied.add(station);
+            }
+            this.moveTo(player, station);
+        }
+    }
+
+    /**
+     * Helper for @see apply and @see undo. Changes the number of tickets and the key.
+     *
+     * @param index The index of the ticket of the player, player * tickets + ordinal
+     * @param delta The number of tickets to add
+     */
+    private void addTickets(int index, int delta) {
+        int count = this.tickets[index];
+        this.key ^= this.zobrist.getTicketKey(index, count)
+                ^ this.zobrist.getTicketKey(index, count + delta);
+        this.tickets[index] = count + delta;
+    }
+
+    /**
+     * Helper for @see apply and @see undo. Moves a player and changes the key.
+     *
+     * @param player The player, 0 for MisterX
+     * @param station The id of the station
+     */
+    private void moveTo(int player, int station) {
+        this.key ^= this.zobrist.getStationKey(player, this.stations[player])
+                ^ this.zobrist.getStationKey(player, station);
+        this.stations[player] = station;
+    }
+
+    /**
+     * Helper for @see apply and @see undo. Sets the round and changes the key.
+     *
+     * @param round The round
+     */
+    private void setRound(int round) {
+        this.key ^= this.zobrist.getRoundKey(this.round) ^ this.zobrist.getRoundKey(round);
+        this.round = round;
+    }
+
+    /**
+     * Helper for @see apply and @see undo. Sets the turn and changes the key.
+     *
+     * @param player The player whose turn it is
+     */
+    private void setTurn(int player) {
+        this.key ^= this.zobrist.getTurnKey(this.turn) ^ this.zobrist.getTurnKey(player);
+        this.turn = player;
+    }
+
+    /**
+     * Checks if the game has ended like @see logic.GameEngine#isGameWon.
+     *
+     * @return -1 if the detectives have won, 1 if MisterX has won, else 0
+     */
+    public int getOutcome() {
+        int misterX = this.stations[0];
+        for (int player = 1; player < this.stations.length; player++) {
+            if (this.stations[player] == misterX) {
+                return -1;
+            }
+        }
+        if (!this.canMisterXMove()) {
+            return -1;
+        }
+        boolean blocked = true;
+        for (int player = 1; player < this.stations.length && blocked; player++) {
+            blocked = this.getTicketMask(player) == 0;
+        }
+        if (blocked || Config.MAX_ROUNDS <= this.round + 1) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Helper for @see getOutcome.
+     *
+     * @return True if MisterX can reach any station
+     */
+    private boolean canMisterXMove() {
+        Adjacency adjacency = this.board.getAdjacency();
+        int station = this.stations[0];
+        int available = this.getTicketMask(0);
+        for (int edge = adjacency.getStart(Adjacency.ANY, station); edge < adjacency
+                .getEnd(Adjacency.ANY, station); edge++) {
+            if ((adjacency.getEdgeTicketMask(edge) & available) != 0
+                    && !this.occupied.contains(adjacency.getTarget(Adjacency.ANY, edge))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a move is legal for the player whose turn it is.
+     *
+     * @param move The move (@see Moves)
+     * @return True if the player has the ticket, the ticket can be used on the connection and the
+     * station is not occupied
+     */
+    public boolean isLegal(int move) {
+        if (move == Moves.PASS) {
+            return false;
+        }
+        int station = Moves.getStation(move);
+        int ticket = Moves.getTicket(move);
+        return this.tickets[this.turn * TICKETS + ticket] > 0
+                && (this.board.getTicketMask(this.stations[this.turn], station) & 1 << ticket) != 0
+                && !this.occupied.contains(station);
+    }
+
+    // Setter ##################################################################
+    /**
+     * Places MisterX on another station, so the search can try the possible positions of MisterX.
+     * Must not be called while moves are applied.
+     *
+     * @param station The id of the station
+     */
+    public void setMisterXStation(int station) {
+        this.moveTo(0, station);
+    }
+
+    // Getter ##################################################################
+    /**
+     * Gets the board.
+     *
+     * @return The board
+     */
+    public Board getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return The number of players including MisterX
+     */
+    public int getPlayerCount() {
+        return this.stations.length;
+    }
+
+    /**
+     * Gets the player whose turn it is.
+     *
+     * @return The player, 0 for MisterX
+     */
+    public int getTurn() {
+        return this.turn;
+    }
+
+    /**
+     * Gets the last round that has begun.
+     *
+     * @return The round
+     */
+    public int getRound() {
+        return this.round;
+    }
+
+    /**
+     * Gets the station of a player.
+     *
+     * @param player The player, 0 for MisterX
+     * @return The id of the station
+     */
+    public int getStation(int player) {
+        return this.stations[player];
+    }
+
+    /**
+     * Gets the number of tickets of a player.
+     *
+     * @param player The player, 0 for MisterX
+     * @param ticket The ordinal of the ticket
+     * @return The number of tickets
+     */
+    public int getTicketNum(int player, int ticket) {
+        return this.tickets[player * TICKETS + ticket];
+    }
+
+    /**
+     * Gets the mask of the available tickets of a player (@see Ticket#getMask).
+     *
+     * @param player The player, 0 for MisterX
+     * @return The mask of the tickets with at least one left
+     */
+    public int getTicketMask(int player) {
+        int mask = 0;
+        for (int ticket = 0; ticket < TICKETS; ticket++) {
+            if (this.tickets[player * TICKETS + ticket] > 0) {
+                mask |= 1 << ticket;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the Zobrist key of the position for @see TranspositionTable. Equal positions have equal
+     * keys, different positions have different keys but by a tiny chance.
+     *
+     * @return The key of the stations and tickets of all players, the turn and the round
+     */
+    public long getKey() {
+        return this.key;
+    }
+
+    /**
+     * Gets the stations occupied by detectives. The set must not be modified.
+     *
+     * @return The occupied stations
+     */
+    public StationSet getOccupancy() {
+        return this.occupied;
+    }
+}
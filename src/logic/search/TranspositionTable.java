@@ -0,0 +1,259 @@
+package logic.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import logic.GameEngine.Config;
+
+/**
+ * Remembers the rankings of positions an alpha-beta search has searched, so a position reached
+ * again, by another order of moves, from another sample or by another search, is not searched
+ * twice. A ranking is kept with the number of plies it was searched to and whether it is exact or
+ * only a bound, as alpha-beta gives bounds for positions that cut off. A won game is kept as the
+ * distance from the position, so the ranking fits at any ply.
+ *
+ * The table has a fixed size and is split into buckets of two entries. The first entry of a
+ * bucket keeps the deeper search, it is only replaced by a search of at least as many plies or if
+ * it comes from an older search (@see newSearch). The second entry always takes what the first one
+ * does not. An entry is a pair of longs: the data, packed of the ranking, the search, the plies
+ * and the bound, and the key xor the data. Threads share the table without locks, an entry that
+ * is read while another thread writes it does not match its key and is not found.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class TranspositionTable {
+
+    /**
+     * The ranking is exact.
+     */
+    public static final int EXACT = 0;
+
+    /**
+     * The ranking is at least as high.
+     */
+    public static final int LOWER = 1;
+
+    /**
+     * The ranking is at most as high.
+     */
+    public static final int UPPER = 2;
+
+    /**
+     * No entry has been found.
+     */
+    public static final long NONE = 3;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int BUCKET_SIZE = 2;
+    private static final int BOUND_MASK = 3;
+    private static final int PLIES_SHIFT = 8;
+    private static final int PLIES_MASK = 0xFFFF;
+    private static final int GENERATION_SHIFT = 24;
+    private static final int GENERATION_MASK = 0xFF;
+    private static final float WON = MisterXSearch.WIN / 2;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private int generation = 0;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param bytes The highest memory of the table in bytes, the number of entries is the highest
+     * power of two that fits
+     * @throws IllegalArgumentException if not even one bucket fits
+     */
+    public TranspositionTable(long bytes) throws IllegalArgumentException {
+        if (bytes < ENTRY_BYTES * BUCKET_SIZE) {
+            throw new IllegalArgumentException("Transposition table too small");
+        }
+        long buckets = Long.highestOneBit(Math.min(bytes / (ENTRY_BYTES * BUCKET_SIZE),
+                Integer.MAX_VALUE / BUCKET_SIZE));
+        this.keys = new long[(int) buckets * BUCKET_SIZE];
+        this.data = new long[(int) buckets * BUCKET_SIZE];
+        this.mask = (int) buckets - 1;
+    }
+
+    /**
+     * Constructor. The memory will be taken from config.
+     */
+    public TranspositionTable() {
+        this(Config.TRANSPOSITION_TABLE_BYTES);
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * @param key The key of the position (@see SearchState#getKey)
+     * @param plies The number of plies the position has to be searched to at least
+     * @return The entry or @see NONE
+     */
+    public long get(long key, int plies) {
+        int bucket = this.getBucket(key);
+        boolean occupied = true;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            long entry = this.data[slot];
+            if ((this.keys[slot] ^ entry) == key && entry != 0) {
+                if (TranspositionTable.getPlies(entry) >= plies) {
+                    this.hits.increment();
+                    return entry;
+                }
+                occupied = false;
+            } else {
+                occupied &= entry != 0;
+            }
+        }
+        // A bucket full of other positions
+        if (occupied) {
+            this.collisions.increment();
+        }
+        this.misses.increment();
+        return NONE;
+    }
+
+    /**
+     * Stores the ranking of a position.
+     *
+     * @param key The key of the position (@see SearchState#getKey)
+     * @param plies The number of plies the position has been searched to
+     * @param ply The moves done since the root of the search
+     * @param ranking The ranking
+     * @param bound @see EXACT, @see LOWER or @see UPPER
+     */
+    public void put(long key, int plies, int ply, float ranking, int bound) {
+        // Won games as the distance from this position
+        float stored = ranking > WON ? ranking + ply : ranking < -WON ? ranking - ply : ranking;
+        long entry = (long) Float.floatToIntBits(stored) << Integer.SIZE
+                | (long) this.generation << GENERATION_SHIFT
+                | (long) Math.min(plies, PLIES_MASK) << PLIES_SHIFT | bound;
+        int slot = this.getBucket(key);
+        long first = this.data[slot];
+        if (first != 0 && (this.keys[slot] ^ first) != key
+                && TranspositionTable.getGeneration(first) == this.generation
+                && TranspositionTable.getPlies(first) > plies) {
+            slot++;
+        }
+        this.keys[slot] = key ^ entry;
+        this.data[slot] = entry;
+    }
+
+    /**
+     * Begins a new search. The entries of older searches are kept, but they are replaced first.
+     * Must not be called while the table is used.
+     */
+    public void newSearch() {
+        this.generation = (this.generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Removes all entries and resets the counters. Must not be called while the table is used.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+        Arrays.fill(this.data, 0);
+        this.hits.reset();
+        this.misses.reset();
+        this.collisions.reset();
+    }
+
+    /**
+     * Helper for the table. Gets the first slot of the bucket of a key.
+     *
+     * @param key The key
+     * @return The slot
+     */
+    private int getBucket(long key) {
+        return ((int) (key ^ key >>> Integer.SIZE) & this.mask) * BUCKET_SIZE;
+    }
+
+    // Getter ##################################################################
+    /**
+     * Gets the ranking of an entry.
+     *
+     * @param entry The entry
+     * @param ply The moves done since the root of the search
+     * @return The ranking
+     */
+    public static float getRanking(long entry, int ply) {
+        float stored = Float.intBitsToFloat((int) (entry >>> Integer.SIZE));
+        return stored > WON ? stored - ply : stored < -WON ? stored + ply : stored;
+    }
+
+    /**
+     * Gets the bound of an entry.
+     *
+     * @param entry The entry
+     * @return @see EXACT, @see LOWER or @see UPPER
+     */
+    public static int getBound(long entry) {
+        return (int) entry & BOUND_MASK;
+    }
+
+    /**
+     * Gets the number of plies an entry has been searched to.
+     *
+     * @param entry The entry
+     * @return The number of plies
+     */
+    public static int getPlies(long entry) {
+        return (int) (entry >>> PLIES_SHIFT) & PLIES_MASK;
+    }
+
+    /**
+     * Helper for @see put. Gets the search an entry comes from.
+     *
+     * @param entry The entry
+     * @return The generation of the search
+     */
+    private static int getGeneration(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries
+     */
+    public int getCapacity() {
+        return this.data.length;
+    }
+
+    /**
+     * Gets the memory of the entries.
+     *
+     * @return The memory in bytes
+     */
+    public long getBytes() {
+        return (long) this.data.length * ENTRY_BYTES;
+    }
+
+    /**
+     * Gets the number of lookups that have found an entry.
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that have not found an entry.
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of misses whose bucket was full of other positions.
+     *
+     * @return The number of collisions
+     */
+    public long getCollisions() {
+        return this.collisions.sum();
+    }
+}
@@ -0,0 +1,154 @@
+package logic.search;
+
+import logic.GameEngine.Config;
+import logic.Ticket;
+
+/**
+ * The random keys of Zobrist hashing for @see SearchState. The key of a position is the xor of
+ * one key per station of a player, per number of tickets of a player, for the round and for the
+ * player whose turn it is, so a move changes the key by a few xors. The keys of a number of
+ * players and stations are the same in every run, so positions of different searches and
+ * threads have the same key.
+ *
+ * Every key is a mix of its index, the tables only keep the keys that are needed often. The last
+ * tables are kept, a new game on the same board uses them again.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+final class Zobrist {
+
+    private static final int TICKETS = Ticket.values().length;
+    private static final int MAX_COUNT = 64;
+    private static final long STATION_KEYS = 0;
+    private static final long TICKET_KEYS = 1L << 40;
+    private static final long TURN_KEYS = 2L << 40;
+    private static final long ROUND_KEYS = 3L << 40;
+    private static volatile Zobrist last;
+
+    private final int players;
+    private final int size;
+    private final long[] stations;
+    private final long[] tickets;
+    private final long[] turns;
+    private final long[] rounds;
+
+    /**
+     * Constructor.
+     *
+     * @param players The number of players
+     * @param size The number of stations
+     */
+    private Zobrist(int players, int size) {
+        this.players = players;
+        this.size = size;
+        this.stations = Zobrist.keys(STATION_KEYS, players * (size + 1));
+        this.tickets = new long[players * TICKETS * MAX_COUNT];
+        for (int index = 0; index < players * TICKETS; index++) {
+            for (int count = 0; count < MAX_COUNT; count++) {
+                this.tickets[index * MAX_COUNT + count] = Zobrist.ticketKey(index, count);
+            }
+        }
+        this.turns = Zobrist.keys(TURN_KEYS, players);
+        this.rounds = Zobrist.keys(ROUND_KEYS, Config.MAX_ROUNDS + 2);
+    }
+
+    /**
+     * Gets the keys for a game.
+     *
+     * @param players The number of players
+     * @param size The number of stations
+     * @return The keys
+     */
+    static Zobrist of(int players, int size) {
+        Zobrist keys = Zobrist.last;
+        if (keys == null || keys.players != players || keys.size != size) {
+            keys = new Zobrist(players, size);
+            Zobrist.last = keys;
+        }
+        return keys;
+    }
+
+    /**
+     * Helper for the constructor. Creates a table of keys.
+     *
+     * @param offset The index of the first key
+     * @param length The number of keys
+     * @return The keys
+     */
+    private static long[] keys(long offset, int length) {
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = Zobrist.mix(offset + i);
+        }
+        return keys;
+    }
+
+    /**
+     * Helper for the keys. Computes the key of a number of tickets.
+     *
+     * @param index The index of the ticket of the player, player * tickets + ordinal
+     * @param count The number of tickets
+     * @return The key
+     */
+    private static long ticketKey(int index, int count) {
+        return Zobrist.mix(TICKET_KEYS + ((long) index << Integer.SIZE) + count);
+    }
+
+    /**
+     * Helper for the keys. Mixes an index to a random key by SplitMix64.
+     *
+     * @param index The index
+     * @return The key
+     */
+    private static long mix(long index) {
+        long key = (index + 1) * 0x9E3779B97F4A7C15L;
+        key = (key ^ key >>> 30) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ key >>> 27) * 0x94D049BB133111EBL;
+        return key ^ key >>> 31;
+    }
+
+    // Getter ##################################################################
+    /**
+     * Gets the key of a player on a station.
+     *
+     * @param player The player, 0 for MisterX
+     * @param station The id of the station
+     * @return The key
+     */
+    long getStationKey(int player, int station) {
+        return this.stations[player * (this.size + 1) + station];
+    }
+
+    /**
+     * Gets the key of a number of tickets of a player.
+     *
+     * @param index The index of the ticket of the player, player * tickets + ordinal
+     * @param count The number of tickets
+     * @return The key
+     */
+    long getTicketKey(int index, int count) {
+        return count < MAX_COUNT ? this.tickets[index * MAX_COUNT + count]
+                : Zobrist.ticketKey(index, count);
+    }
+
+    /**
+     * Gets the key of the player whose turn it is.
+     *
+     * @param player The player, 0 for MisterX
+     * @return The key
+     */
+    long getTurnKey(int player) {
+        return this.turns[player];
+    }
+
+    /**
+     * Gets the key of a round.
+     *
+     * @param round The round
+     * @return The key
+     */
+    long getRoundKey(int round) {
+        return round >= 0 && round < this.rounds.length ? this.rounds[round]
+                : Zobrist.mix(ROUND_KEYS + (round & 0xFFFFFFFFL));
+    }
+}
@@ -0,0 +1,55 @@
+package logic.sim;
+
+import java.util.List;
+import java.util.Set;
+import logic.GUIConnector;
+import logic.GameEngine;
+import logic.Ticket;
+import logic.board.Station;
+import logic.player.Player;
+
+/**
+ * A GUIConnector that shows nothing. Is used for games that are simulated without a window.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class HeadlessGUI implements GUIConnector {
+
+    @Override
+    public void drawPlayers(List<Player> player, Player turn, Station lastSeen) {
+    }
+
+    @Override
+    public void showPlayersStates(Player player) {
+    }
+
+    @Override
+    public Ticket showChooseTicketDialog(Station station, Set<Ticket> tickets) {
+        return tickets.iterator().next();
+    }
+
+    @Override
+    public void showNotEnoughTicketsForMoveDialog(Station station) {
+    }
+
+    @Override
+    public void showStationNotReachableInMove(Station station) {
+    }
+
+    @Override
+    public void showWinner(GameEngine.WinState state) {
+    }
+
+    @Override
+    public void setLogbookEntry(int round, Ticket ticket) {
+    }
+
+    @Override
+    public void showError(String title, String header, String context) {
+    }
+
+    @Override
+    public void ShowLogError() {
+    }
+
+}
@@ -0,0 +1,249 @@
+package logic.sim;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import logic.GameEngine;
+import logic.GameEngine.Config;
+import logic.GameEngine.WinState;
+import logic.board.Board;
+import logic.search.DetectivePlanner;
+import logic.search.MisterXSearch;
+import logic.search.MonteCarloSearch;
+import logic.util.FileLogSink;
+import logic.util.LogSink;
+import logic.util.Logger;
+import logic.util.NoOpLogSink;
+
+/**
+ * Plays many games between AI players on all cores and collects statistics about them. All games
+ * share one board, the occupied stations are kept by every game itself. The startpositions of
+ * every game are chosen by a random generator seeded by the tournament seed and the number of the
+ * game, so a tournament can be repeated independent of the scheduling.
+ *
+ * Usage: Tournament &lt;network.json&gt; &lt;games&gt; [detectives] [seed] [output] [logdir]
+ * [search_ms] [detective_ms] [detective_search]. A logdir of - logs nothing. With search_ms MisterX
+ * looks ahead for that time per move (@see MisterXSearch), with detective_ms the detectives search
+ * by Monte Carlo (@see MonteCarloSearch) or, with a detective_search of plan, by sampling the
+ * positions of MisterX (@see DetectivePlanner). A search of - is left out. With a search the
+ * outcome depends on the speed of the machine.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class Tournament {
+
+    private static final String DEFAULT_OUTPUT = "tournament.txt";
+    private static final int DEFAULT_DETECTIVES = 3;
+    private static final long SEED_FACTOR = 0x9E3779B97F4A7C15L;
+    private static final String PLANNER = "plan";
+
+    private final Board board;
+    private final int detectiveNum;
+    private final long seed;
+    private final String logDirectory;
+    private long searchMillis = -1;
+    private long detectiveMillis = -1;
+    private boolean detectivePlanner = false;
+
+    /**
+     * Constructor.
+     *
+     * @param network The content of the board network, it is parsed once for all games
+     * @param detectiveNum The number of detectives of every game
+     * @param seed The seed for the startpositions
+     * @param logDirectory The directory for one logfile per game or null to log nothing
+     * @throws IllegalArgumentException if the number of detectives is not allowed or the network
+     * has invalid values
+     */
+    public Tournament(String network, int detectiveNum, long seed, String logDirectory)
+            throws IllegalArgumentException {
+        if (!Config.DETECTIVES_NUMS.contains(detectiveNum)) {
+            throw new IllegalArgumentException(
+                    String.format("%d detectives are not allowed", detectiveNum));
+        }
+        this.board = new Board(new StringReader(network));
+        this.detectiveNum = detectiveNum;
+        this.seed = seed;
+        this.logDirectory = logDirectory;
+    }
+
+    /**
+     * Plays games on a work-stealing pool with one thread per core.
+     *
+     * @param games The number of games to play
+     * @return The statistics of all games
+     */
+    public TournamentStatistics play(int games) {
+        TournamentStatistics statistics = new TournamentStatistics();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            pool.invoke(new Games(statistics, 0, games));
+        } finally {
+            pool.shutdown();
+        }
+        return statistics;
+    }
+
+    /**
+     * Lets MisterX look ahead in every game.
+     *
+     * @param searchMillis The time for one move in milliseconds or -1 to rank the moves only
+     */
+    public void setSearchMillis(long searchMillis) {
+        this.searchMillis = searchMillis;
+    }
+
+    /**
+     * Lets the detectives search in every game.
+     *
+     * @param detectiveMillis The time for one move in milliseconds or -1 to use the tactics
+     */
+    public void setDetectiveMillis(long detectiveMillis) {
+        this.detectiveMillis = detectiveMillis;
+    }
+
+    /**
+     * Chooses the search of the detectives.
+     *
+     * @param detectivePlanner True to search by @see DetectivePlanner, false by @see
+     * MonteCarloSearch
+     */
+    public void setDetectivePlanner(boolean detectivePlanner) {
+        this.detectivePlanner = detectivePlanner;
+    }
+
+    /**
+     * Plays a single game.
+     *
+     * @param index The number of the game
+     * @param statistics The statistics to add the game to
+     */
+    private void playGame(int index, TournamentStatistics statistics) {
+        Random random = new Random(this.seed + index * SEED_FACTOR);
+        GameEngine engine = new GameEngine(this.board, new HeadlessGUI(), true, this.detectiveNum,
+                true, random);
+        TournamentStatistics.Game game = new TournamentStatistics.Game();
+        engine.setTurnObserver(game);
+        if (this.searchMillis >= 0) {
+            engine.setMisterXSearch(
+                    new MisterXSearch(this.board, this.searchMillis, Config.SEARCH_MAX_ROUNDS));
+        }
+        if (this.detectiveMillis >= 0 && this.detectivePlanner) {
+            engine.setDetectiveSearch(new DetectivePlanner(this.board, this.detectiveMillis,
+                    Config.PLANNER_SAMPLES, Config.PLANNER_ROUNDS, random.nextLong()));
+        } else if (this.detectiveMillis >= 0) {
+            // The games run in parallel already
+            engine.setDetectiveSearch(new MonteCarloSearch(this.board, this.detectiveMillis,
+                    Integer.MAX_VALUE, 1, random.nextLong()));
+        }
+        LogSink sink = this.logDirectory == null ? new NoOpLogSink()
+                : new FileLogSink(Paths.get(this.logDirectory, "game-" + index + ".log")
+                        .toString());
+        engine.setLogger(new Logger(sink));
+        engine.start();
+        WinState state = engine.runToCompletion();
+        statistics.add(game, state, engine.getGameRound());
+    }
+
+    /**
+     * A task that plays a range of games. Splits itself until only one game is left, so idle
+     * threads can steal the remaining games.
+     */
+    private class Games extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TournamentStatistics statistics;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructor.
+         *
+         * @param statistics The statistics to add the games to
+         * @param from The number of the first game
+         * @param to The number behind the last game
+         */
+        private Games(TournamentStatistics statistics, int from, int to) {
+            this.statistics = statistics;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                Tournament.this.playGame(this.from, this.statistics);
+            } else if (this.to - this.from > 1) {
+                int middle = (this.from + this.to) >>> 1;
+                RecursiveAction.invokeAll(new Games(this.statistics, this.from, middle),
+                        new Games(this.statistics, middle, this.to));
+            }
+        }
+    }
+
+    /**
+     * Helper for @see main. Parses a search time.
+     *
+     * @param args The arguments
+     * @param index The index of the search time
+     * @return The time in milliseconds or -1 if it is missing or -
+     * @throws NumberFormatException if the time is no number
+     */
+    private static long parseMillis(String[] args, int index) throws NumberFormatException {
+        return args.length > index && !args[index].equals("-") ? Long.parseLong(args[index])
+                : -1;
+    }
+
+    /**
+     * Runs a tournament from the command line and writes the summary to a file.
+     *
+     * @param args network file, number of games, optional number of detectives, seed, output
+     * file, log directory, search times of MisterX and the detectives and the search of the
+     * detectives
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 9) {
+            System.err.println("Usage: Tournament <network.json> <games> [detectives] [seed] "
+                    + "[output] [logdir] [search_ms] [detective_ms] [mcts|plan]");
+            System.exit(1);
+        }
+        try {
+            String network = new String(Files.readAllBytes(Paths.get(args[0])),
+                    StandardCharsets.UTF_8);
+            int games = Integer.parseInt(args[1]);
+            int detectiveNum = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DETECTIVES;
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+            String output = args.length > 4 ? args[4] : DEFAULT_OUTPUT;
+            String logDirectory = args.length > 5 && !args[5].equals("-") ? args[5] : null;
+            long searchMillis = Tournament.parseMillis(args, 6);
+            long detectiveMillis = Tournament.parseMillis(args, 7);
+
+            long begin = System.nanoTime();
+            Tournament tournament = new Tournament(network, detectiveNum, seed, logDirectory);
+            tournament.setSearchMillis(searchMillis);
+            tournament.setDetectiveMillis(detectiveMillis);
+            tournament.setDetectivePlanner(args.length > 8 && args[8].equals(PLANNER));
+            TournamentStatistics statistics = tournament.play(games);
+            long millis = (System.nanoTime() - begin) / (long) Config.NANO_TO_MILI_FACTOR;
+
+            String summary = String.format("detectives=%d seed=%d threads=%d time_ms=%d%n",
+                    detectiveNum, seed, Runtime.getRuntime().availableProcessors(), millis)
+                    + statistics.getSummary();
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(output))) {
+                writer.write(summary);
+            }
+            System.out.print(summary);
+        } catch (IOException | IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(1);
+        }
+    }
+}
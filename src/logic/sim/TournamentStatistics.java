@@ -0,0 +1,236 @@
+package logic.sim;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import logic.GameEngine.WinState;
+import logic.TurnObserver;
+import logic.player.Player;
+import logic.player.TacticResult;
+
+/**
+ * Collects the results of many simulated games: the winstates, the length of the games, the time
+ * the AI needed per move and how often each tactic has been chosen. Every game records into its
+ * own @see Game which is merged into the statistics when the game is over, so the statistics can
+ * be shared between threads.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class TournamentStatistics {
+
+    private static final double NANO_TO_MICRO_FACTOR = 1E3;
+
+    private final Map<WinState, Integer> outcomes = new EnumMap<>(WinState.class);
+    private final Map<Integer, Integer> misterXTactics = new TreeMap<>();
+    private final Map<Integer, Integer> detectiveTactics = new TreeMap<>();
+    private final Latencies misterXLatencies = new Latencies();
+    private final Latencies detectiveLatencies = new Latencies();
+    private int games = 0;
+    private long rounds = 0;
+    private int minRounds = Integer.MAX_VALUE;
+    private int maxRounds = 0;
+
+    /**
+     * The record of a single game. Is registered as observer of the game and must only be used by
+     * the thread that plays the game.
+     */
+    public static class Game implements TurnObserver {
+
+        private final Map<Integer, Integer> misterXTactics = new TreeMap<>();
+        private final Map<Integer, Integer> detectiveTactics = new TreeMap<>();
+        private final Latencies misterXLatencies = new Latencies();
+        private final Latencies detectiveLatencies = new Latencies();
+
+        @Override
+        public void aiMovePlayed(Player player, TacticResult result, long nanos) {
+            int id = result == null ? 0 : result.getId();
+            if (player.isMisterX()) {
+                this.misterXTactics.merge(id, 1, Integer::sum);
+                this.misterXLatencies.add(nanos);
+            } else {
+                this.detectiveTactics.merge(id, 1, Integer::sum);
+                this.detectiveLatencies.add(nanos);
+            }
+        }
+    }
+
+    /**
+     * Adds a finished game.
+     *
+     * @param game The record of the game
+     * @param state The winstate of the game
+     * @param rounds The number of rounds played
+     */
+    public synchronized void add(Game game, WinState state, int rounds) {
+        this.games++;
+        this.outcomes.merge(state, 1, Integer::sum);
+        this.rounds += rounds;
+        this.minRounds = Math.min(this.minRounds, rounds);
+        this.maxRounds = Math.max(this.maxRounds, rounds);
+        game.misterXTactics.forEach((id, count) -> this.misterXTactics.merge(id, count,
+                Integer::sum));
+        game.detectiveTactics.forEach((id, count) -> this.detectiveTactics.merge(id, count,
+                Integer::sum));
+        this.misterXLatencies.addAll(game.misterXLatencies);
+        this.detectiveLatencies.addAll(game.detectiveLatencies);
+    }
+
+    /**
+     * Builds a compact summary of all games.
+     *
+     * @return The summary, one statistic per line
+     */
+    public synchronized String getSummary() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("games=").append(this.games).append('\n');
+        builder.append("outcomes");
+        for (WinState state : WinState.values()) {
+            if (state != WinState.NO_WIN) {
+                builder.append(' ').append(state).append('=')
+                        .append(this.getOutcome(state));
+            }
+        }
+        builder.append('\n');
+        builder.append(String.format(Locale.US, "rounds min=%d avg=%.2f max=%d%n",
+                this.games == 0 ? 0 : this.minRounds,
+                this.games == 0 ? 0.0 : (double) this.rounds / this.games, this.maxRounds));
+        builder.append("latency_us misterx ").append(this.misterXLatencies.summary()).append('\n');
+        builder.append("latency_us detective ").append(this.detectiveLatencies.summary())
+                .append('\n');
+        builder.append("tactics misterx").append(TournamentStatistics.format(this.misterXTactics))
+                .append('\n');
+        builder.append("tactics detective")
+                .append(TournamentStatistics.format(this.detectiveTactics)).append('\n');
+        return builder.toString();
+    }
+
+    /**
+     * Helper for @see getSummary. Formats the usage of the tactics.
+     *
+     * @param tactics The number of moves by tactic id
+     * @return The formatted usage
+     */
+    private static String format(Map<Integer, Integer> tactics) {
+        StringBuilder builder = new StringBuilder();
+        tactics.forEach((id, count) -> builder.append(' ').append(id).append('=').append(count));
+        return builder.toString();
+    }
+
+    // Getter ##################################################################
+    /**
+     * Getter for the number of finished games.
+     *
+     * @return The number of games
+     */
+    public synchronized int getGames() {
+        return this.games;
+    }
+
+    /**
+     * Getter for the number of games that ended with a winstate.
+     *
+     * @param state The winstate
+     * @return The number of games
+     */
+    public synchronized int getOutcome(WinState state) {
+        return this.outcomes.getOrDefault(state, 0);
+    }
+
+    /**
+     * Getter for the number of rounds of all games.
+     *
+     * @return The number of rounds
+     */
+    public synchronized long getRounds() {
+        return this.rounds;
+    }
+
+    /**
+     * Getter for the number of moves played by a tactic.
+     *
+     * @param misterX True for the tactics of MisterX, false for the detectives
+     * @param id The id of the tactic, 0 if no move was possible
+     * @return The number of moves
+     */
+    public synchronized int getTacticUsage(boolean misterX, int id) {
+        return (misterX ? this.misterXTactics : this.detectiveTactics).getOrDefault(id, 0);
+    }
+
+    /**
+     * Getter for a percentile of the time the AI needed per move.
+     *
+     * @param misterX True for MisterX, false for the detectives
+     * @param percentile The percentile between 0 and 100
+     * @return The time in nanoseconds or 0 if no move has been played
+     */
+    public synchronized long getLatencyPercentile(boolean misterX, double percentile) {
+        return (misterX ? this.misterXLatencies : this.detectiveLatencies).percentile(percentile);
+    }
+
+    /**
+     * A growing list of latencies in nanoseconds.
+     */
+    private static class Latencies {
+
+        private long[] values = new long[64];
+        private int size = 0;
+        private boolean sorted = true;
+
+        /**
+         * Adds a latency.
+         *
+         * @param nanos The latency
+         */
+        private void add(long nanos) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = nanos;
+            this.sorted = false;
+        }
+
+        /**
+         * Adds all latencies of another list.
+         *
+         * @param other The other list
+         */
+        private void addAll(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                this.add(other.values[i]);
+            }
+        }
+
+        /**
+         * Gets a percentile by the nearest rank method.
+         *
+         * @param percentile The percentile between 0 and 100
+         * @return The latency or 0 if the list is empty
+         */
+        private long percentile(double percentile) {
+            if (this.size == 0) {
+                return 0;
+            }
+            if (!this.sorted) {
+                Arrays.sort(this.values, 0, this.size);
+                this.sorted = true;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * this.size);
+            return this.values[Math.max(0, Math.min(this.size, rank) - 1)];
+        }
+
+        /**
+         * Formats the count and the most important percentiles in microseconds.
+         *
+         * @return The formatted latencies
+         */
+        private String summary() {
+            return String.format(Locale.US, "n=%d p50=%.1f p90=%.1f p99=%.1f max=%.1f",
+                    this.size, this.percentile(50) / NANO_TO_MICRO_FACTOR,
+                    this.percentile(90) / NANO_TO_MICRO_FACTOR,
+                    this.percentile(99) / NANO_TO_MICRO_FACTOR,
+                    this.percentile(100) / NANO_TO_MICRO_FACTOR);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package logic.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes to another sink in the background. The text is put into a bounded queue which is
+ * drained by a writer thread. The target is flushed after a number of entries or after an
+ * interval, whichever comes first. If the queue is full the caller waits until the writer thread
+ * has caught up. An IOException of the writer thread is thrown by the next call.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public final class AsyncLogSink implements LogSink {
+
+    private final LogSink target;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long flushInterval;
+    private final Thread thread;
+    private final Thread shutdownHook;
+    private final AtomicBoolean closing = new AtomicBoolean(false);
+    private volatile IOException error = null;
+    private volatile boolean closed = false;
+
+    // Only used by the writer thread
+    private int unflushed = 0;
+    private long lastFlush = System.nanoTime();
+
+    /**
+     * An entry of the queue. Either text to write, a flush request or the request to close.
+     */
+    private static final class Entry {
+
+        private final String text;
+        private final boolean begin;
+        private final CountDownLatch done;
+        private final boolean close;
+
+        /**
+         * Constructor.
+         *
+         * @param text The text to write or null
+         * @param begin If the text begins a new game
+         * @param done The latch to count down when all entries before have been written or null
+         * @param close If the writer thread should stop
+         */
+        private Entry(String text, boolean begin, CountDownLatch done, boolean close) {
+            this.text = text;
+            this.begin = begin;
+            this.done = done;
+            this.close = close;
+        }
+    }
+
+    /**
+     * Constructor. Starts the writer thread. The target is closed when the application exits.
+     *
+     * @param target The sink to write to, only used by the writer thread
+     * @param capacity The number of entries that can wait to be written
+     * @param batchSize The number of entries after which the target is flushed
+     * @param flushInterval The time in milliseconds after which the target is flushed
+     * @throws IllegalArgumentException if a size or the interval is not positive
+     */
+    public AsyncLogSink(LogSink target, int capacity, int batchSize, long flushInterval)
+            throws IllegalArgumentException {
+        if (capacity <= 0 || batchSize <= 0 || flushInterval <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = TimeUnit.MILLISECONDS.toNanos(flushInterval);
+        this.thread = new Thread(this::run, "log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        // Write the lines of an unfinished game when the application exits
+        this.shutdownHook = new Thread(() -> {
+            try {
+                this.close();
+            } catch (IOException ex) {
+                // Nobody left to tell
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+    }
+
+    @Override
+    public void begin(String text) throws IOException {
+        this.put(new Entry(text, true, null, false));
+    }
+
+    @Override
+    public void write(String text) throws IOException {
+        this.put(new Entry(text, false, null, false));
+    }
+
+    /**
+     * Waits until all text passed before has been written to the target.
+     *
+     * @throws IOException if the text could not be written
+     */
+    @Override
+    public void flush() throws IOException {
+        CountDownLatch done = new CountDownLatch(1);
+        this.put(new Entry(null, false, done, false));
+        this.await(done);
+        this.checkError();
+    }
+
+    /**
+     * Writes all text passed before, closes the target and stops the writer thread. An earlier
+     * error of the writer thread is thrown after the target has been closed.
+     *
+     * @throws IOException if the text could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.closing.compareAndSet(false, true)) {
+            return;
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        this.enqueue(new Entry(null, false, done, true));
+        this.closed = true;
+        this.await(done);
+        try {
+            Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+        } catch (IllegalStateException ex) {
+            // The application is already shutting down
+        }
+        this.checkError();
+    }
+
+    /**
+     * Helper to put an entry into the queue. Waits while the queue is full.
+     *
+     * @param entry The entry
+     * @throws IOException if the writer thread failed to write before or the sink is closed
+     */
+    private void put(Entry entry) throws IOException {
+        this.checkError();
+        if (this.closed) {
+            throw new IOException("Log is closed");
+        }
+        this.enqueue(entry);
+    }
+
+    /**
+     * Helper for @see put and @see close. Puts an entry into the queue without checking for
+     * errors. Waits while the queue is full.
+     *
+     * @param entry The entry
+     * @throws IOException if the waiting thread got interrupted
+     */
+    private void enqueue(Entry entry) throws IOException {
+        try {
+            this.queue.put(entry);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Helper to wait for a latch.
+     *
+     * @param done The latch
+     * @throws IOException if the waiting thread got interrupted
+     */
+    private void await(CountDownLatch done) throws IOException {
+        try {
+            done.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Throws and resets the last error of the writer thread.
+     *
+     * @throws IOException the last error
+     */
+    private void checkError() throws IOException {
+        IOException ex = this.error;
+        if (ex != null) {
+            this.error = null;
+            throw ex;
+        }
+    }
+
+    // Writer thread ###########################################################
+    /**
+     * The loop of the writer thread. Takes all waiting entries at once and writes them.
+     */
+    private void run() {
+        List<Entry> batch = new ArrayList<>(this.batchSize);
+        boolean running = true;
+        while (running) {
+            try {
+                Entry first = this.queue.poll(this.flushInterval, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    this.queue.drainTo(batch, this.batchSize - 1);
+                }
+            } catch (InterruptedException ex) {
+                // Only the writer itself decides when to stop
+            }
+            for (Entry entry : batch) {
+                running &= this.handle(entry);
+            }
+            batch.clear();
+            if (this.unflushed > 0 && System.nanoTime() - this.lastFlush >= this.flushInterval) {
+                this.flushTarget();
+            }
+        }
+    }
+
+    /**
+     * Helper for @see run. Writes a single entry.
+     *
+     * @param entry The entry
+     * @return False if the writer thread should stop
+     */
+    private boolean handle(Entry entry) {
+        if (entry.text != null) {
+            try {
+                if (entry.begin) {
+                    this.target.begin(entry.text);
+                } else {
+                    this.target.write(entry.text);
+                }
+            } catch (IOException ex) {
+                this.error = ex;
+            }
+            this.unflushed++;
+            if (this.unflushed >= this.batchSize) {
+                this.flushTarget();
+            }
+        }
+        if (entry.close) {
+            try {
+                this.target.close();
+            } catch (IOException ex) {
+                this.error = ex;
+            }
+        } else if (entry.done != null) {
+            this.flushTarget();
+        }
+        if (entry.done != null) {
+            entry.done.countDown();
+        }
+        return !entry.close;
+    }
+
+    /**
+     * Helper for @see run. Flushes the target.
+     */
+    private void flushTarget() {
+        try {
+            this.target.flush();
+        } catch (IOException ex) {
+            this.error = ex;
+        }
+        this.unflushed = 0;
+        this.lastFlush = System.nanoTime();
+    }
+}
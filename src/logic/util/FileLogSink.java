@@ -0,0 +1,58 @@
+package logic.util;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the log of a game into a file that is kept open. Every new game clears the file.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class FileLogSink implements LogSink {
+
+    private final String fileName;
+    private Writer writer = null;
+
+    /**
+     * Constructor. The file is opened by the first text.
+     *
+     * @param fileName The file to write to
+     */
+    public FileLogSink(String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public void begin(String text) throws IOException {
+        this.close();
+        this.writer = new BufferedWriter(new FileWriter(this.fileName));
+        this.writer.write(text);
+    }
+
+    @Override
+    public void write(String text) throws IOException {
+        if (this.writer == null) {
+            this.writer = new BufferedWriter(new FileWriter(this.fileName, true));
+        }
+        this.writer.write(text);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.writer != null) {
+            Writer open = this.writer;
+            this.writer = null;
+            open.close();
+        }
+    }
+
+}
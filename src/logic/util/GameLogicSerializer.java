@@ -6,7 +6,7 @@ import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import java.lang.reflect.Type;
 import java.util.List;
-import logic.GameLogic;
+import logic.GameEngine;
 import logic.player.Detective;
 
 /**
@@ -14,10 +14,10 @@ import logic.player.Detective;
  *
  * @author Guillaume Fournier-Mayer (tinf101922)
  */
-public class GameLogicSerializer implements JsonSerializer<GameLogic> {
+public class GameLogicSerializer implements JsonSerializer<GameEngine> {
 
     @Override
-    public JsonElement serialize(GameLogic logic, Type typeOfSrc,
+    public JsonElement serialize(GameEngine logic, Type typeOfSrc,
             JsonSerializationContext context) {
         JsonObject jLogic = new JsonObject();
         // Set the field and serialize MisterX
@@ -31,7 +31,7 @@ public class GameLogicSerializer implements JsonSerializer<GameLogic> {
         jLogic.add("detectives", jDetectives);
         jLogic.addProperty("whosTurn", logic.getWhosTurn());
         jLogic.addProperty("currRoundNo", logic.getGameRound());
-        jLogic.addProperty("gameIsWon", logic.isGameWon() != GameLogic.WinState.NO_WIN);
+        jLogic.addProperty("gameIsWon", logic.isGameWon() != GameEngine.WinState.NO_WIN);
         return jLogic;
     }
 
@@ -16,50 +16,6 @@ import java.util.Iterator;
  */
 public class JsonValidator {
 
-    public static boolean validateBoard(JsonElement root) {
-
-        if (root == null || !root.isJsonObject() || root.getAsJsonObject().get("stations") == null
-                || !root.getAsJsonObject().get("stations").isJsonArray()) {
-            return false;
-        }
-        boolean validate = true;
-        for (JsonElement jStation : root.getAsJsonObject().get("stations").getAsJsonArray()) {
-            validate &= isObject(jStation);
-            if (validate) {
-                JsonObject station = jStation.getAsJsonObject();
-                JsonElement id = station.get("identifier");
-                JsonElement jPosition = station.get("position");
-                validate &= isObject(jPosition);
-                if (validate) {
-                    JsonObject position = jPosition.getAsJsonObject();
-                    JsonElement x = position.get("x");
-                    JsonElement y = position.get("y");
-                    validate &= isNumber(x) && isNumber(y);
-                }
-                JsonElement jTube = station.get("tube");
-                JsonElement jBus = station.get("bus");
-                JsonElement jCab = station.get("cab");
-                JsonElement jBoat = station.get("boat");
-
-                validate &= isArray(jTube) && isArray(jBus) && isArray(jCab) && isArray(jBoat);
-                if (validate) {
-                    JsonArray tube = jTube.getAsJsonArray();
-                    JsonArray bus = jTube.getAsJsonArray();
-                    JsonArray cab = jTube.getAsJsonArray();
-                    JsonArray boat = jTube.getAsJsonArray();
-
-                    validate &= isNumericArray(tube) && isNumericArray(bus) && isNumericArray(cab)
-                            && isNumericArray(boat);
-                }
-
-                validate &= isNumber(id);
-            }
-
-        }
-
-        return validate;
-    }
-
     public static boolean validateSaveState(JsonElement root) {
 
         if (root == null || !root.isJsonObject()) {
@@ -139,14 +95,6 @@ public class JsonValidator {
                 && element.getAsJsonPrimitive().isBoolean();
     }
 
-    private static boolean isObject(JsonElement element) {
-        return element != null && element.isJsonObject();
-    }
-
-    private static boolean isArray(JsonElement element) {
-        return element != null && element.isJsonArray();
-    }
-
     private static boolean isNumericArray(JsonArray array) {
         Iterator<JsonElement> it = array.iterator();
 
@@ -0,0 +1,42 @@
+package logic.util;
+
+import java.io.IOException;
+
+/**
+ * The target a @see Logger writes the lines of a game to.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public interface LogSink {
+
+    /**
+     * Starts the log of a new game.
+     *
+     * @param text The first text of the game
+     * @throws IOException if an IO Error occurs
+     */
+    public void begin(String text) throws IOException;
+
+    /**
+     * Writes text to the log of the actual game.
+     *
+     * @param text The text
+     * @throws IOException if an IO Error occurs
+     */
+    public void write(String text) throws IOException;
+
+    /**
+     * Makes sure that all text written before has reached the target.
+     *
+     * @throws IOException if an IO Error occurs
+     */
+    public void flush() throws IOException;
+
+    /**
+     * Flushes and releases the target. Closing a closed sink has no effect.
+     *
+     * @throws IOException if an IO Error occurs
+     */
+    public void close() throws IOException;
+
+}
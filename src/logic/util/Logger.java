@@ -1,12 +1,10 @@
 package logic.util;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Formatter;
 import java.util.List;
 import java.util.Locale;
-import logic.GameLogic;
+import logic.GameEngine;
 import logic.Ticket;
 import logic.board.Station;
 import logic.player.Detective;
@@ -14,12 +12,37 @@ import logic.player.MisterX;
 import logic.player.Player;
 
 /**
- * A Logger that logs the Game into a File
+ * A Logger that logs a Game as CSV lines into a @see LogSink. Every game owns its own Logger.
  *
  * @author Guillaume Fournier-Mayer (tinf101922)
  */
 public class Logger {
 
+    private static final ThreadLocal<Formatter> FORMATTER =
+            ThreadLocal.withInitial(() -> new Formatter(new StringBuilder()));
+
+    private final LogSink sink;
+
+    /**
+     * Constructor.
+     *
+     * @param sink The sink to write to
+     */
+    public Logger(LogSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Creates a Logger that writes in the background into the logfile defined by Config.
+     *
+     * @return The Logger
+     */
+    public static Logger createDefault() {
+        return new Logger(new AsyncLogSink(new FileLogSink(GameEngine.Config.FILE_NAME),
+                GameEngine.Config.LOG_BUFFER_SIZE, GameEngine.Config.LOG_BATCH_SIZE,
+                GameEngine.Config.LOG_FLUSH_INTERVAL));
+    }
+
     /**
      * Prints the Gamesettings into a file.
      *
@@ -27,42 +50,37 @@ public class Logger {
      * @param detectives All Detectives
      * @throws IOException if an IO Error occurs
      */
-    public static void printNewGame(MisterX misterX, List<Detective> detectives)
-            throws IOException {
-        BufferedWriter writer = new BufferedWriter(new FileWriter(GameLogic.Config.FILE_NAME));
-        Formatter formatter = new Formatter();
+    public void printNewGame(MisterX misterX, List<Detective> detectives) throws IOException {
+        Formatter formatter = Logger.getFormatter();
         formatter.format("%d,%b,%b,%d", detectives.size() + 1, misterX.isAi(),
                 detectives.get(0).isAi(), misterX.getCurrentStation().getIdentifier());
         for (Detective detective : detectives) {
             formatter.format(",%d", detective.getCurrentStation().getIdentifier());
         }
-        writer.write(formatter.toString());
-        writer.newLine();
-        writer.close();
+        formatter.format("%n");
+        this.sink.begin(formatter.toString());
     }
 
     /**
-     * Prints the winningstate to the logfile.
-     * 
+     * Prints the winningstate to the logfile and waits until the whole game has been written.
+     *
      * @param state The Winningstate
      * @throws IOException if an IO Error occurs
      */
-    public static void printEndGame(GameLogic.WinState state) throws IOException {
-        BufferedWriter writer =
-                new BufferedWriter(new FileWriter(GameLogic.Config.FILE_NAME, true));
+    public void printEndGame(GameEngine.WinState state) throws IOException {
         switch (state) {
             case MISTERX_CATCHED:
             case MISTERX_SURROUNDED:
-                writer.append("1");
+                this.sink.write("1");
                 break;
             case DETECTIVES_BLOCKED:
             case MISTERX_WIN:
-                writer.append("0");
+                this.sink.write("0");
                 break;
             default:
                 throw new IllegalArgumentException();
         }
-        writer.close();
+        this.sink.flush();
     }
 
     /**
@@ -74,12 +92,9 @@ public class Logger {
      * @param ranking The ranking of the Move
      * @throws IOException if an IO Error occurs
      */
-    public static void printMove(Player player, Station from, int tactic, float ranking)
+    public void printMove(Player player, Station from, int tactic, float ranking)
             throws IOException {
-
-        BufferedWriter writer =
-                new BufferedWriter(new FileWriter(GameLogic.Config.FILE_NAME, true));
-        Formatter formatter = new Formatter();
+        Formatter formatter = Logger.getFormatter();
         formatter.format("%d,%d,%d", player.getId(), from.getIdentifier(),
                 player.getCurrentStation().getIdentifier());
 
@@ -88,10 +103,45 @@ public class Logger {
         }
 
         formatter.format(Locale.US, ",%d,%f", tactic, ranking);
+        formatter.format("%n");
+        this.sink.write(formatter.toString());
+    }
 
-        writer.append(formatter.toString());
-        writer.newLine();
-        writer.close();
+    /**
+     * Waits until all lines have been written to the sink.
+     *
+     * @throws IOException if an IO Error occurs
+     */
+    public void flush() throws IOException {
+        this.sink.flush();
+    }
+
+    /**
+     * Writes all lines and closes the sink.
+     *
+     * @throws IOException if an IO Error occurs
+     */
+    public void close() throws IOException {
+        this.sink.close();
+    }
 
+    /**
+     * Getter for the sink.
+     *
+     * @return The sink
+     */
+    public LogSink getSink() {
+        return this.sink;
+    }
+
+    /**
+     * Gets the empty Formatter of the calling thread.
+     *
+     * @return The Formatter
+     */
+    private static Formatter getFormatter() {
+        Formatter formatter = Logger.FORMATTER.get();
+        ((StringBuilder) formatter.out()).setLength(0);
+        return formatter;
     }
 }
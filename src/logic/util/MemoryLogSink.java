@@ -0,0 +1,41 @@
+package logic.util;
+
+/**
+ * Keeps the log of the actual game in memory. Is used by tests and benchmarks which should not
+ * touch the disk.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class MemoryLogSink implements LogSink {
+
+    private final StringBuilder content = new StringBuilder();
+
+    @Override
+    public synchronized void begin(String text) {
+        this.content.setLength(0);
+        this.content.append(text);
+    }
+
+    @Override
+    public synchronized void write(String text) {
+        this.content.append(text);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Getter for the log of the actual game.
+     *
+     * @return The log
+     */
+    public synchronized String getContent() {
+        return this.content.toString();
+    }
+
+}
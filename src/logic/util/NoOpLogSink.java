@@ -0,0 +1,26 @@
+package logic.util;
+
+/**
+ * Drops everything. Is used for simulated games whose log nobody reads.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class NoOpLogSink implements LogSink {
+
+    @Override
+    public void begin(String text) {
+    }
+
+    @Override
+    public void write(String text) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
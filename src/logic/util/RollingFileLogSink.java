@@ -0,0 +1,119 @@
+package logic.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Appends the logs of all games to a file. When a new game begins and the file has reached its
+ * maximum size, the file is renamed to "name.1", older files are shifted to "name.2" and so on
+ * and the oldest file is deleted. So the log of a game is never split between two files. The
+ * size is counted in characters, which equals the bytes for the logged CSV lines.
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class RollingFileLogSink implements LogSink {
+
+    private final String fileName;
+    private final long maxSize;
+    private final int maxFiles;
+    private Writer writer = null;
+    private long size = 0;
+
+    /**
+     * Constructor. The file is opened by the first text.
+     *
+     * @param fileName The file to write to
+     * @param maxSize The size after which the file is rotated
+     * @param maxFiles The number of rotated files to keep
+     * @throws IllegalArgumentException if the size is not positive or the number of files is
+     * negative
+     */
+    public RollingFileLogSink(String fileName, long maxSize, int maxFiles)
+            throws IllegalArgumentException {
+        if (maxSize <= 0 || maxFiles < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.fileName = fileName;
+        this.maxSize = maxSize;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public void begin(String text) throws IOException {
+        this.open();
+        if (this.size >= this.maxSize) {
+            this.rotate();
+        }
+        this.write(text);
+    }
+
+    @Override
+    public void write(String text) throws IOException {
+        this.open();
+        this.writer.write(text);
+        this.size += text.length();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.writer != null) {
+            Writer open = this.writer;
+            this.writer = null;
+            open.close();
+        }
+    }
+
+    /**
+     * Helper to open the file for appending if it is not open.
+     *
+     * @throws IOException if an IO Error occurs
+     */
+    private void open() throws IOException {
+        if (this.writer == null) {
+            File file = new File(this.fileName);
+            this.size = file.length();
+            this.writer = new BufferedWriter(new FileWriter(file, true));
+        }
+    }
+
+    /**
+     * Helper for @see begin. Shifts all rotated files and starts an empty file.
+     *
+     * @throws IOException if a file could not be renamed or deleted
+     */
+    private void rotate() throws IOException {
+        this.close();
+        File oldest = this.getRotatedFile(this.maxFiles);
+        if (oldest.exists() && !oldest.delete()) {
+            throw new IOException(String.format("Could not delete \"%s\"", oldest));
+        }
+        for (int i = this.maxFiles - 1; i >= 0; i--) {
+            File file = this.getRotatedFile(i);
+            if (file.exists() && !file.renameTo(this.getRotatedFile(i + 1))) {
+                throw new IOException(String.format("Could not rename \"%s\"", file));
+            }
+        }
+        this.open();
+    }
+
+    /**
+     * Helper for @see rotate.
+     *
+     * @param index The number of the rotated file, 0 for the actual file
+     * @return The file
+     */
+    private File getRotatedFile(int index) {
+        return new File(index == 0 ? this.fileName : this.fileName + "." + index);
+    }
+
+}
@@ -3,7 +3,7 @@ package gui;
 import java.util.List;
 import java.util.Set;
 import logic.GUIConnector;
-import logic.GameLogic;
+import logic.GameEngine;
 import logic.Ticket;
 import logic.board.Station;
 import logic.player.Player;
@@ -34,7 +34,7 @@ public class FakeGUI implements GUIConnector {
     }
 
     @Override
-    public void showWinner(GameLogic.WinState state) {
+    public void showWinner(GameEngine.WinState state) {
 
     }
 
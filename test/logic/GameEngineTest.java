@@ -0,0 +1,159 @@
+package logic;
+
+import gui.FakeGUI;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import logic.board.Board;
+import logic.player.Detective;
+import logic.player.MisterX;
+import logic.util.Logger;
+import logic.util.MemoryLogSink;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameEngineTest {
+
+    private static Board board;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            GameEngineTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void runToCompletion_AllAi() {
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        detectives.add(new Detective(2, board.getStation(29), true));
+        detectives.add(new Detective(3, board.getStation(34), true));
+
+        GameEngine engine = new GameEngine(board, new FakeGUI(), misterX, detectives);
+        MemoryLogSink sink = new MemoryLogSink();
+        engine.setLogger(new Logger(sink));
+        engine.start();
+        GameEngine.WinState state = engine.runToCompletion();
+
+        Assert.assertNotEquals(GameEngine.WinState.NO_WIN, state);
+        Assert.assertEquals(state, engine.getWinState());
+        Assert.assertTrue(engine.isStopped());
+        Assert.assertTrue(sink.getContent().startsWith("4,true,true,13,26,29,34"));
+        Assert.assertTrue(sink.getContent().endsWith("0") || sink.getContent().endsWith("1"));
+    }
+
+    @Test
+    public void runToCompletion_HumanPlaying() {
+        MisterX misterX = new MisterX(board.getStation(13), false);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        detectives.add(new Detective(2, board.getStation(29), true));
+        detectives.add(new Detective(3, board.getStation(34), true));
+
+        GameEngine engine = new GameEngine(board, new FakeGUI(), misterX, detectives);
+        engine.setLogger(new Logger(new MemoryLogSink()));
+        engine.start();
+
+        Assert.assertEquals(GameEngine.WinState.NO_WIN, engine.runToCompletion());
+        Assert.assertFalse(engine.isStopped());
+        Assert.assertEquals(1, engine.getGameRound());
+    }
+
+    @Test
+    public void step_NotStarted() {
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+
+        GameEngine engine = new GameEngine(board, new FakeGUI(), misterX, detectives);
+        engine.step();
+
+        Assert.assertTrue(engine.isStopped());
+        Assert.assertEquals(0, engine.getGameRound());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void start_Twice() {
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+
+        GameEngine engine = new GameEngine(board, new FakeGUI(), misterX, detectives);
+        engine.setLogger(new Logger(new MemoryLogSink()));
+        engine.start();
+        engine.start();
+    }
+
+    /**
+     * Plays a whole game with AI players only.
+     *
+     * @return The log of the game
+     */
+    private static String playGame() {
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        detectives.add(new Detective(2, board.getStation(29), true));
+        detectives.add(new Detective(3, board.getStation(34), true));
+
+        GameEngine engine = new GameEngine(board, new FakeGUI(), misterX, detectives);
+        MemoryLogSink sink = new MemoryLogSink();
+        engine.setLogger(new Logger(sink));
+        engine.start();
+        engine.runToCompletion();
+        return sink.getContent();
+    }
+
+    @Test
+    public void sharedBoard_SameStations() {
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        GameEngine first = new GameEngine(board, new FakeGUI(), misterX, detectives);
+
+        String log = GameEngineTest.playGame();
+        Assert.assertEquals(log, GameEngineTest.playGame());
+        Assert.assertTrue(first.getDetectives().get(0).getOccupancy().contains(26));
+        Assert.assertEquals(1, first.getDetectives().get(0).getOccupancy().size());
+    }
+
+    @Test
+    public void sharedBoard_Concurrent() throws Exception {
+        String expected = GameEngineTest.playGame();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> logs = new LinkedList<>();
+            for (int i = 0; i < 8; i++) {
+                logs.add(executor.submit(GameEngineTest::playGame));
+            }
+            for (Future<String> log : logs) {
+                Assert.assertEquals(expected, log.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void occupancy_SameStation() {
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        detectives.add(new Detective(2, board.getStation(26), true));
+
+        new GameEngine(board, new FakeGUI(), misterX, detectives);
+    }
+}
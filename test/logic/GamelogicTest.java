@@ -46,7 +46,7 @@ public class GamelogicTest {
 
         FakeGUI gui = new FakeGUI();
         GameLogic gameLogic = new GameLogic(board, gui, misterX, detectives);
-        Assert.assertEquals(GameLogic.WinState.MISTERX_SURROUNDED, gameLogic.isGameWon());
+        Assert.assertEquals(GameEngine.WinState.MISTERX_SURROUNDED, gameLogic.isGameWon());
 
     }
 
@@ -66,7 +66,7 @@ public class GamelogicTest {
 
         FakeGUI gui = new FakeGUI();
         GameLogic gameLogic = new GameLogic(board, gui, misterX, detectives);
-        Assert.assertEquals(GameLogic.WinState.MISTERX_CATCHED, gameLogic.isGameWon());
+        Assert.assertEquals(GameEngine.WinState.MISTERX_CATCHED, gameLogic.isGameWon());
 
     }
 
@@ -86,7 +86,7 @@ public class GamelogicTest {
 
         FakeGUI gui = new FakeGUI();
         GameLogic gameLogic = new GameLogic(board, gui, misterX, detectives);
-        Assert.assertEquals(GameLogic.WinState.DETECTIVES_BLOCKED, gameLogic.isGameWon());
+        Assert.assertEquals(GameEngine.WinState.DETECTIVES_BLOCKED, gameLogic.isGameWon());
 
     }
 
@@ -105,7 +105,7 @@ public class GamelogicTest {
 
         FakeGUI gui = new FakeGUI();
         GameLogic gameLogic = new GameLogic(board, gui, misterX, detectives);
-        Assert.assertEquals(GameLogic.WinState.NO_WIN, gameLogic.isGameWon());
+        Assert.assertEquals(GameEngine.WinState.NO_WIN, gameLogic.isGameWon());
     }
 
     @Test(expected = JsonSyntaxException.class)
@@ -0,0 +1,85 @@
+package logic.board;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import logic.Ticket;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdjacencyTest {
+
+    private static Board board;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            AdjacencyTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    private static int[] getTargets(Adjacency adjacency, int layer, int id) {
+        int[] targets = new int[adjacency.getDegree(layer, id)];
+        for (int edge = adjacency.getStart(layer, id); edge < adjacency.getEnd(layer, id); edge++) {
+            targets[edge - adjacency.getStart(layer, id)] = adjacency.getTarget(layer, edge);
+        }
+        return targets;
+    }
+
+    @Test
+    public void getTargets_Station1_AllLayers() {
+        Adjacency adjacency = board.getAdjacency();
+        Assert.assertArrayEquals(new int[] { 8, 9 }, getTargets(adjacency, Adjacency.CAB, 1));
+        Assert.assertArrayEquals(new int[] { 46, 58 }, getTargets(adjacency, Adjacency.BUS, 1));
+        Assert.assertArrayEquals(new int[] { 46 }, getTargets(adjacency, Adjacency.TUBE, 1));
+        Assert.assertArrayEquals(new int[] {}, getTargets(adjacency, Adjacency.BOAT, 1));
+    }
+
+    @Test
+    public void getTargets_Station1_CombinedLayerWithoutDuplicates() {
+        Adjacency adjacency = board.getAdjacency();
+        Assert.assertArrayEquals(new int[] { 8, 9, 46, 58 },
+                getTargets(adjacency, Adjacency.ANY, 1));
+    }
+
+    @Test
+    public void getTargets_Station108_Boat() {
+        Adjacency adjacency = board.getAdjacency();
+        Assert.assertTrue(adjacency.isConnected(Adjacency.BOAT, 108, 115));
+        Assert.assertTrue(adjacency.isConnected(Adjacency.ANY, 108, 115));
+        Assert.assertFalse(adjacency.isConnected(Adjacency.CAB, 108, 115));
+    }
+
+    @Test
+    public void getLayer_BlackTicket() {
+        Assert.assertEquals(Adjacency.ANY, Adjacency.getLayer(Ticket.BLACK));
+        Assert.assertEquals(Adjacency.CAB, Adjacency.getLayer(Ticket.CAB));
+    }
+
+    @Test
+    public void getTicketMask_Station1() {
+        Adjacency adjacency = board.getAdjacency();
+        Assert.assertEquals(Ticket.CAB.getMask() | Ticket.BLACK.getMask(),
+                adjacency.getTicketMask(1, 8));
+        Assert.assertEquals(Ticket.BUS.getMask() | Ticket.TUBE.getMask() | Ticket.BLACK.getMask(),
+                adjacency.getTicketMask(1, 46));
+        Assert.assertEquals(0, adjacency.getTicketMask(1, 2));
+    }
+
+    @Test
+    public void getTicketMask_Boat() {
+        Assert.assertEquals(Ticket.BLACK.getMask(), board.getAdjacency().getTicketMask(108, 115));
+    }
+
+    @Test
+    public void getSize() {
+        Assert.assertEquals(199, board.getAdjacency().getSize());
+        Assert.assertEquals(199, board.getSize());
+    }
+}
@@ -0,0 +1,127 @@
+package logic.board;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class BoardFileTest {
+
+    private static byte[] json;
+    private static Board board;
+    private static Path file;
+
+    @Before
+    public void readMap() throws IOException {
+        BoardFileTest.json = Files.readAllBytes(Paths.get("test/data/network.json"));
+        BoardFileTest.board = new Board(new InputStreamReader(new ByteArrayInputStream(json),
+                StandardCharsets.UTF_8));
+        BoardFileTest.file = Files.createTempFile("network", ".syb");
+        Files.delete(file);
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Asserts that two boards have the same stations and connections.
+     *
+     * @param expected The expected board
+     * @param actual The actual board
+     */
+    private static void assertSameBoard(Board expected, Board actual) {
+        Assert.assertEquals(expected.getSize(), actual.getSize());
+        for (int id = 1; id <= expected.getSize(); id++) {
+            Assert.assertEquals(expected.getStation(id).getIdentifier(),
+                    actual.getStation(id).getIdentifier());
+            Assert.assertEquals(expected.getStation(id).getPosition(),
+                    actual.getStation(id).getPosition());
+        }
+        for (int layer = 0; layer < Adjacency.LAYERS; layer++) {
+            Assert.assertArrayEquals(expected.getAdjacency().getOffsets(layer),
+                    actual.getAdjacency().getOffsets(layer));
+            Assert.assertArrayEquals(expected.getAdjacency().getTargets(layer),
+                    actual.getAdjacency().getTargets(layer));
+        }
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        long checksum = BoardFile.checksum(json);
+        BoardFile.write(board, checksum, file);
+        assertSameBoard(board, BoardFile.read(file, checksum));
+    }
+
+    @Test
+    public void read_OtherChecksum() throws IOException {
+        BoardFile.write(board, 1, file);
+        Assert.assertNull(BoardFile.read(file, 2));
+    }
+
+    @Test
+    public void read_MissingFile() throws IOException {
+        Assert.assertNull(BoardFile.read(file, BoardFile.checksum(json)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_Truncated() throws IOException {
+        BoardFile.write(board, 1, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        BoardFile.read(file, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_TargetOutOfRange() throws IOException {
+        Board small = new Board(new StringReader("{\"stations\":[{\"identifier\":1,"
+                + "\"position\":{\"x\":0,\"y\":0},\"tube\":[],\"bus\":[],\"cab\":[1],"
+                + "\"boat\":[]}]}"));
+        BoardFile.write(small, 1, file);
+        byte[] bytes = Files.readAllBytes(file);
+        // The single target of the cab layer follows its three offsets
+        int target = 4 + 4 + 8 + 4 + 4 + 8 + 8 + 4 + 3 * 4;
+        bytes[target + 3] = 2;
+        Files.write(file, bytes);
+        BoardFile.read(file, 1);
+    }
+
+    @Test
+    public void load_CompilesOnce() throws IOException {
+        assertSameBoard(board, BoardFile.load(json, file));
+        Assert.assertTrue(Files.isRegularFile(file));
+
+        // A compiled file with the right checksum is used instead of the JSON
+        Board small = new Board(new StringReader("{\"stations\":[]}"));
+        BoardFile.write(small, BoardFile.checksum(json), file);
+        Assert.assertEquals(0, BoardFile.load(json, file).getSize());
+    }
+
+    @Test
+    public void load_ChangedJson() throws IOException {
+        BoardFile.write(new Board(new StringReader("{\"stations\":[]}")), 1, file);
+        assertSameBoard(board, BoardFile.load(json, file));
+        assertSameBoard(board, BoardFile.read(file, BoardFile.checksum(json)));
+    }
+
+    @Test
+    public void load_CorruptedFile() throws IOException {
+        Files.write(file, new byte[] { 1, 2, 3 });
+        assertSameBoard(board, BoardFile.load(json, file));
+        assertSameBoard(board, BoardFile.read(file, BoardFile.checksum(json)));
+    }
+}
@@ -0,0 +1,165 @@
+package logic.board;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class BoardRegistryTest {
+
+    private static byte[] json;
+
+    @Before
+    public void readMap() throws IOException {
+        BoardRegistryTest.json = Files.readAllBytes(Paths.get("test/data/network.json"));
+    }
+
+    /**
+     * Creates a small network. Networks with different names have the same size but different
+     * hashes.
+     *
+     * @param name The name of the network
+     * @return The network in JSON notation
+     */
+    private static byte[] network(String name) {
+        return ("{\"name\":\"" + name + "\",\"stations\":[{\"identifier\":1,"
+                + "\"position\":{\"x\":0,\"y\":0},\"tube\":[],\"bus\":[],\"cab\":[2],\"boat\":[]},"
+                + "{\"identifier\":2,\"position\":{\"x\":1,\"y\":1},\"tube\":[],\"bus\":[],"
+                + "\"cab\":[1],\"boat\":[]}]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void get_SameNetwork_SameBoard() {
+        BoardRegistry registry = new BoardRegistry(Long.MAX_VALUE, null);
+        Board board = registry.get(json);
+        Assert.assertSame(board, registry.get(json.clone()));
+        Assert.assertEquals(199, board.getSize());
+        Assert.assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void get_OtherNetwork_OtherBoard() {
+        BoardRegistry registry = new BoardRegistry(Long.MAX_VALUE, null);
+        Assert.assertNotSame(registry.get(network("a")), registry.get(network("b")));
+        Assert.assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void get_SharedDistanceTables() {
+        BoardRegistry registry = new BoardRegistry(Long.MAX_VALUE, null);
+        Board board = registry.get(json);
+        long before = registry.getMemoryUsage();
+        board.getDistance(board.getStation(1), board.getStation(2), DistanceProfile.ANY);
+        Assert.assertEquals(before + 4L * 200 + 2L * 199, registry.getMemoryUsage());
+        // Every further game gets the board with the table
+        Assert.assertEquals(before + 4L * 200 + 2L * 199, registry.get(json).getMemoryUsage());
+    }
+
+    @Test
+    public void get_EvictLeastRecentlyUsed() {
+        long size = new BoardRegistry(Long.MAX_VALUE, null).get(network("a")).getMemoryUsage();
+        BoardRegistry registry = new BoardRegistry(2 * size, null);
+        registry.get(network("a"));
+        registry.get(network("b"));
+        registry.get(network("a"));
+        registry.get(network("c"));
+
+        Assert.assertEquals(2, registry.size());
+        Assert.assertTrue(registry.contains(network("a")));
+        Assert.assertFalse(registry.contains(network("b")));
+        Assert.assertTrue(registry.contains(network("c")));
+    }
+
+    @Test
+    public void get_OverBudget_KeepsRequested() {
+        BoardRegistry registry = new BoardRegistry(0, null);
+        registry.get(network("a"));
+        Board board = registry.get(json);
+        Assert.assertEquals(1, registry.size());
+        Assert.assertSame(board, registry.get(json));
+    }
+
+    @Test
+    public void get_EvictSearchedBoard_Collected() throws Exception {
+        BoardRegistry registry = new BoardRegistry(0, null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            WeakReference<Board> reference = new WeakReference<>(registry.get(json));
+            // The thread of the search is still alive while the board is dropped
+            int steps = executor.submit(() -> {
+                Board board = registry.get(json);
+                return board.getPathFinder().shortestPath(board.getStation(1),
+                        board.getStation(46), new int[] { 10, 10, 10, 0 },
+                        new StationSet(board)).size();
+            }).get();
+            registry.get(network("a"));
+
+            Assert.assertEquals(1, steps);
+            Assert.assertFalse(registry.contains(json));
+            for (int i = 0; i < 50 && reference.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            Assert.assertNull(reference.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void get_Compiled() throws IOException {
+        Path directory = Files.createTempDirectory("boards");
+        try {
+            BoardRegistry registry = new BoardRegistry(Long.MAX_VALUE, directory);
+            Assert.assertEquals(199, registry.get(json).getSize());
+            Assert.assertEquals(1, directory.toFile().list().length);
+
+            // A new registry reads the compiled board
+            registry = new BoardRegistry(Long.MAX_VALUE, directory);
+            Assert.assertEquals(199, registry.get(json).getSize());
+        } finally {
+            for (File file : directory.toFile().listFiles()) {
+                Files.delete(file.toPath());
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void get_WrongValues() {
+        new BoardRegistry(Long.MAX_VALUE, null).get("{\"stations\":1}".getBytes(
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void get_Concurrent() throws Exception {
+        BoardRegistry registry = new BoardRegistry(Long.MAX_VALUE, null);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Board>> boards = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                boards.add(executor.submit(() -> registry.get(json)));
+            }
+            for (Future<Board> board : boards) {
+                Assert.assertSame(boards.get(0).get(), board.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.io.FileReader;
 import java.io.Reader;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import logic.Ticket;
 import org.junit.Assert;
 import org.junit.Before;
@@ -74,4 +75,48 @@ public class BoardTest {
         Station station1 = board.getStation(200);
     }
 
+    @Test
+    public void getDistance_AllProfiles() {
+        Station station1 = board.getStation(1);
+        Station station199 = board.getStation(199);
+        Assert.assertEquals(5, board.getDistance(station1, station199, DistanceProfile.ANY));
+        Assert.assertEquals(18, board.getDistance(station1, station199, DistanceProfile.CAB_ONLY));
+        Assert.assertEquals(9, board.getDistance(station1, station199, DistanceProfile.CAB_BUS));
+        Assert.assertEquals(5, board.getDistance(station1, station199, DistanceProfile.NO_BOAT));
+    }
+
+    @Test
+    public void getDistance_BoatOnlyInProfileAny() {
+        Station station108 = board.getStation(108);
+        Station station115 = board.getStation(115);
+        Assert.assertEquals(1, board.getDistance(station108, station115, DistanceProfile.ANY));
+        Assert.assertEquals(3, board.getDistance(station108, station115, DistanceProfile.NO_BOAT));
+    }
+
+    @Test
+    public void getDistance_SameStation() {
+        Station station1 = board.getStation(1);
+        Assert.assertEquals(0, board.getDistance(station1, station1, DistanceProfile.CAB_ONLY));
+    }
+
+    @Test
+    public void getNearestStation_OnStation() {
+        Station station118 = board.getStation(118);
+        Assert.assertEquals(station118, board.getNearestStation(station118.getPosition(), 0.025));
+    }
+
+    @Test
+    public void getNearestStation_NotWithinThreshold() {
+        Assert.assertNull(board.getNearestStation(new Position(-1, -1), 0.025));
+    }
+
+    @Test
+    public void getNearestStations_OrderedByDistance() {
+        Station station118 = board.getStation(118);
+        List<Station> nearest =
+                board.getNearestStations(station118.getPosition(), 3, Double.MAX_VALUE);
+        Assert.assertEquals(3, nearest.size());
+        Assert.assertEquals(station118, nearest.get(0));
+    }
+
 }
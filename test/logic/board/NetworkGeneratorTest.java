@@ -0,0 +1,71 @@
+package logic.board;
+
+import gui.FakeGUI;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+import logic.GameEngine;
+import logic.util.Logger;
+import logic.util.MemoryLogSink;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class NetworkGeneratorTest {
+
+    /**
+     * Generates a board.
+     *
+     * @param size The number of stations
+     * @param seed The seed
+     * @return The board in JSON notation
+     * @throws IOException if the board can not be written
+     */
+    private static String generate(int size, long seed) throws IOException {
+        StringWriter writer = new StringWriter();
+        new NetworkGenerator(size, seed).write(writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void write_ReadableBoard() throws IOException {
+        Board board = new Board(new StringReader(generate(500, 1)));
+        Assert.assertEquals(500, board.getSize());
+        for (int id = 1; id <= board.getSize(); id++) {
+            Assert.assertEquals(id, board.getStation(id).getIdentifier());
+        }
+    }
+
+    @Test
+    public void write_CabsConnected() throws IOException {
+        Board board = new Board(new StringReader(generate(500, 2)));
+        for (int id = 2; id <= board.getSize(); id++) {
+            Assert.assertTrue(board.getDistance(board.getStation(1), board.getStation(id),
+                    DistanceProfile.CAB_ONLY) < Short.MAX_VALUE);
+        }
+    }
+
+    @Test
+    public void write_SameSeed_SameBoard() throws IOException {
+        Assert.assertEquals(generate(300, 3), generate(300, 3));
+        Assert.assertNotEquals(generate(300, 3), generate(300, 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_TooSmall() {
+        new NetworkGenerator(100, 1);
+    }
+
+    @Test
+    public void runToCompletion_LargeBoard() throws IOException {
+        Board board = new Board(new StringReader(generate(2000, 5)));
+        GameEngine engine = new GameEngine(board, new FakeGUI(), true, 5, true, new Random(5));
+        engine.setLogger(new Logger(new MemoryLogSink()));
+        engine.start();
+        Assert.assertNotEquals(GameEngine.WinState.NO_WIN, engine.runToCompletion());
+    }
+}
@@ -0,0 +1,129 @@
+package logic.board;
+
+import com.google.gson.JsonSyntaxException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashSet;
+import logic.Ticket;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class NetworkReaderTest {
+
+    private static Board board;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            NetworkReaderTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    /**
+     * Creates the JSON of a station.
+     *
+     * @param id The identifier
+     * @param cab The stations linked by cab
+     * @return The station in JSON notation
+     */
+    private static String station(int id, String cab) {
+        return "{\"identifier\":" + id + ",\"position\":{\"x\":" + id + ",\"y\":0},"
+                + "\"tube\":[],\"bus\":[],\"cab\":[" + cab + "],\"boat\":[]}";
+    }
+
+    @Test
+    public void read_WholeNetwork() {
+        Assert.assertEquals(199, board.getSize());
+        Assert.assertEquals(199, board.getStation(199).getIdentifier());
+        Assert.assertEquals(new HashSet(Arrays.asList(board.getStation(46),
+                board.getStation(58))), board.getStation(1).getStationsReachableBy(Ticket.BUS));
+    }
+
+    @Test
+    public void read_LinkToFollowingStation() {
+        Board small = new Board(new StringReader("{\"stations\":[" + station(1, "2,3") + ","
+                + station(2, "1") + "," + station(3, "1") + "]}"));
+        Assert.assertEquals(3, small.getSize());
+        Assert.assertEquals(new HashSet(Arrays.asList(small.getStation(2), small.getStation(3))),
+                small.getStation(1).getStationsReachableBy(Ticket.CAB));
+    }
+
+    @Test
+    public void read_AnyFieldOrder() {
+        Board small = new Board(new StringReader("{\"name\":\"test\",\"stations\":["
+                + "{\"cab\":[2],\"boat\":[],\"extra\":{\"a\":[1,2]},\"bus\":[],\"tube\":[],"
+                + "\"position\":{\"y\":0.5,\"x\":0.25},\"identifier\":1},"
+                + station(2, "1") + "],\"version\":2}"));
+        Assert.assertEquals(new Position(0.25, 0.5), small.getStation(1).getPosition());
+        Assert.assertEquals(new HashSet(Arrays.asList(small.getStation(2))),
+                small.getStation(1).getStationsReachableBy(Ticket.CAB));
+    }
+
+    @Test
+    public void read_EmptyNetwork() {
+        Board small = new Board(new StringReader("{\"stations\":[]}"));
+        Assert.assertEquals(0, small.getSize());
+    }
+
+    @Test
+    public void read_WrongValue_PathInMessage() {
+        try {
+            new Board(new StringReader("{\"stations\":[" + station(1, "2") + ","
+                    + station(2, "\"1\"") + "]}"));
+            Assert.fail();
+        } catch (IllegalArgumentException ex) {
+            Assert.assertTrue(ex.getMessage(), ex.getMessage().contains("$.stations[1].cab[0]"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_FractionalIdentifier() {
+        new Board(new StringReader("{\"stations\":[{\"identifier\":1.5,"
+                + "\"position\":{\"x\":0,\"y\":0},\"tube\":[],\"bus\":[],\"cab\":[],"
+                + "\"boat\":[]}]}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_MissingField() {
+        new Board(new StringReader("{\"stations\":[{\"identifier\":1,"
+                + "\"position\":{\"x\":0,\"y\":0},\"tube\":[],\"bus\":[],\"cab\":[]}]}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_MissingStations() {
+        new Board(new StringReader("{\"network\":[]}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_LinkToMissingStation() {
+        new Board(new StringReader("{\"stations\":[" + station(1, "2") + "]}"));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void read_Truncated() {
+        new Board(new StringReader("{\"stations\":[" + station(1, "")));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void read_WrongValueBeforeSyntaxError() {
+        new Board(new StringReader("{\"stations\":[" + station(1, "\"2\"") + ",]]}"));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void read_TrailingContent() {
+        new Board(new StringReader("{\"stations\":[]} ]"));
+    }
+}
@@ -0,0 +1,109 @@
+package logic.board;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PathFinderTest {
+
+    private static Board board;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            PathFinderTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    private static List<Station> way(int... ids) {
+        List<Station> way = new LinkedList<>();
+        Arrays.stream(ids).forEach(id -> way.add(board.getStation(id)));
+        return way;
+    }
+
+    private static List<Station> shortestPath(int start, int destination, int[] tickets,
+            StationSet occupied) {
+        return board.getPathFinder().shortestPath(board.getStation(start),
+                board.getStation(destination), tickets, occupied);
+    }
+
+    @Test
+    public void shortestPath_Tube() {
+        Assert.assertEquals(way(46),
+                shortestPath(1, 46, new int[] { 10, 0, 5, 0 }, new StationSet(board)));
+    }
+
+    @Test
+    public void shortestPath_OnlyCab() {
+        Assert.assertEquals(4,
+                shortestPath(1, 46, new int[] { 10, 0, 0, 0 }, new StationSet(board)).size());
+    }
+
+    @Test
+    public void shortestPath_NotEnoughTickets() {
+        Assert.assertEquals(way(),
+                shortestPath(1, 46, new int[] { 3, 0, 0, 0 }, new StationSet(board)));
+    }
+
+    @Test
+    public void shortestPath_BoatOnlyByBlackTicket() {
+        Assert.assertEquals(way(115),
+                shortestPath(108, 115, new int[] { 0, 0, 0, 1 }, new StationSet(board)));
+        Assert.assertEquals(3,
+                shortestPath(108, 115, new int[] { 10, 10, 10, 0 }, new StationSet(board)).size());
+    }
+
+    @Test
+    public void shortestPath_Occupied() {
+        StationSet occupied = new StationSet(board);
+        occupied.add(8);
+        occupied.add(9);
+        Assert.assertEquals(way(),
+                shortestPath(1, 20, new int[] { 10, 0, 0, 0 }, occupied));
+        Assert.assertEquals(way(9, 20),
+                shortestPath(1, 20, new int[] { 10, 0, 0, 0 }, new StationSet(board)));
+    }
+
+    @Test
+    public void shortestPath_DestinationOccupied() {
+        StationSet occupied = new StationSet(board);
+        occupied.add(46);
+        Assert.assertEquals(way(),
+                shortestPath(1, 46, new int[] { 10, 10, 10, 0 }, occupied));
+    }
+
+    @Test
+    public void shortestPath_LargerBoardBetween() throws IOException {
+        StringWriter writer = new StringWriter();
+        new NetworkGenerator(1000, 3).write(writer);
+        Board large = new Board(new StringReader(writer.toString()));
+        int[] tickets = new int[] { 10, 10, 10, 0 };
+        List<Station> before = shortestPath(1, 46, tickets, new StationSet(board));
+        List<Station> way = large.getPathFinder().shortestPath(large.getStation(1),
+                large.getStation(1000), tickets, new StationSet(large));
+
+        Assert.assertFalse(way.isEmpty());
+        Assert.assertEquals(large.getStation(1000), way.get(way.size() - 1));
+        Assert.assertEquals(before, shortestPath(1, 46, tickets, new StationSet(board)));
+    }
+
+    @Test
+    public void shortestPath_SameStation() {
+        Assert.assertEquals(way(),
+                shortestPath(1, 1, new int[] { 10, 10, 10, 0 }, new StationSet(board)));
+    }
+}
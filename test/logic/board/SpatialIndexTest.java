@@ -0,0 +1,92 @@
+package logic.board;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpatialIndexTest {
+
+    private static int[] bruteForce(double[] xs, double[] ys, double x, double y, int k,
+            double threshold) {
+        return IntStream.range(1, xs.length).boxed()
+                .filter(id -> SpatialIndexTest.distance(xs, ys, id, x, y) <= threshold
+                        * threshold)
+                .sorted(Comparator.<Integer>comparingDouble(
+                        id -> SpatialIndexTest.distance(xs, ys, id, x, y))
+                        .thenComparingInt(id -> id))
+                .limit(k).mapToInt(id -> id).toArray();
+    }
+
+    private static double distance(double[] xs, double[] ys, int id, double x, double y) {
+        return (xs[id] - x) * (xs[id] - x) + (ys[id] - y) * (ys[id] - y);
+    }
+
+    @Test
+    public void nearest_RandomPoints() {
+        Random random = new Random(1);
+        double[] xs = new double[501];
+        double[] ys = new double[501];
+        for (int id = 1; id <= 500; id++) {
+            // Coarse coordinates, so some stations share a position
+            xs[id] = random.nextInt(100) / 100d;
+            ys[id] = random.nextInt(60) / 100d;
+        }
+        SpatialIndex index = new SpatialIndex(xs, ys);
+        for (int i = 0; i < 2000; i++) {
+            double x = random.nextDouble() * 1.4 - 0.2;
+            double y = random.nextDouble() * 1.0 - 0.2;
+            double threshold = i % 3 == 0 ? Double.MAX_VALUE : random.nextDouble() * 0.1;
+            int k = 1 + random.nextInt(8);
+            Assert.assertArrayEquals(SpatialIndexTest.bruteForce(xs, ys, x, y, k, threshold),
+                    index.nearest(x, y, k, threshold));
+            int[] expected = SpatialIndexTest.bruteForce(xs, ys, x, y, 1, threshold);
+            Assert.assertEquals(expected.length == 0 ? -1 : expected[0],
+                    index.nearest(x, y, threshold));
+        }
+    }
+
+    @Test
+    public void nearest_SamePosition_LowerId() {
+        double[] xs = new double[] { 0, 0.5, 0.2, 0.5 };
+        double[] ys = new double[] { 0, 0.5, 0.2, 0.5 };
+        SpatialIndex index = new SpatialIndex(xs, ys);
+        Assert.assertEquals(1, index.nearest(0.5, 0.5, 0.1));
+        Assert.assertArrayEquals(new int[] { 1, 3, 2 }, index.nearest(0.6, 0.6, 5, 1));
+    }
+
+    @Test
+    public void nearest_NotWithinThreshold() {
+        double[] xs = new double[] { 0, 0.5 };
+        double[] ys = new double[] { 0, 0.5 };
+        SpatialIndex index = new SpatialIndex(xs, ys);
+        Assert.assertEquals(-1, index.nearest(0.1, 0.1, 0.1));
+        Assert.assertEquals(0, index.nearest(0.1, 0.1, 3, 0.1).length);
+    }
+
+    @Test
+    public void nearest_NaN() {
+        double[] xs = new double[] { 0, 0.5 };
+        double[] ys = new double[] { 0, 0.5 };
+        SpatialIndex index = new SpatialIndex(xs, ys);
+        Assert.assertEquals(-1, index.nearest(Double.NaN, Double.NaN, Double.MAX_VALUE));
+    }
+
+    @Test
+    public void nearest_Empty() {
+        SpatialIndex index = new SpatialIndex(new double[1], new double[1]);
+        Assert.assertEquals(-1, index.nearest(0.5, 0.5, Double.MAX_VALUE));
+    }
+
+    @Test
+    public void nearest_Line() {
+        double[] xs = new double[] { 0, 0.1, 0.2, 0.3 };
+        double[] ys = new double[] { 0, 0.4, 0.4, 0.4 };
+        SpatialIndex index = new SpatialIndex(xs, ys);
+        Assert.assertEquals(3, index.nearest(0.9, 0.1, Double.MAX_VALUE));
+        Assert.assertEquals(Arrays.toString(new int[] { 2, 1 }),
+                Arrays.toString(index.nearest(0.16, 0.4, 2, 1)));
+    }
+}
@@ -0,0 +1,97 @@
+package logic.board;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StationSetTest {
+
+    private static Board board;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            StationSetTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    private static StationSet of(int... ids) {
+        StationSet set = new StationSet(board);
+        for (int id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Test
+    public void add_Contains_Remove() {
+        StationSet set = of(1, 64, 199);
+        Assert.assertTrue(set.contains(1));
+        Assert.assertTrue(set.contains(64));
+        Assert.assertTrue(set.contains(199));
+        Assert.assertFalse(set.contains(2));
+        Assert.assertFalse(set.contains(0));
+        Assert.assertFalse(set.contains(200));
+        Assert.assertEquals(3, set.cardinality());
+        Assert.assertTrue(set.remove(64));
+        Assert.assertFalse(set.remove(64));
+        Assert.assertEquals(2, set.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_OutOfUpperBound() {
+        of(200);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_Unbound() {
+        new StationSet().add(1);
+    }
+
+    @Test
+    public void or_And_AndNot() {
+        Assert.assertEquals(of(1, 2, 128), of(1, 2).or(of(2, 128)));
+        Assert.assertEquals(of(2), of(1, 2).and(of(2, 128)));
+        Assert.assertEquals(of(1), of(1, 2).andNot(of(2, 128)));
+        Assert.assertTrue(of(1, 130).intersects(of(130)));
+        Assert.assertFalse(of(1, 130).intersects(of(2)));
+    }
+
+    @Test
+    public void iterate_InIdOrder() {
+        StationSet set = of(199, 5, 70);
+        Iterator<Station> it = set.iterator();
+        Assert.assertEquals(board.getStation(5), it.next());
+        Assert.assertEquals(board.getStation(70), it.next());
+        Assert.assertEquals(board.getStation(199), it.next());
+        Assert.assertFalse(it.hasNext());
+        Assert.assertEquals(-1, set.nextSetBit(200));
+    }
+
+    @Test
+    public void equals_HashSet() {
+        Set<Station> expected = new HashSet<>();
+        expected.add(board.getStation(8));
+        expected.add(board.getStation(46));
+        Assert.assertEquals(expected, of(8, 46));
+        Assert.assertEquals(of(8, 46), expected);
+        Assert.assertEquals(expected.hashCode(), of(8, 46).hashCode());
+    }
+
+    @Test
+    public void equals_UnboundEmpty() {
+        Assert.assertEquals(new StationSet(), of());
+        Assert.assertTrue(new StationSet().isEmpty());
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Set;
 import logic.board.Board;
 import logic.board.Station;
+import logic.board.StationSet;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -42,7 +43,7 @@ public class DetectiveRankingTest {
     @Test
     public void
             getRankingByReachableTargetpositions_TwoDetectives_NotReachable_NoTickets_Ranking_0() {
-        Set<Station> targets = new HashSet<>();
+        StationSet targets = new StationSet(board);
         targets.add(board.getStation(32));
 
         Detective detective0 = new Detective(0, board.getStation(8), true, 0, 0, 0);
@@ -58,7 +59,7 @@ public class DetectiveRankingTest {
 
     @Test
     public void getRankingByReachableTargetpositions_TwoDetectives_OneRechable() {
-        Set<Station> targets = new HashSet<>();
+        StationSet targets = new StationSet(board);
         targets.add(board.getStation(8));
         targets.add(board.getStation(9));
         targets.add(board.getStation(19));
@@ -75,7 +76,7 @@ public class DetectiveRankingTest {
 
     @Test
     public void getRankingByReachableTargetpositions_TwoDetectives_TwoReachable() {
-        Set<Station> targets = new HashSet<>();
+        StationSet targets = new StationSet(board);
         targets.add(board.getStation(8));
         targets.add(board.getStation(9));
         targets.add(board.getStation(19));
@@ -119,6 +120,9 @@ public class DetectiveRankingTest {
     public void getRankingByDirectlyReachableStations_OneBlocked_OneDoubleReachable() {
         Detective detective0 = new Detective(0, board.getStation(1), true, 1, 1, 1);
         Detective detective1 = new Detective(0, board.getStation(9), true, 1, 1, 1);
+        StationSet occupied = new StationSet(board);
+        detective0.setOccupancy(occupied);
+        detective1.setOccupancy(occupied);
 
         Assert.assertEquals(3f / 13 * 4, detective0.getRankingByDirectlyReachableStations(), 0.001);
     }
@@ -138,7 +142,7 @@ public class DetectiveRankingTest {
         detectives.add(detectiveRed);
         detectives.add(detectiveYellow);
 
-        Set<Station> targets = new HashSet<>();
+        StationSet targets = new StationSet(board);
         targets.add(board.getStation(104));
         targets.add(board.getStation(117));
         targets.add(board.getStation(118));
@@ -162,7 +166,7 @@ public class DetectiveRankingTest {
         detectives.add(detectiveRed);
         detectives.add(detectiveYellow);
 
-        Set<Station> targets = new HashSet<>();
+        StationSet targets = new StationSet(board);
         targets.add(board.getStation(104));
         targets.add(board.getStation(117));
         targets.add(board.getStation(118));
@@ -18,6 +18,7 @@ import logic.Move;
 import logic.Ticket;
 import logic.board.Board;
 import logic.board.Station;
+import logic.board.StationSet;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -44,7 +45,7 @@ public class DetectiveTacticTest {
 
         LinkedList<Ticket> tickets = new LinkedList<>();
         Station lastStation = board.getStation(1);
-        Set<Station> stations = Detective.getPossibleTargetPositions(tickets, lastStation);
+        StationSet stations = Detective.getPossibleTargetPositions(tickets, lastStation);
         Set<Station> expected = new HashSet<>();
         expected.add(board.getStation(1));
 
@@ -56,7 +57,7 @@ public class DetectiveTacticTest {
 
         LinkedList<Ticket> tickets = new LinkedList<>(Arrays.asList(Ticket.CAB));
         Station lastStation = board.getStation(2);
-        Set<Station> stations = Detective.getPossibleTargetPositions(tickets, lastStation);
+        StationSet stations = Detective.getPossibleTargetPositions(tickets, lastStation);
 
         Set<Station> expected = new HashSet<>();
         expected.add(board.getStation(10));
@@ -72,7 +73,7 @@ public class DetectiveTacticTest {
         tickets.add(Ticket.CAB);
         tickets.add(Ticket.CAB);
         Station lastStation = board.getStation(2);
-        Set<Station> stations = Detective.getPossibleTargetPositions(tickets, lastStation);
+        StationSet stations = Detective.getPossibleTargetPositions(tickets, lastStation);
 
         Set<Station> expected = new HashSet<>();
         expected.add(board.getStation(2));
@@ -90,7 +91,7 @@ public class DetectiveTacticTest {
 
         LinkedList<Ticket> tickets = new LinkedList<>(Arrays.asList(Ticket.CAB));
         Station lastStation = board.getStation(2);
-        Set<Station> stations = Detective.getPossibleTargetPositions(tickets, lastStation);
+        StationSet stations = Detective.getPossibleTargetPositions(tickets, lastStation);
 
         Set<Station> expected = new HashSet<>();
         expected.add(board.getStation(10));
@@ -104,7 +105,7 @@ public class DetectiveTacticTest {
     public void getMoveToPossibleTargetPosition_OneStation_NotReachable() {
         LinkedList<Ticket> tickets = new LinkedList<>();
         Station lastStation = board.getStation(1);
-        Set<Station> stations = Detective.getPossibleTargetPositions(tickets, lastStation);
+        StationSet stations = Detective.getPossibleTargetPositions(tickets, lastStation);
         Detective detective = new Detective(0, board.getStation(55), false, 1, 1, 1);
 
         Move move = detective.getMoveToPossibleTargetPosition(stations);
@@ -115,7 +116,7 @@ public class DetectiveTacticTest {
     public void getMoveToPossibleTargetPosition_OneStation_Reachable() {
         LinkedList<Ticket> tickets = new LinkedList<>();
         Station lastStation = board.getStation(1);
-        Set<Station> stations = Detective.getPossibleTargetPositions(tickets, lastStation);
+        StationSet stations = Detective.getPossibleTargetPositions(tickets, lastStation);
         Detective detective = new Detective(0, board.getStation(8), false, 1, 1, 1);
 
         Move move = detective.getMoveToPossibleTargetPosition(stations);
@@ -128,7 +129,7 @@ public class DetectiveTacticTest {
     public void getMoveToPossibleTargetPosition_MultiPossibilities_Reachable_choose_smalestId() {
         LinkedList<Ticket> tickets = new LinkedList<>(Arrays.asList(Ticket.CAB));
         Station lastStation = board.getStation(1);
-        Set<Station> stations = Detective.getPossibleTargetPositions(tickets, lastStation);
+        StationSet stations = Detective.getPossibleTargetPositions(tickets, lastStation);
         Detective detective = new Detective(0, board.getStation(19), false, 1, 1, 1);
         Move move = detective.getMoveToPossibleTargetPosition(stations);
         Move expected = new Move(board.getStation(8), Ticket.CAB);
@@ -228,6 +229,11 @@ public class DetectiveTacticTest {
         Detective detective2 = new Detective(0, board.getStation(9), true, 0, 0, 0);
         Detective detective3 = new Detective(0, board.getStation(46), true, 0, 0, 0);
         Detective detective4 = new Detective(0, board.getStation(58), true, 0, 0, 0);
+        StationSet occupied = new StationSet(board);
+        for (Detective player : Arrays.asList(detective, detective1, detective2, detective3,
+                detective4)) {
+            player.setOccupancy(occupied);
+        }
 
         Assert.assertNull(detective.getMoveToDirectReachableStation());
     }
@@ -240,7 +246,7 @@ public class DetectiveTacticTest {
         Detective detectiveYellow = new Detective(0, board.getStation(186), true, 10, 10, 10);
 
         MisterX mrx = new MisterX(board.getStation(118), null, null, true, 1, 0, 0, 0);
-        Set<Station> targets = new HashSet<>();
+        StationSet targets = new StationSet(board);
         targets.add(board.getStation(104));
         targets.add(board.getStation(117));
         targets.add(board.getStation(118));
@@ -264,7 +270,7 @@ public class DetectiveTacticTest {
         Detective detectiveYellow = new Detective(0, board.getStation(186), true, 10, 10, 10);
 
         MisterX mrx = new MisterX(board.getStation(118), null, null, true, 1, 0, 0, 0);
-        Set<Station> targets = new HashSet<>();
+        StationSet targets = new StationSet(board);
         targets.add(board.getStation(104));
         targets.add(board.getStation(117));
         targets.add(board.getStation(118));
@@ -17,6 +17,7 @@ import logic.Move;
 import logic.Ticket;
 import logic.board.Board;
 import logic.board.Station;
+import logic.board.StationSet;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -88,6 +89,9 @@ public class DetectiveTest {
 
         Detective detective0 = new Detective(0, board.getStation(1), true, 10, 10, 10);
         Detective detective1 = new Detective(0, board.getStation(8), true, 10, 0, 0);
+        StationSet occupied = new StationSet(board);
+        detective0.setOccupancy(occupied);
+        detective1.setOccupancy(occupied);
 
         Set<Station> stations = new HashSet<>();
         stations.add(board.getStation(9));
@@ -108,7 +112,7 @@ public class DetectiveTest {
 
         MisterX mrx = new MisterX(board.getStation(127), board.getStation(116), logbook, true, 1, 0,
                 0, 0);
-        Set<Station> targets = Detective.getPossibleTargetPositions(logbook, mrx.getLastSeen());
+        StationSet targets = Detective.getPossibleTargetPositions(logbook, mrx.getLastSeen());
 
         List<Detective> detectives = new LinkedList<>();
         detectives.add(detectiveBlue);
@@ -0,0 +1,118 @@
+package logic.player;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.LinkedList;
+import logic.Move;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.StationSet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MisterXBeliefTest {
+
+    private static Board board;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            MisterXBeliefTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    private static StationSet of(int... ids) {
+        StationSet set = new StationSet(board);
+        Arrays.stream(ids).forEach(set::add);
+        return set;
+    }
+
+    @Test
+    public void getCandidates_NotShownUp() {
+        MisterXBelief belief = new MisterXBelief(board);
+        belief.advance(Ticket.CAB, of());
+        Assert.assertFalse(belief.isKnown());
+        Assert.assertEquals(of(), belief.getCandidates());
+    }
+
+    @Test
+    public void advance_CAB_CAB() {
+        MisterXBelief belief = new MisterXBelief(board);
+        belief.reveal(board.getStation(2));
+        belief.advance(Ticket.CAB, of());
+        Assert.assertEquals(of(10, 20), belief.getCandidates());
+        belief.advance(Ticket.CAB, of());
+        Assert.assertEquals(Detective.getPossibleTargetPositions(
+                new LinkedList<>(Arrays.asList(Ticket.CAB, Ticket.CAB)), board.getStation(2)),
+                belief.getCandidates());
+    }
+
+    @Test
+    public void advance_DropsOccupied() {
+        MisterXBelief belief = new MisterXBelief(board);
+        belief.reveal(board.getStation(2));
+        belief.advance(Ticket.CAB, of(20));
+        Assert.assertEquals(of(10), belief.getCandidates());
+    }
+
+    @Test
+    public void exclude() {
+        MisterXBelief belief = new MisterXBelief(board);
+        belief.reveal(board.getStation(1));
+        belief.advance(Ticket.BLACK, of());
+        belief.exclude(board.getStation(46));
+        Assert.assertEquals(of(8, 9, 58), belief.getCandidates());
+    }
+
+    @Test
+    public void update_ResetOnShowUp() {
+        MisterX misterX = new MisterX(board.getStation(1), false);
+        MisterXBelief belief = new MisterXBelief(board);
+
+        misterX.move(new Move(board.getStation(8), Ticket.CAB));
+        belief.update(misterX, Ticket.CAB, of());
+        misterX.move(new Move(board.getStation(19), Ticket.CAB));
+        belief.update(misterX, Ticket.CAB, of());
+        Assert.assertEquals(of(), belief.getCandidates());
+
+        misterX.move(new Move(board.getStation(32), Ticket.CAB));
+        belief.update(misterX, Ticket.CAB, of());
+        Assert.assertEquals(of(32), belief.getCandidates());
+
+        misterX.move(new Move(board.getStation(44), Ticket.CAB));
+        belief.update(misterX, Ticket.CAB, of());
+        Assert.assertEquals(Detective.getPossibleTargetPositions(
+                misterX.getTicketsFromLastseenToNow(), misterX.getLastSeen()),
+                belief.getCandidates());
+        Assert.assertTrue(belief.getCandidates().contains(44));
+    }
+
+    @Test
+    public void rebuild() {
+        MisterXBelief belief = new MisterXBelief(board);
+        belief.rebuild(board.getStation(2), Arrays.asList(Ticket.CAB), of());
+        Assert.assertEquals(of(10, 20), belief.getCandidates());
+        belief.rebuild(null, Arrays.asList(Ticket.CAB), of());
+        Assert.assertEquals(of(), belief.getCandidates());
+    }
+
+    @Test
+    public void rebuild_DetectiveOnPassedStation() {
+        MisterXBelief belief = new MisterXBelief(board);
+        // MisterX went 2 -> 10 -> x, a detective stands on 10 now
+        belief.rebuild(board.getStation(2), Arrays.asList(Ticket.CAB, Ticket.CAB), of(10));
+        StationSet expected = Detective.getPossibleTargetPositions(
+                new LinkedList<>(Arrays.asList(Ticket.CAB, Ticket.CAB)), board.getStation(2));
+        expected.remove(10);
+        Assert.assertEquals(expected, belief.getCandidates());
+        Assert.assertTrue(belief.getCandidates().contains(11));
+    }
+}
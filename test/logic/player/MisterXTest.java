@@ -12,6 +12,7 @@ import logic.Move;
 import logic.Ticket;
 import logic.board.Board;
 import logic.board.Station;
+import logic.board.StationSet;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -186,6 +187,11 @@ public class MisterXTest {
         Detective detective0 = new Detective(1, board.getStation(18), true);
         Detective detective1 = new Detective(2, board.getStation(31), true);
         Detective detective2 = new Detective(3, board.getStation(1), true);
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        detective0.setOccupancy(occupied);
+        detective1.setOccupancy(occupied);
+        detective2.setOccupancy(occupied);
 
         float ranking = misterX.getRankingByDirectlyReachableStations();
         Assert.assertEquals(1 / 13f * 4, ranking, 0.001);
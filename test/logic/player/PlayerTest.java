@@ -13,8 +13,10 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import logic.Ticket;
 import logic.board.Board;
 import logic.board.Station;
+import logic.board.StationSet;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -77,6 +79,9 @@ public class PlayerTest {
 
         Detective detective0 = new Detective(0, board.getStation(8), true, 10, 10, 10);
         Detective detective1 = new Detective(0, board.getStation(19), true, 10, 10, 10);
+        StationSet occupied = new StationSet(board);
+        detective0.setOccupancy(occupied);
+        detective1.setOccupancy(occupied);
 
         List<Detective> players = new LinkedList<>();
         players.add(detective0);
@@ -91,6 +96,54 @@ public class PlayerTest {
     }
 
     // ##########################################################################
+    @Test
+    public void getReachableStations_OnlyTube() {
+        Detective detective = new Detective(0, board.getStation(1), true, 0, 0, 1);
+        Set<Station> stations = new HashSet<>();
+        stations.add(board.getStation(46));
+        Assert.assertEquals(stations, detective.getReachableStations());
+        Assert.assertEquals(1, detective.getReachableStationCount());
+    }
+
+    @Test
+    public void getReachableStations_Boat() {
+        MisterX misterX = new MisterX(board.getStation(108), true);
+        Assert.assertTrue(misterX.getReachableStations().contains(board.getStation(115)));
+        Assert.assertEquals(misterX.getReachableStations().size(),
+                misterX.getReachableStationCount());
+    }
+
+    @Test
+    public void getTicketMask() {
+        Detective detective = new Detective(0, board.getStation(1), true, 0, 3, 1);
+        Assert.assertEquals(Ticket.BUS.getMask() | Ticket.TUBE.getMask(),
+                detective.getTicketMask());
+    }
+
+    @Test
+    public void getBestTicket_MostTicketsLeft() {
+        Detective detective = new Detective(0, board.getStation(1), true, 2, 5, 3);
+        int mask = Ticket.BUS.getMask() | Ticket.TUBE.getMask() | Ticket.BLACK.getMask();
+        Assert.assertEquals(Ticket.BUS.ordinal(), detective.getBestTicket(mask));
+        Assert.assertEquals(Ticket.from(detective.getBestTicket(mask)),
+                detective.getTicketFromCurrentStationTo(board.getStation(46)).get());
+    }
+
+    @Test
+    public void getBestTicket_SameQuantity_LowestTicket() {
+        Detective detective = new Detective(0, board.getStation(1), true, 4, 4, 4);
+        int mask = Ticket.BUS.getMask() | Ticket.TUBE.getMask();
+        Assert.assertEquals(Ticket.BUS.ordinal(), detective.getBestTicket(mask));
+    }
+
+    @Test
+    public void getBestTicket_EmptyMask() {
+        Detective detective = new Detective(0, board.getStation(1), true, 4, 4, 4);
+        Assert.assertEquals(-1, detective.getBestTicket(0));
+        Assert.assertFalse(detective.getTicketFromCurrentStationTo(board.getStation(2))
+                .isPresent());
+    }
+
     @Test
     public void getShortestWay_Ticket_2_0_0_Start_1_Destination_20() {
 
@@ -160,6 +213,10 @@ public class PlayerTest {
         Detective detective0 = new Detective(1, board.getStation(6), true, 5, 5, 5);
         Detective detective2 = new Detective(2, board.getStation(7), true, 0, 0, 0);
         Detective detective3 = new Detective(3, board.getStation(29), true, 0, 0, 0);
+        StationSet occupied = new StationSet(board);
+        detective0.setOccupancy(occupied);
+        detective2.setOccupancy(occupied);
+        detective3.setOccupancy(occupied);
 
         List<Station> way = detective0.getShortestWay(board.getStation(17));
         List<Station> result = new LinkedList<>();
@@ -0,0 +1,215 @@
+package logic.search;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.LinkedList;
+import java.util.List;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import logic.player.TacticResult;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class DetectivePlannerTest {
+
+    private static Board board;
+    private static MisterX misterX;
+    private static List<Detective> detectives;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            DetectivePlannerTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+        DetectivePlannerTest.misterX = new MisterX(board.getStation(135), true);
+        DetectivePlannerTest.detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(52), true));
+        detectives.add(new Detective(2, board.getStation(15), true));
+        detectives.add(new Detective(3, board.getStation(86), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_NoSample() {
+        new DetectivePlanner(board, 100, 0, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void search_TurnOfMisterX() {
+        new DetectivePlanner(board).search(new SearchState(misterX, detectives, 0, 5), null);
+    }
+
+    @Test
+    public void search_OneCandidate_EqualsMinimax() {
+        SearchState state = new SearchState(misterX, detectives, 1, 5);
+        StationSet candidates = new StationSet(board);
+        candidates.add(135);
+        DetectivePlanner planner = new DetectivePlanner(board, 60000, 16, 0, 1);
+        int move = planner.search(state, candidates);
+
+        Assert.assertEquals(1, planner.getSamples());
+        state.apply(move);
+        Assert.assertEquals(-DetectivePlannerTest.minimax(state, state.getPlayerCount() - 1, 1),
+                planner.getScore(), 0f);
+    }
+
+    @Test
+    public void search_AllCandidates_AverageOverSamples() {
+        SearchState state = new SearchState(misterX, detectives, 3, 5);
+        StationSet candidates = new StationSet(board);
+        candidates.add(135);
+        candidates.add(128);
+        candidates.add(140);
+        DetectivePlanner planner = new DetectivePlanner(board, 60000, 16, 0, 1);
+        int move = planner.search(state, candidates);
+
+        Assert.assertEquals(3, planner.getSamples());
+        state.apply(move);
+        float sum = 0;
+        for (int station = candidates.nextSetBit(0); station >= 0;
+                station = candidates.nextSetBit(station + 1)) {
+            state.setMisterXStation(station);
+            sum += DetectivePlannerTest.minimax(state, 1, 1);
+        }
+        Assert.assertEquals(-sum / 3, planner.getScore(), 0.001f);
+    }
+
+    @Test
+    public void search_StateUnchanged() {
+        SearchState state = new SearchState(misterX, detectives, 2, 5);
+        long key = state.getKey();
+        new DetectivePlanner(board, 60000, 4, 0, 1).search(state, new StationSet(board));
+
+        Assert.assertEquals(key, state.getKey());
+        Assert.assertEquals(135, state.getStation(0));
+        Assert.assertTrue(state.getOccupancy().contains(15));
+    }
+
+    @Test
+    public void search_Samples_SharedTable() {
+        SearchState state = new SearchState(misterX, detectives, 1, 5);
+        DetectivePlanner planner = new DetectivePlanner(board, 60000, 4, 0, 1);
+        planner.search(state, new StationSet(board));
+
+        Assert.assertEquals(4, planner.getSamples());
+        Assert.assertTrue(planner.getTable().getMisses() > 0);
+    }
+
+    @Test
+    public void search_MisterXKnown_SearchesHisStation() {
+        SearchState state = new SearchState(misterX, detectives, 1, 5);
+        StationSet candidates = new StationSet(board);
+        candidates.add(135);
+        DetectivePlanner planner = new DetectivePlanner(board, 60000, 16, 0, 1);
+        int move = planner.search(state, null);
+
+        Assert.assertEquals(1, planner.getSamples());
+        Assert.assertEquals(move, new DetectivePlanner(board, 60000, 16, 0, 1)
+                .search(state, candidates));
+    }
+
+    @Test
+    public void search_NextDetective_FindsPositions() {
+        SearchState state = new SearchState(misterX, detectives, 1, 5);
+        StationSet candidates = new StationSet(board);
+        candidates.add(135);
+        candidates.add(128);
+        candidates.add(140);
+        DetectivePlanner planner = new DetectivePlanner(board, 60000, 16, 0, 1);
+        state.apply(planner.search(state, candidates));
+        long hits = planner.getTable().getHits();
+        int move = planner.search(state, candidates);
+
+        Assert.assertTrue(planner.getTable().getHits() > hits);
+        Assert.assertEquals(move, new DetectivePlanner(board, 60000, 16, 0, 1)
+                .search(state, candidates));
+    }
+
+    @Test
+    public void search_SameSeed_SameMove() {
+        SearchState state = new SearchState(misterX, detectives, 1, 5);
+        StationSet candidates = new StationSet(board);
+        int first = new DetectivePlanner(board, 60000, 6, 0, 7).search(state, candidates);
+        int second = new DetectivePlanner(board, 60000, 6, 0, 7).search(state, candidates);
+
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void search_Detective_CatchesMisterX() {
+        SearchState state = new SearchState(misterX, detectives, 1, 5);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        MoveGenerator.generate(state, moves);
+        int station = Moves.getStation(moves[0]);
+        StationSet candidates = new StationSet(board);
+        candidates.add(station);
+        DetectivePlanner planner = new DetectivePlanner(board, 60000, 16, 0, 1);
+
+        Assert.assertEquals(station, Moves.getStation(planner.search(state, candidates)));
+        Assert.assertTrue(planner.getScore() > MisterXSearch.WIN / 2);
+    }
+
+    @Test
+    public void play_Detective_WithPlanner() {
+        Detective detective = detectives.get(0);
+        detective.setSearch(new DetectivePlanner(board, 60000, 8, 0, 1), misterX);
+        StationSet candidates = new StationSet(board);
+        candidates.add(135);
+        candidates.add(128);
+        TacticResult result = detective.play(null, candidates, null, detectives);
+
+        Assert.assertEquals(DetectivePlanner.ID, result.getId());
+        Assert.assertNotEquals(0,
+                board.getTicketMask(52, result.getMove().getTo().getIdentifier()));
+        Assert.assertEquals(52, detective.getCurrentStation().getIdentifier());
+    }
+
+    /**
+     * Searches a state without pruning.
+     *
+     * @param state The state
+     * @param plies The moves left to search
+     * @param ply The moves done since the root
+     * @return The ranking of the state for MisterX
+     */
+    private static float minimax(SearchState state, int plies, int ply) {
+        int outcome = state.getOutcome();
+        if (outcome != 0) {
+            return outcome * (MisterXSearch.WIN - ply);
+        }
+        if (plies == 0) {
+            return Evaluation.rankMisterX(state);
+        }
+        int[] moves = new int[MoveGenerator.getMaxMoves(state.getBoard())];
+        int count = MoveGenerator.generate(state, moves);
+        if (count == 0) {
+            moves[count++] = Moves.PASS;
+        }
+        boolean max = state.getTurn() == 0;
+        float best = max ? -Float.MAX_VALUE : Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            state.apply(moves[i]);
+            float value = DetectivePlannerTest.minimax(state, plies - 1, ply + 1);
+            state.undo(moves[i]);
+            best = max ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,175 @@
+package logic.search;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import logic.GameEngine.Config;
+import logic.Move;
+import logic.board.Board;
+import logic.board.Station;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class EvaluationTest {
+
+    private static Board board;
+    private static MisterX misterX;
+    private static List<Detective> detectives;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            EvaluationTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+        EvaluationTest.misterX = new MisterX(board.getStation(67), true);
+        EvaluationTest.detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(13), true));
+        detectives.add(new Detective(2, board.getStation(26), true));
+        detectives.add(new Detective(3, board.getStation(50), true));
+        detectives.add(new Detective(4, board.getStation(91), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+    }
+
+    @Test
+    public void rankMisterXMove_EqualsRankingAfterMove() {
+        Evaluation evaluation = new Evaluation(misterX, detectives);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(board, 67, misterX.getTicketMask(),
+                misterX.getOccupancy(), moves);
+        Assert.assertTrue(count > 0);
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(EvaluationTest.rankMisterXByMoving(Moves.toMove(board, moves[i])),
+                    evaluation.rankMisterXMove(moves[i]), 0f);
+        }
+    }
+
+    @Test
+    public void rankDetectiveMove_EqualsRankingAfterMove() {
+        Evaluation evaluation = new Evaluation(null, detectives);
+        StationSet targets = new StationSet(board);
+        targets.add(12);
+        targets.add(23);
+        targets.add(67);
+        targets.add(90);
+        Station average = board.getStation(67);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        for (int player = 1; player <= detectives.size(); player++) {
+            Detective detective = detectives.get(player - 1);
+            int count = MoveGenerator.generate(board,
+                    detective.getCurrentStation().getIdentifier(), detective.getTicketMask(),
+                    detective.getOccupancy(), moves);
+            Assert.assertTrue(count > 0);
+            for (int i = 0; i < count; i++) {
+                Move move = Moves.toMove(board, moves[i]);
+                Assert.assertEquals(
+                        EvaluationTest.rankDetectiveByMoving(detective, move, targets, average),
+                        evaluation.rankDetectiveMove(player, moves[i], targets, average), 0f);
+            }
+        }
+    }
+
+    @Test
+    public void rankDetectiveMove_NoTargets_NoAverage() {
+        Evaluation evaluation = new Evaluation(null, detectives);
+        StationSet targets = new StationSet(board);
+        Detective detective = detectives.get(0);
+        Move move = detective.getMoveToDirectReachableStation();
+        Assert.assertEquals(EvaluationTest.rankDetectiveByMoving(detective, move, targets, null),
+                evaluation.rankDetectiveMove(1, Moves.fromMove(move), targets, null), 0f);
+    }
+
+    @Test
+    public void rankMoves_PlayersUnchanged() {
+        int[] tickets = misterX.getTickets().clone();
+        StationSet occupied = new StationSet(misterX.getOccupancy());
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(board, 67, misterX.getTicketMask(),
+                misterX.getOccupancy(), moves);
+        new Evaluation(misterX, detectives).rankMoves(0, moves, count, null, null);
+
+        Assert.assertEquals(67, misterX.getCurrentStation().getIdentifier());
+        Assert.assertArrayEquals(tickets, misterX.getTickets());
+        Assert.assertEquals(occupied, misterX.getOccupancy());
+        Assert.assertEquals(13, detectives.get(0).getCurrentStation().getIdentifier());
+    }
+
+    @Test
+    public void rankMoves_Parallel_EqualsSequential() {
+        int[] generated = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(board, 67, misterX.getTicketMask(),
+                misterX.getOccupancy(), generated);
+        // Repeat the moves until they are ranked in parallel
+        int[] moves = new int[Config.PARALLEL_RANKING_MIN_MOVES * 2];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = generated[i % count];
+        }
+        Evaluation evaluation = new Evaluation(misterX, detectives);
+        float[] rankings = evaluation.rankMoves(0, moves, moves.length, null, null);
+
+        float[] expected = new float[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            expected[i] = evaluation.rankMisterXMove(moves[i]);
+        }
+        Assert.assertTrue(Arrays.equals(expected, rankings));
+    }
+
+    /**
+     * Ranks a move of MisterX by doing and undoing it.
+     *
+     * @param move The move
+     * @return The ranking
+     */
+    private static float rankMisterXByMoving(Move move) {
+        Station current = misterX.getCurrentStation();
+        misterX.setCurrentStation(move.getTo());
+        misterX.removeTicket(move.getTicket());
+        float ranking = misterX.getRankingByReachableTargetStation(detectives)
+                + misterX.getRankingByDirectlyReachableStations()
+                + misterX.getRankingBySmallestTicketAmount();
+        misterX.setCurrentStation(current);
+        misterX.addTicket(move.getTicket());
+        return ranking;
+    }
+
+    /**
+     * Ranks a move of a detective by doing and undoing it.
+     *
+     * @param detective The detective
+     * @param move The move
+     * @param targets The possible positions of MisterX
+     * @param average The average of the possible positions
+     * @return The ranking
+     */
+    private static float rankDetectiveByMoving(Detective detective, Move move,
+            StationSet targets, Station average) {
+        Station current = detective.getCurrentStation();
+        detective.move(move);
+        float ranking = detective.getRankingByReachableTargetStations(targets, detectives)
+                + detective.getRankingByDistanceToStation(average)
+                + detective.getRankingByDirectlyReachableStations()
+                + detective.getRankingBySmallestTicketAmount();
+        detective.setCurrentStation(current);
+        detective.addTicket(move.getTicket());
+        return ranking;
+    }
+}
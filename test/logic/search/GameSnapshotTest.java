@@ -0,0 +1,158 @@
+package logic.search;
+
+import gui.FakeGUI;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.LinkedList;
+import java.util.List;
+import logic.GameEngine;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import logic.util.Logger;
+import logic.util.MemoryLogSink;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class GameSnapshotTest {
+
+    private static Board board;
+    private static MisterX misterX;
+    private static List<Detective> detectives;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            GameSnapshotTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+        GameSnapshotTest.misterX = new MisterX(board.getStation(1), true);
+        GameSnapshotTest.detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(13), true));
+        detectives.add(new Detective(2, board.getStation(26), false));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+    }
+
+    @Test
+    public void of_ToPlayers() {
+        GameSnapshot snapshot = GameSnapshot.of(misterX, detectives, 0, 0);
+        MisterX copy = snapshot.toMisterX(board);
+        Assert.assertEquals(misterX.getCurrentStation(), copy.getCurrentStation());
+        Assert.assertEquals(misterX.getAvailableTickets(), copy.getAvailableTickets());
+        Assert.assertNull(copy.getLastSeen());
+        List<Detective> copies = snapshot.toDetectives(board);
+        Assert.assertEquals(2, copies.size());
+        Assert.assertEquals(detectives.get(1).getCurrentStation(),
+                copies.get(1).getCurrentStation());
+        Assert.assertTrue(copies.get(0).isAi());
+        Assert.assertFalse(copies.get(1).isAi());
+        Assert.assertEquals(snapshot, GameSnapshot.of(copy, copies, 0, 0));
+    }
+
+    @Test
+    public void withMove_SameAsSearchState() {
+        GameSnapshot snapshot = GameSnapshot.of(misterX, detectives, 0, 0);
+        SearchState state = new SearchState(board, snapshot);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        for (int ply = 0; ply < 9; ply++) {
+            int count = MoveGenerator.generate(state, moves);
+            int move = count == 0 ? Moves.PASS : moves[ply % count];
+            state.apply(move);
+            snapshot = snapshot.withMove(move);
+            Assert.assertEquals(state.getTurn(), snapshot.getTurn());
+            Assert.assertEquals(state.getRound(), snapshot.getRound());
+            for (int player = 0; player < state.getPlayerCount(); player++) {
+                Assert.assertEquals(state.getStation(player), snapshot.getStation(player));
+                for (int ticket = 0; ticket < 4; ticket++) {
+                    Assert.assertEquals(state.getTicketNum(player, ticket),
+                            snapshot.getTicketNum(player, ticket));
+                }
+            }
+        }
+        Assert.assertEquals(3, snapshot.getLogbookSize());
+    }
+
+    @Test
+    public void withMove_LeavesSnapshot() {
+        GameSnapshot snapshot = GameSnapshot.of(misterX, detectives, 0, 0);
+        GameSnapshot next = snapshot.withMove(Moves.encode(8, Ticket.CAB.ordinal()));
+        Assert.assertEquals(1, snapshot.getStation(0));
+        Assert.assertEquals(0, snapshot.getLogbookSize());
+        Assert.assertEquals(8, next.getStation(0));
+        Assert.assertEquals(1, next.getTurn());
+        Assert.assertEquals(1, next.getRound());
+        Assert.assertEquals(Ticket.CAB.ordinal(), next.getLogbookEntry(0));
+        Assert.assertNotEquals(snapshot, next);
+        // The live players do not move
+        Assert.assertEquals(1, misterX.getCurrentStation().getIdentifier());
+    }
+
+    @Test
+    public void withMove_MisterXShowsUp() {
+        GameSnapshot snapshot = GameSnapshot.of(misterX, detectives, 0, 0);
+        int[] misterXMoves = new int[] { Moves.encode(8, Ticket.CAB.ordinal()),
+            Moves.encode(1, Ticket.CAB.ordinal()), Moves.encode(46, Ticket.BLACK.ordinal()) };
+        for (int move : misterXMoves) {
+            snapshot = snapshot.withMove(move).withMove(Moves.PASS).withMove(Moves.PASS);
+        }
+        Assert.assertEquals(46, snapshot.getLastSeenStation());
+        Assert.assertEquals(board.getStation(46), snapshot.toMisterX(board).getLastSeen());
+        Assert.assertEquals(0, snapshot.getTurn());
+    }
+
+    @Test
+    public void equals_SamePositionByOtherOrder() {
+        GameSnapshot snapshot = GameSnapshot.of(misterX, detectives, 1, 0);
+        GameSnapshot first = snapshot.withMove(Moves.encode(23, Ticket.CAB.ordinal()))
+                .withMove(Moves.PASS).withMove(Moves.PASS)
+                .withMove(Moves.encode(13, Ticket.CAB.ordinal()));
+        GameSnapshot second = snapshot.withMove(Moves.encode(14, Ticket.CAB.ordinal()))
+                .withMove(Moves.PASS).withMove(Moves.PASS)
+                .withMove(Moves.encode(13, Ticket.CAB.ordinal()));
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_TooManyTickets() {
+        MisterX rich = new MisterX(board.getStation(1), null, new LinkedList<>(), true, 64, 0, 0,
+                0);
+        GameSnapshot.of(rich, detectives, 0, 0);
+    }
+
+    @Test
+    public void engine_RoundTrip() {
+        detectives.set(1, new Detective(2, board.getStation(26), true));
+        GameEngine engine = new GameEngine(board, new FakeGUI(), misterX, detectives);
+        engine.setLogger(new Logger(new MemoryLogSink()));
+        engine.start();
+        for (int i = 0; i < 15; i++) {
+            engine.step();
+        }
+        GameSnapshot snapshot = engine.getSnapshot();
+        GameEngine copy = new GameEngine(board, new FakeGUI(), snapshot);
+        Assert.assertEquals(snapshot, copy.getSnapshot());
+
+        // Both games continue the same way
+        copy.setLogger(new Logger(new MemoryLogSink()));
+        copy.start();
+        Assert.assertEquals(engine.runToCompletion(), copy.runToCompletion());
+        Assert.assertEquals(engine.getSnapshot(), copy.getSnapshot());
+    }
+}
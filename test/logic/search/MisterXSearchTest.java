@@ -0,0 +1,174 @@
+package logic.search;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.LinkedList;
+import java.util.List;
+import logic.GameEngine.Config;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import logic.player.TacticResult;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class MisterXSearchTest {
+
+    private static Board board;
+    private static MisterX misterX;
+    private static List<Detective> detectives;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            MisterXSearchTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+        MisterXSearchTest.misterX = new MisterX(board.getStation(135), true);
+        MisterXSearchTest.detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(52), true));
+        detectives.add(new Detective(2, board.getStation(15), true));
+        detectives.add(new Detective(3, board.getStation(86), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_NoRound() {
+        new MisterXSearch(board, 100, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void search_TurnOfDetective() {
+        new MisterXSearch(board).search(new SearchState(misterX, detectives, 1, 5));
+    }
+
+    @Test
+    public void search_OneRound_EqualsMinimax() {
+        SearchState state = new SearchState(misterX, detectives, 0, 5);
+        MisterXSearch search = new MisterXSearch(board, 60000, 1);
+        int move = search.search(state);
+
+        Assert.assertEquals(1, search.getDepth());
+        Assert.assertEquals(MisterXSearchTest.minimax(state, state.getPlayerCount() + 1, 0),
+                search.getScore(), 0f);
+        state.apply(move);
+        Assert.assertEquals(search.getScore(),
+                MisterXSearchTest.minimax(state, state.getPlayerCount(), 1), 0f);
+    }
+
+    @Test
+    public void search_Table_SameMoveFewerNodes() {
+        SearchState state = new SearchState(misterX, detectives, 0, 5);
+        MisterXSearch without = new MisterXSearch(board, 60000, 2, new TranspositionTable(32));
+        MisterXSearch with = new MisterXSearch(board, 60000, 2, new TranspositionTable(1 << 20));
+        int move = without.search(state);
+
+        Assert.assertEquals(move, with.search(state));
+        Assert.assertEquals(without.getScore(), with.getScore(), 0f);
+        Assert.assertTrue(with.getNodes() < without.getNodes());
+        Assert.assertTrue(with.getTable().getHits() > 0);
+    }
+
+    @Test
+    public void search_StateUnchanged() {
+        SearchState state = new SearchState(misterX, detectives, 0, 5);
+        GameSnapshot before = GameSnapshot.of(misterX, detectives, 0, 5);
+        new MisterXSearch(board, 60000, 1).search(state);
+
+        Assert.assertEquals(0, state.getTurn());
+        Assert.assertEquals(5, state.getRound());
+        for (int player = 0; player < state.getPlayerCount(); player++) {
+            Assert.assertEquals(before.getStation(player), state.getStation(player));
+        }
+        Assert.assertEquals(135, misterX.getCurrentStation().getIdentifier());
+    }
+
+    @Test
+    public void search_LastRound_Won() {
+        SearchState state = new SearchState(misterX, detectives, 0, Config.MAX_ROUNDS - 2);
+        MisterXSearch search = new MisterXSearch(board, 60000, 4);
+        search.search(state);
+
+        Assert.assertTrue(search.getScore() > MisterXSearch.WIN / 2);
+    }
+
+    @Test
+    public void search_Surrounded_Pass() {
+        // Take all tickets of MisterX
+        for (Ticket ticket : Ticket.values()) {
+            while (misterX.getTicketNum(ticket) > 0) {
+                misterX.removeTicket(ticket);
+            }
+        }
+        SearchState state = new SearchState(misterX, detectives, 0, 5);
+        MisterXSearch search = new MisterXSearch(board, 60000, 1);
+
+        Assert.assertEquals(Moves.PASS, search.search(state));
+        Assert.assertEquals(-1, search.getDepth());
+    }
+
+    @Test
+    public void play_WithSearch() {
+        misterX.setSearch(new MisterXSearch(board, 60000, 1));
+        TacticResult result = misterX.play(null, null, null, detectives);
+
+        Assert.assertEquals(2, result.getId());
+        Assert.assertNotEquals(0,
+                board.getTicketMask(135, result.getMove().getTo().getIdentifier()));
+        Assert.assertEquals(135, misterX.getCurrentStation().getIdentifier());
+    }
+
+    /**
+     * Searches a state without pruning.
+     *
+     * @param state The state
+     * @param plies The moves left to search
+     * @param ply The moves done since the root
+     * @return The ranking of the state
+     */
+    private static float minimax(SearchState state, int plies, int ply) {
+        int misterX = state.getStation(0);
+        for (int player = 1; player < state.getPlayerCount(); player++) {
+            if (state.getStation(player) == misterX) {
+                return -(MisterXSearch.WIN - ply);
+            }
+        }
+        int[] moves = new int[MoveGenerator.getMaxMoves(state.getBoard())];
+        if (MoveGenerator.generate(state.getBoard(), misterX, state.getTicketMask(0),
+                state.getOccupancy(), moves) == 0) {
+            return -(MisterXSearch.WIN - ply);
+        }
+        int count = MoveGenerator.generate(state, moves);
+        if (plies == 0) {
+            return Evaluation.rankMisterX(state);
+        }
+        if (count == 0) {
+            moves[count++] = Moves.PASS;
+        }
+        boolean max = state.getTurn() == 0;
+        float best = max ? -Float.MAX_VALUE : Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            state.apply(moves[i]);
+            float value = MisterXSearchTest.minimax(state, plies - 1, ply + 1);
+            state.undo(moves[i]);
+            best = max ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,178 @@
+package logic.search;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.LinkedList;
+import java.util.List;
+import logic.GameEngine.Config;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import logic.player.TacticResult;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class MonteCarloSearchTest {
+
+    private static Board board;
+    private static MisterX misterX;
+    private static List<Detective> detectives;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            MonteCarloSearchTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+        MonteCarloSearchTest.misterX = new MisterX(board.getStation(135), true);
+        MonteCarloSearchTest.detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(52), true));
+        detectives.add(new Detective(2, board.getStation(15), true));
+        detectives.add(new Detective(3, board.getStation(86), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_NoWorker() {
+        new MonteCarloSearch(board, 100, 100, 0, 1);
+    }
+
+    @Test
+    public void constructor_TreesFitIntoMemory() {
+        int workers = 64;
+        MonteCarloSearch search = new MonteCarloSearch(board, 100, 100, workers, 1);
+
+        Assert.assertTrue(search.getMaxNodes() < Config.MCTS_MAX_NODES);
+        Assert.assertTrue((long) search.getMaxNodes() * workers * 37 <= Config.MCTS_MEMORY_BYTES);
+        Assert.assertEquals(Config.MCTS_MAX_NODES,
+                new MonteCarloSearch(board, 100, 100, 1, 1).getMaxNodes());
+    }
+
+    @Test
+    public void search_IterationBudget() {
+        SearchState state = new SearchState(misterX, detectives, 0, 5);
+        MonteCarloSearch search = new MonteCarloSearch(board, 60000, 500, 1, 1);
+        int move = search.search(state, null);
+
+        Assert.assertTrue(state.isLegal(move));
+        Assert.assertEquals(500, search.getIterations());
+        Assert.assertTrue(search.getTreeSize() > 1);
+        Assert.assertTrue(search.getIterationsPerSecond() > 0);
+        Assert.assertTrue(search.getScore() >= 0 && search.getScore() <= 1);
+    }
+
+    @Test
+    public void search_StateUnchanged() {
+        SearchState state = new SearchState(misterX, detectives, 1, 5);
+        StationSet candidates = new StationSet(board);
+        candidates.add(135);
+        candidates.add(128);
+        new MonteCarloSearch(board, 60000, 500, 2, 1).search(state, candidates);
+
+        Assert.assertEquals(1, state.getTurn());
+        Assert.assertEquals(5, state.getRound());
+        Assert.assertEquals(135, state.getStation(0));
+        Assert.assertEquals(52, state.getStation(1));
+        Assert.assertTrue(state.getOccupancy().contains(52));
+    }
+
+    @Test
+    public void search_Workers_AllIterations() {
+        SearchState state = new SearchState(misterX, detectives, 0, 5);
+        MonteCarloSearch search = new MonteCarloSearch(board, 60000, 600, 3, 1);
+        search.search(state, null);
+
+        Assert.assertEquals(600, search.getIterations());
+    }
+
+    @Test
+    public void search_SameSeed_SameMove() {
+        SearchState state = new SearchState(misterX, detectives, 0, 5);
+        int first = new MonteCarloSearch(board, 60000, 300, 1, 7).search(state, null);
+        int second = new MonteCarloSearch(board, 60000, 300, 1, 7).search(state, null);
+
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void search_Detective_CatchesMisterX() {
+        SearchState state = new SearchState(misterX, detectives, 1, 5);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        MoveGenerator.generate(state, moves);
+        int station = Moves.getStation(moves[0]);
+        StationSet candidates = new StationSet(board);
+        candidates.add(station);
+        int move = new MonteCarloSearch(board, 60000, 1000, 1, 1).search(state, candidates);
+
+        Assert.assertEquals(station, Moves.getStation(move));
+    }
+
+    @Test
+    public void search_Detective_SearchesEverySample() {
+        SearchState state = new SearchState(misterX, detectives, 3, 5);
+        // MisterX reaches other stations from each of them
+        int[] stations = new int[] { 135, 1 };
+        StationSet candidates = new StationSet(board);
+        for (int station : stations) {
+            candidates.add(station);
+        }
+        MonteCarloSearch search = new MonteCarloSearch(board, 60000, 4000, 1, 1);
+        int move = search.search(state, candidates);
+
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        for (int station : stations) {
+            SearchState sample = new SearchState(state);
+            sample.setMisterXStation(station);
+            sample.apply(move);
+            int count = MoveGenerator.generate(sample, moves);
+            long visits = 0;
+            for (int i = 0; i < count; i++) {
+                visits += search.getVisits(move, moves[i]);
+            }
+            Assert.assertTrue(visits > 0);
+        }
+    }
+
+    @Test
+    public void search_Surrounded_Pass() {
+        for (Ticket ticket : Ticket.values()) {
+            while (misterX.getTicketNum(ticket) > 0) {
+                misterX.removeTicket(ticket);
+            }
+        }
+        SearchState state = new SearchState(misterX, detectives, 0, 5);
+
+        Assert.assertEquals(Moves.PASS,
+                new MonteCarloSearch(board, 60000, 100, 1, 1).search(state, null));
+    }
+
+    @Test
+    public void play_Detective_WithSearch() {
+        Detective detective = detectives.get(0);
+        detective.setSearch(new MonteCarloSearch(board, 60000, 200, 1, 1), misterX);
+        StationSet candidates = new StationSet(board);
+        candidates.add(135);
+        TacticResult result = detective.play(null, candidates, null, detectives);
+
+        Assert.assertEquals(MonteCarloSearch.ID, result.getId());
+        Assert.assertNotEquals(0,
+                board.getTicketMask(52, result.getMove().getTo().getIdentifier()));
+        Assert.assertEquals(52, detective.getCurrentStation().getIdentifier());
+    }
+}
@@ -0,0 +1,91 @@
+package logic.search;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import logic.Move;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class MoveGeneratorTest {
+
+    private static Board board;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            MoveGeneratorTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void encode_RoundTrip() {
+        int move = Moves.encode(199, Ticket.BLACK.ordinal());
+        Assert.assertEquals(199, Moves.getStation(move));
+        Assert.assertEquals(Ticket.BLACK.ordinal(), Moves.getTicket(move));
+        Move decoded = Moves.toMove(board, move);
+        Assert.assertEquals(new Move(board.getStation(199), Ticket.BLACK), decoded);
+        Assert.assertEquals(move, Moves.fromMove(decoded));
+        Assert.assertNull(Moves.toMove(board, Moves.PASS));
+    }
+
+    @Test
+    public void generate_Station1_AllTickets() {
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(board, 1, 0xF, new StationSet(board), moves);
+        Assert.assertArrayEquals(new int[] {
+            Moves.encode(8, Ticket.CAB.ordinal()), Moves.encode(8, Ticket.BLACK.ordinal()),
+            Moves.encode(9, Ticket.CAB.ordinal()), Moves.encode(9, Ticket.BLACK.ordinal()),
+            Moves.encode(46, Ticket.BUS.ordinal()), Moves.encode(46, Ticket.TUBE.ordinal()),
+            Moves.encode(46, Ticket.BLACK.ordinal()), Moves.encode(58, Ticket.BUS.ordinal()),
+            Moves.encode(58, Ticket.BLACK.ordinal()) }, Arrays.copyOf(moves, count));
+    }
+
+    @Test
+    public void generate_Station1_OnlyCab_Occupied() {
+        StationSet occupied = new StationSet(board);
+        occupied.add(8);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(board, 1, Ticket.CAB.getMask(), occupied, moves);
+        Assert.assertArrayEquals(new int[] { Moves.encode(9, Ticket.CAB.ordinal()) },
+                Arrays.copyOf(moves, count));
+    }
+
+    @Test
+    public void generate_SameAsReachableStations() {
+        MisterX misterX = new MisterX(board.getStation(108), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(116), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        detectives.get(0).setOccupancy(occupied);
+
+        SearchState state = new SearchState(misterX, detectives, 0, 1);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(state, moves);
+        StationSet stations = new StationSet(board);
+        for (int i = 0; i < count; i++) {
+            stations.add(Moves.getStation(moves[i]));
+        }
+        Assert.assertEquals(misterX.getReachableStations(), stations);
+        Assert.assertFalse(stations.contains(116));
+    }
+}
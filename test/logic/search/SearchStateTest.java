@@ -0,0 +1,190 @@
+package logic.search;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.LinkedList;
+import java.util.List;
+import logic.GameEngine.Config;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.StationSet;
+import logic.player.Detective;
+import logic.player.MisterX;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class SearchStateTest {
+
+    private static Board board;
+    private static MisterX misterX;
+    private static List<Detective> detectives;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            SearchStateTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+        SearchStateTest.misterX = new MisterX(board.getStation(1), true);
+        SearchStateTest.detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(13), true));
+        detectives.add(new Detective(2, board.getStation(26), true));
+        StationSet occupied = new StationSet(board);
+        misterX.setOccupancy(occupied);
+        for (Detective detective : detectives) {
+            detective.setOccupancy(occupied);
+        }
+    }
+
+    @Test
+    public void constructor_CopiesPlayers() {
+        SearchState state = new SearchState(misterX, detectives, 0, 3);
+        Assert.assertEquals(3, state.getPlayerCount());
+        Assert.assertEquals(1, state.getStation(0));
+        Assert.assertEquals(26, state.getStation(2));
+        Assert.assertEquals(detectives.get(0).getTicketNum(Ticket.BUS),
+                state.getTicketNum(1, Ticket.BUS.ordinal()));
+        Assert.assertTrue(state.getOccupancy().contains(13));
+        Assert.assertFalse(state.getOccupancy().contains(1));
+        Assert.assertEquals(3, state.getRound());
+    }
+
+    @Test
+    public void apply_DetectiveHandsTicketToMisterX() {
+        SearchState state = new SearchState(misterX, detectives, 1, 3);
+        int busTickets = state.getTicketNum(0, Ticket.BUS.ordinal());
+        state.apply(Moves.encode(23, Ticket.BUS.ordinal()));
+
+        Assert.assertEquals(23, state.getStation(1));
+        Assert.assertEquals(busTickets + 1, state.getTicketNum(0, Ticket.BUS.ordinal()));
+        Assert.assertEquals(detectives.get(0).getTicketNum(Ticket.BUS) - 1,
+                state.getTicketNum(1, Ticket.BUS.ordinal()));
+        Assert.assertTrue(state.getOccupancy().contains(23));
+        Assert.assertFalse(state.getOccupancy().contains(13));
+        Assert.assertEquals(2, state.getTurn());
+        // The live detective does not move
+        Assert.assertEquals(13, detectives.get(0).getCurrentStation().getIdentifier());
+    }
+
+    @Test
+    public void apply_LastPlayer_MisterXBeginsRound() {
+        SearchState state = new SearchState(misterX, detectives, 2, 3);
+        state.apply(Moves.PASS);
+        Assert.assertEquals(0, state.getTurn());
+        Assert.assertEquals(3, state.getRound());
+        int move = Moves.encode(8, Ticket.CAB.ordinal());
+        state.apply(move);
+        Assert.assertEquals(1, state.getTurn());
+        Assert.assertEquals(4, state.getRound());
+        state.undo(move);
+        state.undo(Moves.PASS);
+        Assert.assertEquals(2, state.getTurn());
+        Assert.assertEquals(3, state.getRound());
+    }
+
+    @Test
+    public void applyAndUndo_WholeTree() {
+        SearchState state = new SearchState(misterX, detectives, 0, 3);
+        int[][] buffers = new int[3][MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(state, buffers[0]);
+        for (int i = 0; i < count; i++) {
+            state.apply(buffers[0][i]);
+            int replies = MoveGenerator.generate(state, buffers[1]);
+            for (int j = 0; j < replies; j++) {
+                state.apply(buffers[1][j]);
+                state.undo(buffers[1][j]);
+            }
+            state.undo(buffers[0][i]);
+        }
+        SearchState fresh = new SearchState(misterX, detectives, 0, 3);
+        for (int player = 0; player < state.getPlayerCount(); player++) {
+            Assert.assertEquals(fresh.getStation(player), state.getStation(player));
+            Assert.assertEquals(fresh.getTicketMask(player), state.getTicketMask(player));
+            for (int ticket = 0; ticket < 4; ticket++) {
+                Assert.assertEquals(fresh.getTicketNum(player, ticket),
+                        state.getTicketNum(player, ticket));
+            }
+        }
+        Assert.assertEquals(fresh.getOccupancy(), state.getOccupancy());
+        Assert.assertEquals(0, state.getTurn());
+    }
+
+    @Test
+    public void copy_Independent() {
+        SearchState state = new SearchState(misterX, detectives, 1, 3);
+        SearchState copy = new SearchState(state);
+        copy.apply(Moves.encode(23, Ticket.BUS.ordinal()));
+
+        Assert.assertEquals(13, state.getStation(1));
+        Assert.assertTrue(state.getOccupancy().contains(13));
+        Assert.assertEquals(23, copy.getStation(1));
+        Assert.assertEquals(1, state.getTurn());
+    }
+
+    @Test
+    public void getOutcome() {
+        SearchState state = new SearchState(misterX, detectives, 0, 3);
+        Assert.assertEquals(0, state.getOutcome());
+        state.setMisterXStation(13);
+        Assert.assertEquals(-1, state.getOutcome());
+
+        SearchState last = new SearchState(misterX, detectives, 0, Config.MAX_ROUNDS - 1);
+        Assert.assertEquals(1, last.getOutcome());
+    }
+
+    @Test
+    public void isLegal() {
+        SearchState state = new SearchState(misterX, detectives, 0, 3);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(state, moves);
+        for (int i = 0; i < count; i++) {
+            Assert.assertTrue(state.isLegal(moves[i]));
+        }
+        Assert.assertFalse(state.isLegal(Moves.PASS));
+        Assert.assertFalse(state.isLegal(Moves.encode(26, Ticket.CAB.ordinal())));
+    }
+
+    @Test
+    public void getKey_SamePositionSameKey() {
+        SearchState state = new SearchState(misterX, detectives, 0, 3);
+        long before = state.getKey();
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        int count = MoveGenerator.generate(state, moves);
+        state.apply(moves[0]);
+        Assert.assertNotEquals(before, state.getKey());
+        Assert.assertEquals(new SearchState(state).getKey(), state.getKey());
+        state.undo(moves[0]);
+        Assert.assertEquals(before, state.getKey());
+
+        Assert.assertTrue(count > 1);
+        state.setMisterXStation(Moves.getStation(moves[1]));
+        Assert.assertNotEquals(before, state.getKey());
+        Assert.assertNotEquals(before, new SearchState(misterX, detectives, 1, 3).getKey());
+        Assert.assertNotEquals(before, new SearchState(misterX, detectives, 0, 4).getKey());
+    }
+
+    @Test
+    public void getKey_Incremental_EqualsComputed() {
+        SearchState state = new SearchState(misterX, detectives, 0, 3);
+        GameSnapshot snapshot = GameSnapshot.of(misterX, detectives, 0, 3);
+        int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+        // Two rounds of the first moves, a detective hands his tickets to MisterX
+        for (int ply = 0; ply < 2 * state.getPlayerCount(); ply++) {
+            int count = MoveGenerator.generate(state, moves);
+            int move = count == 0 ? Moves.PASS : moves[ply % count];
+            state.apply(move);
+            snapshot = snapshot.withMove(move);
+            Assert.assertEquals(new SearchState(board, snapshot).getKey(), state.getKey());
+        }
+    }
+}
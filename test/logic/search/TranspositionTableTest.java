@@ -0,0 +1,127 @@
+package logic.search;
+
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Guillaume Fournier-Mayer (tinf101922)
+ */
+public class TranspositionTableTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_TooSmall() {
+        new TranspositionTable(31);
+    }
+
+    @Test
+    public void constructor_PowerOfTwo() {
+        TranspositionTable table = new TranspositionTable(1000);
+
+        Assert.assertEquals(32, table.getCapacity());
+        Assert.assertEquals(512, table.getBytes());
+    }
+
+    @Test
+    public void get_Empty_Miss() {
+        TranspositionTable table = new TranspositionTable(1 << 10);
+
+        Assert.assertEquals(TranspositionTable.NONE, table.get(42, 1));
+        Assert.assertEquals(TranspositionTable.NONE, table.get(0, 1));
+        Assert.assertEquals(0, table.getHits());
+        Assert.assertEquals(2, table.getMisses());
+        Assert.assertEquals(0, table.getCollisions());
+    }
+
+    @Test
+    public void put_Get() {
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        table.put(42, 3, 2, 12.5f, TranspositionTable.LOWER);
+        long entry = table.get(42, 3);
+
+        Assert.assertNotEquals(TranspositionTable.NONE, entry);
+        Assert.assertEquals(12.5f, TranspositionTable.getRanking(entry, 2), 0f);
+        Assert.assertEquals(TranspositionTable.LOWER, TranspositionTable.getBound(entry));
+        Assert.assertEquals(3, TranspositionTable.getPlies(entry));
+        Assert.assertEquals(1, table.getHits());
+    }
+
+    @Test
+    public void get_TooFewPlies_Miss() {
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        table.put(42, 3, 0, 1, TranspositionTable.EXACT);
+
+        Assert.assertNotEquals(TranspositionTable.NONE, table.get(42, 2));
+        Assert.assertEquals(TranspositionTable.NONE, table.get(42, 4));
+        Assert.assertEquals(0, table.getCollisions());
+    }
+
+    @Test
+    public void getRanking_Won_RelativeToPly() {
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        // Won 5 plies after the root, found at ply 2
+        table.put(42, 4, 2, MisterXSearch.WIN - 5, TranspositionTable.EXACT);
+        table.put(43, 4, 2, -(MisterXSearch.WIN - 5), TranspositionTable.EXACT);
+
+        Assert.assertEquals(MisterXSearch.WIN - 4,
+                TranspositionTable.getRanking(table.get(42, 4), 1), 0f);
+        Assert.assertEquals(-(MisterXSearch.WIN - 6),
+                TranspositionTable.getRanking(table.get(43, 4), 3), 0f);
+    }
+
+    @Test
+    public void put_DeeperEntryKept() {
+        // One bucket, every key shares it
+        TranspositionTable table = new TranspositionTable(32);
+        table.put(1, 5, 0, 1, TranspositionTable.EXACT);
+        table.put(2, 2, 0, 2, TranspositionTable.EXACT);
+        table.put(3, 2, 0, 3, TranspositionTable.EXACT);
+
+        Assert.assertNotEquals(TranspositionTable.NONE, table.get(1, 5));
+        Assert.assertEquals(TranspositionTable.NONE, table.get(2, 2));
+        Assert.assertEquals(3, TranspositionTable.getRanking(table.get(3, 2), 0), 0f);
+        Assert.assertEquals(1, table.getCollisions());
+    }
+
+    @Test
+    public void put_NewSearch_ReplacesDeeperEntry() {
+        TranspositionTable table = new TranspositionTable(32);
+        table.put(1, 5, 0, 1, TranspositionTable.EXACT);
+        table.newSearch();
+        table.put(2, 2, 0, 2, TranspositionTable.EXACT);
+        table.put(3, 1, 0, 3, TranspositionTable.EXACT);
+
+        Assert.assertEquals(TranspositionTable.NONE, table.get(1, 5));
+        Assert.assertNotEquals(TranspositionTable.NONE, table.get(2, 2));
+        Assert.assertNotEquals(TranspositionTable.NONE, table.get(3, 1));
+    }
+
+    @Test
+    public void clear() {
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        table.put(42, 3, 0, 1, TranspositionTable.EXACT);
+        table.get(42, 3);
+        table.clear();
+
+        Assert.assertEquals(0, table.getHits());
+        Assert.assertEquals(TranspositionTable.NONE, table.get(42, 3));
+    }
+
+    @Test
+    public void putAndGet_Parallel_NoWrongEntry() {
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        IntStream.range(0, 4).parallel().forEach(worker -> {
+            for (long key = 1; key <= 100000; key++) {
+                table.put(key * 0x9E3779B97F4A7C15L, 1, 0, key, TranspositionTable.EXACT);
+            }
+        });
+        for (long key = 1; key <= 100000; key++) {
+            long entry = table.get(key * 0x9E3779B97F4A7C15L, 1);
+            if (entry != TranspositionTable.NONE) {
+                Assert.assertEquals((float) key, TranspositionTable.getRanking(entry, 0), 0f);
+            }
+        }
+        Assert.assertTrue(table.getHits() > 0);
+    }
+}
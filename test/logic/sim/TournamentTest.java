@@ -0,0 +1,58 @@
+package logic.sim;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import logic.GameEngine.WinState;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TournamentTest {
+
+    private static String network;
+
+    @Before
+    public void readMap() {
+        try {
+            TournamentTest.network = new String(
+                    Files.readAllBytes(Paths.get("test/data/network.json")),
+                    StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void play_AllGamesFinished() {
+        TournamentStatistics statistics = new Tournament(network, 3, 42, null).play(8);
+
+        Assert.assertEquals(8, statistics.getGames());
+        Assert.assertEquals(0, statistics.getOutcome(WinState.NO_WIN));
+        int outcomes = 0;
+        for (WinState state : WinState.values()) {
+            outcomes += statistics.getOutcome(state);
+        }
+        Assert.assertEquals(8, outcomes);
+        Assert.assertTrue(statistics.getRounds() >= 8);
+        Assert.assertTrue(statistics.getLatencyPercentile(true, 50) > 0);
+    }
+
+    @Test
+    public void play_SameSeedSameResult() {
+        TournamentStatistics first = new Tournament(network, 5, 7, null).play(6);
+        TournamentStatistics second = new Tournament(network, 5, 7, null).play(6);
+
+        for (WinState state : WinState.values()) {
+            Assert.assertEquals(first.getOutcome(state), second.getOutcome(state));
+        }
+        Assert.assertEquals(first.getRounds(), second.getRounds());
+        Assert.assertEquals(first.getTacticUsage(false, 1), second.getTacticUsage(false, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tournament_WrongDetectiveNum() {
+        new Tournament(network, 4, 0, null);
+    }
+}
@@ -0,0 +1,144 @@
+package logic.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncLogSinkTest {
+
+    private File file;
+
+    @Before
+    public void createFile() throws IOException {
+        this.file = File.createTempFile("log", ".csv");
+    }
+
+    @After
+    public void deleteFile() {
+        this.file.delete();
+    }
+
+    private String read() throws IOException {
+        return new String(Files.readAllBytes(this.file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void flush_AllWritten() throws IOException {
+        AsyncLogSink sink = new AsyncLogSink(new FileLogSink(this.file.getPath()), 16, 4, 10000);
+        sink.begin("a\n");
+        sink.write("b\n");
+        sink.write("c");
+        sink.flush();
+        Assert.assertEquals("a\nb\nc", this.read());
+        sink.close();
+    }
+
+    @Test
+    public void begin_ClearsFile() throws IOException {
+        AsyncLogSink sink = new AsyncLogSink(new FileLogSink(this.file.getPath()), 16, 4, 10000);
+        sink.begin("first\n");
+        sink.write("1");
+        sink.begin("second\n");
+        sink.write("0");
+        sink.close();
+        Assert.assertEquals("second\n0", this.read());
+    }
+
+    @Test
+    public void write_FullQueue() throws IOException {
+        MemoryLogSink memory = new MemoryLogSink();
+        AsyncLogSink sink = new AsyncLogSink(memory, 1, 1, 10000);
+        StringBuilder expected = new StringBuilder();
+        sink.begin("");
+        for (int i = 0; i < 1000; i++) {
+            sink.write(i + "\n");
+            expected.append(i).append('\n');
+        }
+        sink.close();
+        Assert.assertEquals(expected.toString(), memory.getContent());
+    }
+
+    @Test
+    public void write_FlushedByInterval() throws IOException, InterruptedException {
+        AsyncLogSink sink = new AsyncLogSink(new FileLogSink(this.file.getPath()), 16, 100, 10);
+        sink.begin("a\n");
+        long end = System.currentTimeMillis() + 5000;
+        while (this.read().isEmpty() && System.currentTimeMillis() < end) {
+            Thread.sleep(5);
+        }
+        Assert.assertEquals("a\n", this.read());
+        sink.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void write_Closed() throws IOException {
+        AsyncLogSink sink = new AsyncLogSink(new MemoryLogSink(), 16, 4, 10000);
+        sink.close();
+        sink.write("a");
+    }
+
+    @Test
+    public void close_Twice() throws IOException {
+        AsyncLogSink sink = new AsyncLogSink(new MemoryLogSink(), 16, 4, 10000);
+        sink.close();
+        sink.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void flush_NotWritable() throws IOException {
+        AsyncLogSink sink =
+                new AsyncLogSink(new FileLogSink(this.file.getPath() + "/x/y"), 16, 4, 10000);
+        sink.begin("a");
+        sink.flush();
+    }
+
+    @Test
+    public void close_AfterError_ClosesTarget() throws IOException, InterruptedException {
+        AtomicBoolean failed = new AtomicBoolean(false);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        AsyncLogSink sink = new AsyncLogSink(new LogSink() {
+            @Override
+            public void begin(String text) {
+            }
+
+            @Override
+            public void write(String text) throws IOException {
+                failed.set(true);
+                throw new IOException("full");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        }, 16, 4, 10000);
+        sink.write("a");
+        long end = System.currentTimeMillis() + 5000;
+        while (!failed.get() && System.currentTimeMillis() < end) {
+            Thread.sleep(5);
+        }
+        try {
+            sink.close();
+            Assert.fail("The error of the write is lost");
+        } catch (IOException ex) {
+            Assert.assertEquals("full", ex.getMessage());
+        }
+        Assert.assertTrue(closed.get());
+        sink.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_WrongBatchSize() {
+        new AsyncLogSink(new MemoryLogSink(), 16, 0, 10000);
+    }
+}
@@ -0,0 +1,75 @@
+package logic.util;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedList;
+import java.util.List;
+import logic.GameEngine;
+import logic.Move;
+import logic.Ticket;
+import logic.board.Board;
+import logic.board.Station;
+import logic.player.Detective;
+import logic.player.MisterX;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LoggerTest {
+
+    private static Board board;
+
+    @Before
+    public void readMap() {
+        File f = new File("test/data/network.json");
+        try {
+            Reader reader = new FileReader(f);
+            LoggerTest.board = new Board(reader);
+        } catch (FileNotFoundException ex) {
+            Assert.fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void printGame() throws IOException {
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), false));
+        detectives.add(new Detective(2, board.getStation(29), false));
+        MemoryLogSink sink = new MemoryLogSink();
+        Logger logger = new Logger(sink);
+
+        logger.printNewGame(misterX, detectives);
+        Station from = misterX.getCurrentStation();
+        misterX.move(new Move(board.getStation(14), Ticket.CAB));
+        logger.printMove(misterX, from, 1, 2.5f);
+        logger.printEndGame(GameEngine.WinState.MISTERX_WIN);
+
+        String newLine = System.lineSeparator();
+        Assert.assertEquals("3,true,false,13,26,29" + newLine + "0,13,14,9,8,4,2,1,2.500000"
+                + newLine + "0", sink.getContent());
+    }
+
+    @Test
+    public void printNewGame_Clears() throws IOException {
+        MisterX misterX = new MisterX(board.getStation(13), true);
+        List<Detective> detectives = new LinkedList<>();
+        detectives.add(new Detective(1, board.getStation(26), true));
+        MemoryLogSink sink = new MemoryLogSink();
+        Logger logger = new Logger(sink);
+
+        logger.printNewGame(misterX, detectives);
+        logger.printEndGame(GameEngine.WinState.MISTERX_CATCHED);
+        logger.printNewGame(misterX, detectives);
+
+        Assert.assertEquals("2,true,true,13,26" + System.lineSeparator(), sink.getContent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void printEndGame_NoWin() throws IOException {
+        new Logger(new NoOpLogSink()).printEndGame(GameEngine.WinState.NO_WIN);
+    }
+}
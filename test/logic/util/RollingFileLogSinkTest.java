@@ -0,0 +1,79 @@
+package logic.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RollingFileLogSinkTest {
+
+    private File directory;
+    private String fileName;
+
+    @Before
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("logs").toFile();
+        this.fileName = new File(this.directory, "game.log").getPath();
+    }
+
+    @After
+    public void deleteDirectory() {
+        for (File file : this.directory.listFiles()) {
+            file.delete();
+        }
+        this.directory.delete();
+    }
+
+    private String read(String name) throws IOException {
+        return new String(Files.readAllBytes(new File(name).toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void begin_BelowMaxSize() throws IOException {
+        RollingFileLogSink sink = new RollingFileLogSink(this.fileName, 100, 2);
+        sink.begin("a\n");
+        sink.write("1");
+        sink.begin("b\n");
+        sink.write("0");
+        sink.close();
+        Assert.assertEquals("a\n1b\n0", this.read(this.fileName));
+        Assert.assertFalse(new File(this.fileName + ".1").exists());
+    }
+
+    @Test
+    public void begin_Rotate() throws IOException {
+        RollingFileLogSink sink = new RollingFileLogSink(this.fileName, 4, 2);
+        sink.begin("aaa\n");
+        sink.write("1");
+        sink.begin("bbb\n");
+        sink.write("0");
+        sink.begin("ccc\n");
+        sink.begin("ddd\n");
+        sink.close();
+        Assert.assertEquals("ddd\n", this.read(this.fileName));
+        Assert.assertEquals("ccc\n", this.read(this.fileName + ".1"));
+        Assert.assertEquals("bbb\n0", this.read(this.fileName + ".2"));
+        Assert.assertFalse(new File(this.fileName + ".3").exists());
+    }
+
+    @Test
+    public void begin_ExistingFile() throws IOException {
+        RollingFileLogSink sink = new RollingFileLogSink(this.fileName, 4, 1);
+        sink.begin("aaaa\n");
+        sink.close();
+        sink = new RollingFileLogSink(this.fileName, 4, 1);
+        sink.begin("b\n");
+        sink.close();
+        Assert.assertEquals("b\n", this.read(this.fileName));
+        Assert.assertEquals("aaaa\n", this.read(this.fileName + ".1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_WrongSize() {
+        new RollingFileLogSink(this.fileName, 0, 1);
+    }
+}